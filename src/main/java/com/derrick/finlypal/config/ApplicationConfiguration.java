@@ -2,6 +2,7 @@ package com.derrick.finlypal.config;
 
 import com.derrick.finlypal.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -27,17 +28,22 @@ public class ApplicationConfiguration {
             .orElseThrow(() -> new UsernameNotFoundException("User not found"));
   }
 
+  /**
+   * BCrypt encoder with a configurable cost. Raising the cost only affects new hashes; existing
+   * hashes are upgraded on the next successful login.
+   */
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(
+      @Value("${application.security.bcryptStrength:10}") int bcryptStrength) {
+    return new BCryptPasswordEncoder(bcryptStrength);
   }
 
   @Bean
-  public AuthenticationProvider authenticationProvider() {
+  public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
     DaoAuthenticationProvider daoAuthenticationProvider = new DaoAuthenticationProvider();
 
     daoAuthenticationProvider.setUserDetailsService(userDetailsService());
-    daoAuthenticationProvider.setPasswordEncoder(passwordEncoder());
+    daoAuthenticationProvider.setPasswordEncoder(passwordEncoder);
 
     return daoAuthenticationProvider;
   }
@@ -0,0 +1,48 @@
+package com.derrick.finlypal.config;
+
+import com.derrick.finlypal.entity.User;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Lightweight principal placed in the security context for every authenticated request. It is built
+ * from the verified claims of the access token, so resolving it never touches the database.
+ *
+ * @param id the id of the user
+ * @param email the email of the user, used as the username
+ * @param tokenVersion the token version the access token was issued with
+ */
+public record AuthenticatedUser(Long id, String email, int tokenVersion) implements UserDetails {
+
+  private static final List<GrantedAuthority> AUTHORITIES =
+      List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+  /**
+   * Builds a principal from a fully loaded {@link User}. Only used for tokens issued before the
+   * identity claims were embedded in the access token.
+   *
+   * @param user the user to build the principal from
+   * @return the principal for the given user
+   */
+  public static AuthenticatedUser from(User user) {
+    return new AuthenticatedUser(user.getId(), user.getEmail(), user.getTokenVersion());
+  }
+
+  @Override
+  public Collection<? extends GrantedAuthority> getAuthorities() {
+    return AUTHORITIES;
+  }
+
+  @Override
+  public String getPassword() {
+    return null;
+  }
+
+  @Override
+  public String getUsername() {
+    return email;
+  }
+}
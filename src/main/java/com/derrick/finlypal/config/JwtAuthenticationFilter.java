@@ -1,6 +1,11 @@
 package com.derrick.finlypal.config;
 
+import com.derrick.finlypal.entity.User;
+import com.derrick.finlypal.repository.UserRepository;
+import com.derrick.finlypal.util.CurrentUserContext;
 import com.derrick.finlypal.util.JwtUtil;
+import com.derrick.finlypal.util.TokenRevocationRegistry;
+import com.derrick.finlypal.util.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,8 +15,6 @@ import java.io.IOException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -21,8 +24,25 @@ import org.springframework.web.filter.OncePerRequestFilter;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
   private final JwtUtil jwtUtil;
-  private final UserDetailsService userDetailsService;
+  private final UserRepository userRepository;
+  private final CurrentUserContext currentUserContext;
+  private final TokenRevocationRegistry tokenRevocationRegistry;
 
+  /**
+   * Authenticates the request from the bearer token in the Authorization header. The token is
+   * parsed and verified once, and the principal is built from its claims so that no user lookup is
+   * needed on the request path. The principal is also published to the request-scoped {@link
+   * CurrentUserContext} for the services. Only tokens issued before the identity claims were
+   * introduced are resolved against the database, and checked against the token version of the
+   * loaded user as well. Refresh tokens and revoked tokens do not authenticate the request; the
+   * revocation check is answered from memory.
+   *
+   * @param request the incoming request
+   * @param response the outgoing response
+   * @param filterChain the remaining filter chain
+   * @throws ServletException if the filter chain fails
+   * @throws IOException if the filter chain fails
+   */
   @Override
   protected void doFilterInternal(
       @NotNull HttpServletRequest request,
@@ -37,15 +57,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     String token = authHeader.substring(7);
-    String username = jwtUtil.extractUsername(token);
+    VerifiedToken verifiedToken = jwtUtil.verifyToken(token);
+    AuthenticatedUser principal = verifiedToken.toPrincipal();
 
-    if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-      UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+    if (principal.email() != null
+        && !verifiedToken.isRefreshToken()
+        && !tokenRevocationRegistry.isRevoked(principal.id(), principal.tokenVersion())
+        && SecurityContextHolder.getContext().getAuthentication() == null) {
+
+      User user = null;
+      if (principal.id() == null) {
+        // Legacy token without identity claims. It carries no version either, so it is revoked as
+        // soon as the version of the user moves past the one it was issued with.
+        user = userRepository.findByEmail(principal.email()).orElse(null);
+        if (user != null
+            && (verifiedToken.tokenVersion() != user.getTokenVersion()
+                || tokenRevocationRegistry.isRevoked(user.getId(), verifiedToken.tokenVersion()))) {
+          user = null;
+        }
+        principal = user != null ? AuthenticatedUser.from(user) : null;
+      }
+
+      if (principal != null) {
+        currentUserContext.setPrincipal(principal);
+        if (user != null) {
+          currentUserContext.setUser(user);
+        }
 
-      if (jwtUtil.isTokenValid(token, userDetails)) {
         UsernamePasswordAuthenticationToken authToken =
-            new UsernamePasswordAuthenticationToken(
-                userDetails, null, userDetails.getAuthorities());
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
         SecurityContextHolder.getContext().setAuthentication(authToken);
       }
@@ -33,6 +33,10 @@ public class MailConfiguration {
     Properties props = mailSender.getJavaMailProperties();
     props.put("mail.smtp.auth", "true");
     props.put("mail.smtp.starttls.enable", "true");
+    // Never let a stalled mail server hold up the outbox dispatcher indefinitely
+    props.put("mail.smtp.connectiontimeout", "10000");
+    props.put("mail.smtp.timeout", "10000");
+    props.put("mail.smtp.writetimeout", "10000");
 
     return mailSender;
   }
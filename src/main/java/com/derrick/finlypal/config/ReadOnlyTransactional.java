@@ -0,0 +1,20 @@
+package com.derrick.finlypal.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Runs a read path in a read-only transaction. Hibernate then neither dirty checks nor flushes the
+ * loaded entities, and the connection is marked read-only, so the read takes no write locks and
+ * could be served by a replica. The services otherwise use {@code
+ * jakarta.transaction.Transactional}, which has no read-only flag.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional(readOnly = true)
+public @interface ReadOnlyTransactional {}
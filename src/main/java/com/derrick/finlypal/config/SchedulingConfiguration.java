@@ -0,0 +1,18 @@
+package com.derrick.finlypal.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the scheduled jobs. They run on the scheduler pool sized by {@code
+ * spring.task.scheduling.pool.size}, which gives every job a thread of its own, so the revocation
+ * sync keeps its interval while a rollup rebuild, a status reconcile or an email batch is running.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(
+    name = "application.scheduling.enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class SchedulingConfiguration {}
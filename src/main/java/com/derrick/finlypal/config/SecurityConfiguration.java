@@ -1,5 +1,6 @@
 package com.derrick.finlypal.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -28,6 +29,10 @@ public class SecurityConfiguration {
                 .authorizeHttpRequests(
                         authorizeRequests ->
                                 authorizeRequests
+                                        // Streamed responses finish on an async dispatch of an
+                                        // already authorized request
+                                        .dispatcherTypeMatchers(DispatcherType.ASYNC)
+                                        .permitAll()
                                         .requestMatchers(
                                                 "/auth/**",
                                                 "/swagger-ui/**",
@@ -11,6 +11,7 @@ import com.derrick.finlypal.exception.BadRequestException;
 import com.derrick.finlypal.exception.InternalServerErrorException;
 import com.derrick.finlypal.exception.NotAuthorizedException;
 import com.derrick.finlypal.exception.NotFoundException;
+import com.derrick.finlypal.exception.TooManyRequestsException;
 import com.derrick.finlypal.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -66,6 +67,10 @@ public class AuthenticationController {
         responseCode = "404",
         description = "User not found",
         content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+    @ApiResponse(
+        responseCode = "429",
+        description = "Too many requests",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
     @ApiResponse(
         responseCode = "500",
         description = "Internal server error",
@@ -73,7 +78,7 @@ public class AuthenticationController {
   })
   public ResponseEntity<AuthenticationResponseDTO> authenticate(
       @Valid @RequestBody AuthenticationRequestDTO authenticationRequestDTO)
-      throws InternalServerErrorException, NotFoundException {
+      throws InternalServerErrorException, NotFoundException, TooManyRequestsException {
 
     return new ResponseEntity<>(authService.login(authenticationRequestDTO), HttpStatus.OK);
   }
@@ -93,6 +98,10 @@ public class AuthenticationController {
         responseCode = "400",
         description = "Bad request",
         content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+    @ApiResponse(
+        responseCode = "429",
+        description = "Too many requests",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
     @ApiResponse(
         responseCode = "500",
         description = "Internal server error",
@@ -100,7 +109,7 @@ public class AuthenticationController {
   })
   public ResponseEntity<AuthenticationResponseDTO> register(
       @Valid @RequestBody UsersRegistrationRequestDTO usersRegistrationRequestDTO)
-      throws InternalServerErrorException {
+      throws InternalServerErrorException, TooManyRequestsException {
 
     return new ResponseEntity<>(authService.register(usersRegistrationRequestDTO), HttpStatus.OK);
   }
@@ -116,6 +125,8 @@ public class AuthenticationController {
                             The endpoint requires the user to have a valid refresh token.
                             The refresh token is sent via the Authorization header.
                             The response contains the new access and refresh tokens.
+                            A refresh token can only be used once, reusing it revokes
+                            every token of the user.
                             """)
   @ApiResponses({
     @ApiResponse(responseCode = "200", description = "Access token refreshed successfully"),
@@ -123,6 +134,10 @@ public class AuthenticationController {
         responseCode = "400",
         description = "Bad request",
         content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+    @ApiResponse(
+        responseCode = "401",
+        description = "Refresh token revoked, reused or invalid",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
     @ApiResponse(
         responseCode = "404",
         description = "User not found",
@@ -133,7 +148,7 @@ public class AuthenticationController {
         content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
   })
   public void refreshToken(HttpServletResponse response, HttpServletRequest request)
-      throws NotFoundException, InternalServerErrorException {
+      throws NotFoundException, NotAuthorizedException, InternalServerErrorException {
     authService.refreshToken(request, response);
   }
 
@@ -162,6 +177,10 @@ public class AuthenticationController {
         responseCode = "404",
         description = "User not found",
         content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+    @ApiResponse(
+        responseCode = "429",
+        description = "Too many requests",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
     @ApiResponse(
         responseCode = "500",
         description = "Internal server error",
@@ -172,7 +191,10 @@ public class AuthenticationController {
           @NotEmpty(message = "Email cannot be empty")
           @RequestParam
           String email)
-      throws InternalServerErrorException, BadRequestException, NotFoundException {
+      throws InternalServerErrorException,
+          BadRequestException,
+          NotFoundException,
+          TooManyRequestsException {
 
     return new ResponseEntity<>(
         new GeneralResponseDTO(HttpStatus.OK, authService.getPasswordRequestToken(email)),
@@ -204,6 +226,10 @@ public class AuthenticationController {
         responseCode = "404",
         description = "User not found",
         content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+    @ApiResponse(
+        responseCode = "429",
+        description = "Too many requests",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
     @ApiResponse(
         responseCode = "500",
         description = "Internal server error",
@@ -214,7 +240,8 @@ public class AuthenticationController {
       throws InternalServerErrorException,
           BadRequestException,
           NotFoundException,
-          NotAuthorizedException {
+          NotAuthorizedException,
+          TooManyRequestsException {
 
     return new ResponseEntity<>(
         new GeneralResponseDTO(HttpStatus.OK, authService.resetPassword(resetPasswordDTO)),
@@ -245,6 +272,10 @@ public class AuthenticationController {
         responseCode = "404",
         description = "User not found",
         content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+    @ApiResponse(
+        responseCode = "429",
+        description = "Too many requests",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
     @ApiResponse(
         responseCode = "500",
         description = "Internal server error",
@@ -259,7 +290,8 @@ public class AuthenticationController {
       throws InternalServerErrorException,
           BadRequestException,
           NotFoundException,
-          NotAuthorizedException {
+          NotAuthorizedException,
+          TooManyRequestsException {
 
     return new ResponseEntity<>(
         new GeneralResponseDTO(HttpStatus.OK, authService.getPasswordResetOtp(email)),
@@ -284,6 +316,10 @@ public class AuthenticationController {
         responseCode = "400",
         description = "Bad request",
         content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+    @ApiResponse(
+        responseCode = "429",
+        description = "Too many requests",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
     @ApiResponse(
         responseCode = "500",
         description = "Internal server error",
@@ -291,7 +327,7 @@ public class AuthenticationController {
   })
   public ResponseEntity<GeneralResponseDTO> verifyOtp(
       @Valid @RequestBody OtpRequestDTO otpRequestDTO)
-      throws InternalServerErrorException, BadRequestException {
+      throws InternalServerErrorException, BadRequestException, TooManyRequestsException {
     return new ResponseEntity<>(
         new GeneralResponseDTO(HttpStatus.OK, authService.verifyPasswordResetOtp(otpRequestDTO)),
         HttpStatus.OK);
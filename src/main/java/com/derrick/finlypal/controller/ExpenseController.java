@@ -1,9 +1,12 @@
 package com.derrick.finlypal.controller;
 
 import com.derrick.finlypal.dto.ErrorResponseDTO;
+import com.derrick.finlypal.dto.ExpenseCursorPageDTO;
+import com.derrick.finlypal.dto.ExpenseImportReportDTO;
 import com.derrick.finlypal.dto.ExpenseRequestDTO;
 import com.derrick.finlypal.dto.ExpenseResponseDTO;
 import com.derrick.finlypal.dto.GeneralResponseDTO;
+import com.derrick.finlypal.enums.ExpenseFileFormat;
 import com.derrick.finlypal.enums.ExpenseType;
 import com.derrick.finlypal.exception.BadRequestException;
 import com.derrick.finlypal.exception.InternalServerErrorException;
@@ -18,10 +21,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.InputStream;
 import java.time.LocalDate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -32,6 +39,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/expenses")
@@ -92,6 +100,104 @@ public class ExpenseController {
         HttpStatus.OK);
   }
 
+  @GetMapping("/cursor")
+  @Operation(
+      summary = "Retrieve Expenses By Cursor",
+      description =
+          "Retrieve the expenses of the currently logged-in user, newest first, one page at a time. Instead of a page number, each response carries an opaque cursor that is passed back to fetch the next page, so deep pages are as fast as the first one. No total is computed unless requested with include_total, in which case counting stops at a fixed cap.")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "Expenses fetched successfully"),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid dates, page size or cursor",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal server error",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+  })
+  public ResponseEntity<ExpenseCursorPageDTO> getExpensesByCursor(
+      @RequestParam(required = false) Long category_id,
+      @RequestParam() LocalDate start_date,
+      @RequestParam() LocalDate end_date,
+      @RequestParam(required = false) ExpenseType expenseType,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "10") int pageSize,
+      @RequestParam(defaultValue = "false") boolean include_total)
+      throws InternalServerErrorException, BadRequestException {
+    return new ResponseEntity<>(
+        expenseService.findAllByCursor(
+            expenseType, start_date, end_date, category_id, cursor, pageSize, include_total),
+        HttpStatus.OK);
+  }
+
+  @GetMapping("/export")
+  @Operation(
+      summary = "Export Expenses",
+      description =
+          "Export the expenses of the currently logged-in user, newest first, as CSV or newline delimited JSON, filtered like the expense list. The expenses are streamed from the database into the response as they are read, so exports of any size are served without paging. Set gzip to compress the response, which is then sent with a gzip content encoding.")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "Expenses exported successfully"),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid dates or export format",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal server error",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+  })
+  public ResponseEntity<StreamingResponseBody> exportExpenses(
+      @RequestParam(required = false) Long category_id,
+      @RequestParam(required = false) LocalDate start_date,
+      @RequestParam(required = false) LocalDate end_date,
+      @RequestParam(required = false) ExpenseType expenseType,
+      @RequestParam(defaultValue = "csv") String format,
+      @RequestParam(defaultValue = "false") boolean gzip)
+      throws BadRequestException {
+    ExpenseFileFormat exportFormat = ExpenseFileFormat.fromValue(format);
+    StreamingResponseBody body =
+        expenseService.exportExpenses(
+            exportFormat, expenseType, start_date, end_date, category_id, gzip);
+
+    ResponseEntity.BodyBuilder response =
+        ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+            .header(
+                HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment()
+                    .filename("expenses." + exportFormat.getExtension())
+                    .build()
+                    .toString());
+    if (gzip) {
+      response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    return response.body(body);
+  }
+
+  @PostMapping("/import")
+  @Operation(
+      summary = "Import Expenses",
+      description =
+          "Import expenses for the currently logged-in user from a CSV body with a header row, or from newline delimited JSON with one expense per line. The body is read as it streams in and the rows are inserted in batches. Rows that are malformed, fail validation or reference a category, budget item or savings goal the user cannot use are skipped, and the response reports each of them by row number. An export of this API can be imported as is.")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "Import completed, see the report"),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid file format or missing CSV column",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal server error",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+  })
+  public ResponseEntity<ExpenseImportReportDTO> importExpenses(
+      @RequestParam(defaultValue = "csv") String format, InputStream body)
+      throws BadRequestException, InternalServerErrorException {
+    return new ResponseEntity<>(
+        expenseService.importExpenses(ExpenseFileFormat.fromValue(format), body), HttpStatus.OK);
+  }
+
   @PostMapping
   @Operation(
       summary = "Create new expense",
@@ -1,10 +1,13 @@
 package com.derrick.finlypal.controller;
 
 import com.derrick.finlypal.dto.ErrorResponseDTO;
+import com.derrick.finlypal.dto.InsightsDashboardDTO;
 import com.derrick.finlypal.dto.InsightsBudgetOrSavingsMonthlyTrendDTO;
 import com.derrick.finlypal.dto.InsightsMonthlyComparisonDTO;
 import com.derrick.finlypal.dto.InsightsSpendByCategoryDTO;
 import com.derrick.finlypal.dto.InsightsSpendTrendsDTO;
+import com.derrick.finlypal.dto.InsightsTimeSeriesDTO;
+import com.derrick.finlypal.dto.InsightsTopExpensesCursorPageDTO;
 import com.derrick.finlypal.dto.InsightsTopExpensesDTO;
 import com.derrick.finlypal.dto.InsightsTotalBudgetByStatusSummaryDTO;
 import com.derrick.finlypal.dto.InsightsTotalSavingsAndBudgetAmountDTO;
@@ -12,8 +15,11 @@ import com.derrick.finlypal.dto.InsightsTotalSavingsByStatusSummaryDTO;
 import com.derrick.finlypal.dto.InsightsTotalSpendDTO;
 import com.derrick.finlypal.enums.ExpenseType;
 import com.derrick.finlypal.enums.InsightMonthlyTrendType;
+import com.derrick.finlypal.enums.InsightsDashboardSection;
+import com.derrick.finlypal.enums.InsightsTimeSeriesGranularity;
 import com.derrick.finlypal.exception.BadRequestException;
 import com.derrick.finlypal.exception.InternalServerErrorException;
+import com.derrick.finlypal.service.InsightsDashboardService;
 import com.derrick.finlypal.service.InsightsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -22,7 +28,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -31,6 +37,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
 
 @RestController
@@ -43,6 +50,48 @@ import java.util.List;
 public class InsightsController {
 
     private final InsightsService insightsService;
+    private final InsightsDashboardService insightsDashboardService;
+
+    @GetMapping("/dashboard")
+    @Operation(
+            summary = "Insights Dashboard",
+            description =
+                    """
+                            Get several insights of a period in one call.
+                            This endpoint computes the requested sections concurrently and
+                            returns them in one payload. If no sections are requested, every
+                            section is returned. The spend sections are computed for the given
+                            expense type. A section that misses the deadline of the request, or
+                            fails, is returned without data and with its status, and the
+                            dashboard is then marked as incomplete.
+                            """)
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Dashboard fetched successfully"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    public ResponseEntity<InsightsDashboardDTO> dashboard(
+            @RequestParam LocalDate start_date,
+            @RequestParam LocalDate end_date,
+            @RequestParam(defaultValue = "EXPENSE") ExpenseType type,
+            @RequestParam(required = false) List<InsightsDashboardSection> sections)
+            throws BadRequestException {
+        return new ResponseEntity<>(
+                insightsDashboardService.getDashboard(
+                        start_date,
+                        end_date,
+                        type,
+                        sections == null || sections.isEmpty()
+                                ? EnumSet.noneOf(InsightsDashboardSection.class)
+                                : EnumSet.copyOf(sections)),
+                HttpStatus.OK);
+    }
 
     @GetMapping("/total-spend")
     @Operation(
@@ -145,6 +194,39 @@ public class InsightsController {
                 insightsService.getDailyTrend(start_date, end_date, type), HttpStatus.OK);
     }
 
+    @GetMapping("/time-series")
+    @Operation(
+            summary = "Spend Time Series",
+            description =
+                    """
+                            Get the user's spend over time.
+                            This endpoint returns the total spend of every day, week, month,
+                            quarter or year within a specified period, as two parallel arrays:
+                            the start of every bucket and its total. Every bucket of the period
+                            is listed, with a total of zero if nothing was spent in it, so the
+                            series can be charted as is. Weeks start on Monday.
+                            """)
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Time series fetched successfully"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    public ResponseEntity<InsightsTimeSeriesDTO> timeSeries(
+            @RequestParam LocalDate start_date,
+            @RequestParam LocalDate end_date,
+            @RequestParam(defaultValue = "EXPENSE") ExpenseType type,
+            @RequestParam(defaultValue = "MONTH") InsightsTimeSeriesGranularity granularity)
+            throws InternalServerErrorException, BadRequestException {
+        return new ResponseEntity<>(
+                insightsService.getTimeSeries(start_date, end_date, type, granularity), HttpStatus.OK);
+    }
+
     @GetMapping("/top-expenses")
     @Operation(
             summary = "Top Expenses",
@@ -156,9 +238,10 @@ public class InsightsController {
                             using the query parameters start_date and end_date. If
                             the period is not specified, the endpoint will return the
                             top expenses for the current month. The expenses are
-                            ordered by their amount in descending order.
+                            ordered by their amount in descending order. The response
+                            tells whether more expenses follow, but not how many.
                             """)
-    public ResponseEntity<Page<InsightsTopExpensesDTO>> topExpenses(
+    public ResponseEntity<Slice<InsightsTopExpensesDTO>> topExpenses(
             @RequestParam(required = false) LocalDate start_date,
             @RequestParam(required = false) LocalDate end_date,
             @RequestParam ExpenseType type,
@@ -169,6 +252,41 @@ public class InsightsController {
                 insightsService.getTopExpenses(start_date, end_date, type, page, pageSize), HttpStatus.OK);
     }
 
+    @GetMapping("/top-expenses/cursor")
+    @Operation(
+            summary = "Top Expenses By Cursor",
+            description =
+                    """
+                            Get users top expenses one page at a time.
+                            This endpoint returns the user's expenses within a specified
+                            period, largest amount first. Instead of a page number, each
+                            response carries an opaque cursor that is passed back to load
+                            the next page, so loading more never reads the expenses already
+                            shown. No total is computed.
+                            """)
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Top expenses fetched successfully"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid dates, type, page size or cursor",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    public ResponseEntity<InsightsTopExpensesCursorPageDTO> topExpensesByCursor(
+            @RequestParam LocalDate start_date,
+            @RequestParam LocalDate end_date,
+            @RequestParam(defaultValue = "EXPENSE") ExpenseType type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer pageSize)
+            throws InternalServerErrorException, BadRequestException {
+        return new ResponseEntity<>(
+                insightsService.getTopExpensesByCursor(start_date, end_date, type, cursor, pageSize),
+                HttpStatus.OK);
+    }
+
     @GetMapping("/monthly-spend")
     @Operation(
             summary = "Monthly Spend",
@@ -301,7 +419,8 @@ public class InsightsController {
                     """
                             Get users budget or savings monthly trend.
                             This endpoint returns the budget or savings monthly trend for the user
-                            within a specified period.
+                            within a specified period, one entry per month, keyed by the first day
+                            of the month.
                             """)
     @ApiResponses({
             @ApiResponse(responseCode = "200"),
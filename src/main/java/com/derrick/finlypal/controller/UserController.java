@@ -1,6 +1,7 @@
 package com.derrick.finlypal.controller;
 
 import com.derrick.finlypal.dto.ErrorResponseDTO;
+import com.derrick.finlypal.dto.GeneralResponseDTO;
 import com.derrick.finlypal.dto.UsersResponseDTO;
 import com.derrick.finlypal.dto.UsersUpdateRequestDTO;
 import com.derrick.finlypal.exception.BadRequestException;
@@ -20,6 +21,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -86,4 +88,25 @@ public class UserController {
         return new ResponseEntity<>(
                 usersService.updateUserDetails(Long.valueOf(user_id), userDetailsDTO), HttpStatus.OK);
     }
+
+    @PostMapping("/revoke-sessions")
+    @Operation(
+            summary = "Revoke all sessions",
+            description =
+                    "Signs the user currently logged in out of every device. All access and refresh tokens issued to the user so far, including the one used for this request, stop working. The user has to log in again afterwards.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Sessions revoked successfully"),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "User not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    public ResponseEntity<GeneralResponseDTO> revokeSessions()
+            throws NotFoundException, InternalServerErrorException {
+        return new ResponseEntity<>(usersService.revokeSessions(), HttpStatus.OK);
+    }
 }
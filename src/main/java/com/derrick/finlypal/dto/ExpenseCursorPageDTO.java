@@ -0,0 +1,40 @@
+package com.derrick.finlypal.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "ExpenseCursorPage", description = "A page of expenses addressed by a cursor")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExpenseCursorPageDTO {
+
+  @Schema(description = "Expenses of this page, newest first")
+  private List<ExpenseResponseDTO> content;
+
+  @Schema(
+      description = "Opaque cursor of the next page, absent on the last page",
+      example = "MjAyNC0wMS0zMXwxMjM")
+  @JsonProperty("next_cursor")
+  private String nextCursor;
+
+  @Schema(description = "Whether there are more expenses after this page", example = "true")
+  @JsonProperty("has_next")
+  private boolean hasNext;
+
+  @Schema(
+      description =
+          "Number of matching expenses, only when requested. Counting stops at a fixed cap, so"
+              + " larger totals are reported as the cap",
+      example = "250")
+  @JsonProperty("approximate_total")
+  private Long approximateTotal;
+}
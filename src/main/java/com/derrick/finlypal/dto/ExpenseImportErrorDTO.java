@@ -0,0 +1,21 @@
+package com.derrick.finlypal.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "ExpenseImportError", description = "A row of an import that was rejected")
+public class ExpenseImportErrorDTO {
+
+  @Schema(description = "Number of the rejected row, the first data row being 1", example = "42")
+  private long row;
+
+  @Schema(description = "Why the row was rejected", example = "Amount is required")
+  private String message;
+}
@@ -0,0 +1,32 @@
+package com.derrick.finlypal.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "ExpenseImportReport", description = "Outcome of an expense import")
+public class ExpenseImportReportDTO {
+
+  @Schema(description = "Number of data rows read", example = "1000")
+  @JsonProperty("total_rows")
+  private long totalRows;
+
+  @Schema(description = "Number of rows imported as expenses", example = "998")
+  @JsonProperty("imported_rows")
+  private long importedRows;
+
+  @Schema(description = "Number of rows rejected", example = "2")
+  @JsonProperty("failed_rows")
+  private long failedRows;
+
+  @Schema(description = "Rejected rows with the reason, listed up to a fixed limit")
+  private List<ExpenseImportErrorDTO> errors;
+}
@@ -1,6 +1,7 @@
 package com.derrick.finlypal.dto;
 
 import com.derrick.finlypal.enums.ExpenseType;
+import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
@@ -27,6 +28,7 @@ public record ExpenseRequestDTO(
         Long categoryID,
     @Schema(description = "Id of savings id item this expense belongs to", example = "1")
         @JsonProperty("savings_id")
+        @JsonAlias("savings_item_id")
         Long savingsID,
     @Schema(description = "Id of budget item this expense belongs to", example = "1")
         @JsonProperty("budget_item_id")
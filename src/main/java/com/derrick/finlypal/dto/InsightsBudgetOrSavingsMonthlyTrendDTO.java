@@ -7,6 +7,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 @Getter
 @Setter
@@ -14,8 +15,8 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 @Schema(name = "InsightsBudgetOrSavingsMonthlyTrend", description = "Insights budget or savings monthly trend")
 public class InsightsBudgetOrSavingsMonthlyTrendDTO {
-    @Schema(description = "Month", example = "January")
-    private String month;
+    @Schema(description = "First day of the month", example = "2025-01-01")
+    private LocalDate month;
     @Schema(description = "Amount", example = "1000.00")
     private BigDecimal amount;
 }
@@ -0,0 +1,35 @@
+package com.derrick.finlypal.dto;
+
+import com.derrick.finlypal.enums.InsightsDashboardSection;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(
+    name = "InsightsDashboard",
+    description = "The requested insights of a period in one payload")
+public class InsightsDashboardDTO {
+
+  @JsonProperty("start_date")
+  @Schema(description = "Start of the period", example = "2025-01-01")
+  private LocalDate startDate;
+
+  @JsonProperty("end_date")
+  @Schema(description = "End of the period", example = "2025-01-31")
+  private LocalDate endDate;
+
+  @Schema(description = "Whether every requested section completed", example = "true")
+  private boolean complete;
+
+  @Schema(description = "The requested sections, keyed by section")
+  private Map<InsightsDashboardSection, InsightsDashboardSectionDTO> sections;
+}
@@ -0,0 +1,29 @@
+package com.derrick.finlypal.dto;
+
+import com.derrick.finlypal.enums.InsightsDashboardSectionStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(name = "InsightsDashboardSection", description = "Outcome of a section of the dashboard")
+public class InsightsDashboardSectionDTO {
+
+  @Schema(description = "Whether the section completed, missed the deadline or failed")
+  private InsightsDashboardSectionStatus status;
+
+  @Schema(
+      description =
+          "The payload of the matching insights endpoint, only present when the section completed")
+  private Object data;
+
+  @Schema(description = "Why the section has no data", example = "Missed the deadline")
+  private String error;
+}
@@ -28,4 +28,10 @@ public class InsightsMonthlyComparisonDTO {
 
   @Schema(description = "Expense type", example = "EXPENSE")
   private ExpenseType type;
+
+  @JsonProperty("running_total")
+  @Schema(
+      description = "Total spend from the start of the range up to the end of the month",
+      example = "250.00")
+  private BigDecimal runningTotal;
 }
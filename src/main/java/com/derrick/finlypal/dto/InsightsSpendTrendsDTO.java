@@ -1,5 +1,6 @@
 package com.derrick.finlypal.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
@@ -18,8 +19,19 @@ public class InsightsSpendTrendsDTO {
   @Schema(description = "Amount of the trend", example = "100.00")
   private BigDecimal amount;
 
+  @JsonProperty("running_total")
+  @Schema(
+      description = "Total spend from the start of the range up to the date",
+      example = "250.00")
+  private BigDecimal runningTotal;
+
   public InsightsSpendTrendsDTO(LocalDate date, BigDecimal amount) {
     this.date = date;
     this.amount = amount != null ? amount : BigDecimal.ZERO;
   }
+
+  public InsightsSpendTrendsDTO(LocalDate date, BigDecimal amount, BigDecimal runningTotal) {
+    this(date, amount);
+    this.runningTotal = runningTotal;
+  }
 }
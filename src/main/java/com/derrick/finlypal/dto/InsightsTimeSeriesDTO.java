@@ -0,0 +1,52 @@
+package com.derrick.finlypal.dto;
+
+import com.derrick.finlypal.enums.ExpenseType;
+import com.derrick.finlypal.enums.InsightsTimeSeriesGranularity;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(
+    name = "InsightsTimeSeries",
+    description =
+        "The spend of a period per bucket, as parallel arrays of the bucket starts and their"
+            + " totals")
+public class InsightsTimeSeriesDTO {
+
+  @JsonProperty("start_date")
+  @Schema(description = "Start of the period", example = "2025-01-01")
+  private LocalDate startDate;
+
+  @JsonProperty("end_date")
+  @Schema(description = "End of the period", example = "2025-03-31")
+  private LocalDate endDate;
+
+  @Schema(description = "Expense type", example = "EXPENSE")
+  private ExpenseType type;
+
+  @Schema(description = "Width of the buckets", example = "MONTH")
+  private InsightsTimeSeriesGranularity granularity;
+
+  @JsonProperty("bucket_starts")
+  @Schema(
+      description =
+          "Start of every bucket of the period, in order. The first bucket can start before the"
+              + " period, but only counts the spend within it",
+      example = "[\"2025-01-01\", \"2025-02-01\", \"2025-03-01\"]")
+  private List<LocalDate> bucketStarts;
+
+  @Schema(
+      description = "Total spend of each bucket, zero for the buckets without any",
+      example = "[120.00, 0, 75.50]")
+  private List<BigDecimal> totals;
+}
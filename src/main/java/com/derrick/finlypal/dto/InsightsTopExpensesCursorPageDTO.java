@@ -0,0 +1,34 @@
+package com.derrick.finlypal.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(
+    name = "InsightsTopExpensesCursorPage",
+    description = "A page of top expenses addressed by a cursor")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class InsightsTopExpensesCursorPageDTO {
+
+  @Schema(description = "Expenses of this page, largest amount first")
+  private List<InsightsTopExpensesDTO> content;
+
+  @Schema(
+      description = "Opaque cursor of the next page, absent on the last page",
+      example = "MTIwLjUwfDEyMw")
+  @JsonProperty("next_cursor")
+  private String nextCursor;
+
+  @Schema(description = "Whether there are more expenses after this page", example = "true")
+  @JsonProperty("has_next")
+  private boolean hasNext;
+}
@@ -16,6 +16,9 @@ import lombok.Setter;
 @NoArgsConstructor
 @Schema(name = "InsightsTopExpenses", description = "Holds information about top expenses")
 public class InsightsTopExpensesDTO {
+  @Schema(description = "Expense id", example = "1")
+  private Long id;
+
   @Schema(description = "Expense description", example = "Groceries")
   private String description;
 
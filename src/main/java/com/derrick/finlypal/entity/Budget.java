@@ -6,12 +6,14 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
@@ -36,7 +38,8 @@ import org.hibernate.annotations.UpdateTimestamp;
 public class Budget {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "budgets_seq")
+  @SequenceGenerator(name = "budgets_seq", sequenceName = "budgets_seq", allocationSize = 50)
   private Long id;
 
   @NotNull(message = "Name is required")
@@ -61,7 +64,15 @@ public class Budget {
   @Enumerated(EnumType.STRING)
   private BudgetStatus status;
 
-  @ManyToOne
+  /**
+   * The EXPENSE entries of the budget's items. Only ever changed by relative updates, so it is
+   * never written back from the entity.
+   */
+  @Builder.Default
+  @Column(name = "spent_amount", nullable = false, updatable = false)
+  private BigDecimal spentAmount = BigDecimal.ZERO;
+
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "user_id")
   private User user;
 
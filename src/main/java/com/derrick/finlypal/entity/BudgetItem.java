@@ -6,12 +6,14 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
@@ -35,7 +37,11 @@ import org.hibernate.annotations.UpdateTimestamp;
 public class BudgetItem {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "budget_items_seq")
+  @SequenceGenerator(
+      name = "budget_items_seq",
+      sequenceName = "budget_items_seq",
+      allocationSize = 50)
   private Long id;
 
   @NotNull(message = "Name is required")
@@ -52,7 +58,17 @@ public class BudgetItem {
   @Enumerated(EnumType.STRING)
   private BudgetItemStatus status;
 
-  @ManyToOne(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+  /**
+   * All the expenses of the budget item. Only ever changed by relative updates, so it is never
+   * written back from the entity.
+   */
+  @Builder.Default
+  @Column(name = "spent_amount", nullable = false, updatable = false)
+  private BigDecimal spentAmount = BigDecimal.ZERO;
+
+  @ManyToOne(
+      fetch = FetchType.LAZY,
+      cascade = {CascadeType.PERSIST, CascadeType.MERGE})
   @JoinColumn(name = "budget_id", nullable = false)
   private Budget budget;
 
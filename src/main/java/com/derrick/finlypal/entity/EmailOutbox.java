@@ -0,0 +1,73 @@
+package com.derrick.finlypal.entity;
+
+import com.derrick.finlypal.enums.EmailOutboxStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(
+    name = "email_outbox",
+    indexes = @Index(name = "idx_email_outbox_due", columnList = "status, next_attempt_at"))
+public class EmailOutbox {
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_outbox_seq")
+  @SequenceGenerator(
+      name = "email_outbox_seq",
+      sequenceName = "email_outbox_seq",
+      allocationSize = 50)
+  private Long id;
+
+  @NotNull(message = "Recipient is required")
+  private String recipient;
+
+  @NotNull(message = "Subject is required")
+  private String subject;
+
+  @NotNull(message = "Body is required")
+  @Column(columnDefinition = "TEXT")
+  private String body;
+
+  @Builder.Default
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private EmailOutboxStatus status = EmailOutboxStatus.PENDING;
+
+  @Builder.Default
+  @Column(nullable = false)
+  private int attempts = 0;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private LocalDateTime nextAttemptAt;
+
+  @Column(name = "last_error")
+  private String lastError;
+
+  @CreationTimestamp
+  @Column(name = "created_at")
+  private Timestamp createdAt;
+
+  @Column(name = "sent_at")
+  private LocalDateTime sentAt;
+}
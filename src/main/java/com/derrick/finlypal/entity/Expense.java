@@ -5,11 +5,13 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
@@ -31,7 +33,8 @@ import org.hibernate.annotations.UpdateTimestamp;
 @Table(name = "expenses")
 public class Expense {
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expenses_seq")
+  @SequenceGenerator(name = "expenses_seq", sequenceName = "expenses_seq", allocationSize = 50)
   private Long id;
 
   @NotNull(message = "Description is required")
@@ -51,15 +54,15 @@ public class Expense {
   @JoinColumn(name = "category_id")
   private Category category;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "user_id")
   private User user;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "budget_items_id", nullable = true)
   private BudgetItem budgetItem;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "savings_id", nullable = true)
   private Savings savings;
 
@@ -0,0 +1,69 @@
+package com.derrick.finlypal.entity;
+
+import com.derrick.finlypal.enums.ExpenseType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The amount and number of a user's expenses of one type and category on one day. The rows are kept
+ * up to date in the same transaction as the expenses they sum, so insights read at most one row per
+ * day and category instead of every expense. Expenses without a category are summed under category
+ * id 0.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "expense_daily_rollup")
+@IdClass(ExpenseDailyRollup.Key.class)
+public class ExpenseDailyRollup {
+
+  @Id
+  @Column(name = "user_id")
+  private Long userId;
+
+  @Id
+  @Enumerated(EnumType.STRING)
+  private ExpenseType type;
+
+  @Id private LocalDate day;
+
+  @Id
+  @Column(name = "category_id")
+  private Long categoryId;
+
+  @Column(nullable = false, precision = 19, scale = 2)
+  private BigDecimal total;
+
+  @Column(nullable = false)
+  private long count;
+
+  /** The primary key of a rollup row. */
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  public static class Key implements Serializable {
+    private Long userId;
+    private ExpenseType type;
+    private LocalDate day;
+    private Long categoryId;
+  }
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
@@ -26,7 +27,11 @@ import org.hibernate.annotations.CreationTimestamp;
 @Table(name = "reset_tokens")
 public class ResetToken {
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reset_tokens_seq")
+  @SequenceGenerator(
+      name = "reset_tokens_seq",
+      sequenceName = "reset_tokens_seq",
+      allocationSize = 50)
   private Integer id;
 
   private String token;
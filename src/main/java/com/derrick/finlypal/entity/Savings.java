@@ -6,12 +6,14 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
@@ -36,7 +38,8 @@ import org.hibernate.annotations.UpdateTimestamp;
 public class Savings {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "savings_seq")
+  @SequenceGenerator(name = "savings_seq", sequenceName = "savings_seq", allocationSize = 50)
   private Long id;
 
   @NotNull(message = "Goal name is required")
@@ -50,8 +53,13 @@ public class Savings {
   @Column(name = "target_amount")
   private BigDecimal targetAmount;
 
+  /**
+   * The expenses of the savings goal. Only ever changed by relative updates, so it is never written
+   * back from the entity.
+   */
   @NotNull(message = "Saved amount is required")
-  @Column(name = "saved_amount")
+  @Builder.Default
+  @Column(name = "saved_amount", updatable = false)
   private BigDecimal savedAmount = BigDecimal.ZERO;
 
   @NotNull(message = "Start date is required")
@@ -65,7 +73,7 @@ public class Savings {
   @Enumerated(EnumType.STRING)
   private SavingsStatus status;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "user_id")
   private User user;
 
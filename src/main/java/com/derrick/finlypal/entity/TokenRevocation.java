@@ -0,0 +1,47 @@
+package com.derrick.finlypal.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+/**
+ * Records that every token issued to a user with a version below {@code tokenVersion} has been
+ * revoked. Every node replays these records into its in-memory revocation registry.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "token_revocations")
+public class TokenRevocation {
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "token_revocations_seq")
+  @SequenceGenerator(
+      name = "token_revocations_seq",
+      sequenceName = "token_revocations_seq",
+      allocationSize = 50)
+  private Long id;
+
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  @Column(name = "token_version", nullable = false)
+  private int tokenVersion;
+
+  @CreationTimestamp
+  @Column(name = "created_at")
+  private LocalDateTime createdAt;
+}
@@ -8,7 +8,10 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -33,9 +36,13 @@ import java.util.List;
 @NoArgsConstructor
 @Entity
 @Table(name = "users")
+@NamedEntityGraph(name = User.WITH_CURRENCY, attributeNodes = @NamedAttributeNode("currency"))
 public class User implements UserDetails {
+    public static final String WITH_CURRENCY = "User.withCurrency";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Name is required")
@@ -48,13 +55,25 @@ public class User implements UserDetails {
     @NotNull(message = "Password is required")
     private String password;
 
-    @OneToMany(fetch = FetchType.EAGER, mappedBy = "user")
+    /**
+     * Never loaded together with the user. Read expenses through the paged queries of
+     * {@link com.derrick.finlypal.repository.ExpenseRepository} instead.
+     */
+    @OneToMany(fetch = FetchType.LAZY, mappedBy = "user")
     private List<Expense> expenses;
 
     @ManyToOne
     @JoinColumn(name = "currency_id", referencedColumnName = "id", nullable = false)
     private Currency currency = new Currency(1L, "USD", "US Dollar", "$");
 
+    /**
+     * Only ever changed by the relative update of
+     * {@link com.derrick.finlypal.repository.UserRepository#incrementTokenVersion}, so it is never
+     * written back from the entity, where a stale copy would undo a revocation.
+     */
+    @Column(name = "token_version", nullable = false, updatable = false)
+    private int tokenVersion;
+
     @CreationTimestamp
     @Column(name = "created_at")
     private Timestamp createdAt;
@@ -0,0 +1,7 @@
+package com.derrick.finlypal.enums;
+
+public enum EmailOutboxStatus {
+  PENDING,
+  SENT,
+  FAILED,
+}
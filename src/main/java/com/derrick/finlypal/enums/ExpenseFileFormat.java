@@ -0,0 +1,31 @@
+package com.derrick.finlypal.enums;
+
+import com.derrick.finlypal.exception.BadRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExpenseFileFormat {
+  CSV("text/csv", "csv"),
+  NDJSON("application/x-ndjson", "ndjson");
+
+  private final String contentType;
+  private final String extension;
+
+  /**
+   * Resolves the format named in a request, ignoring case.
+   *
+   * @param value the name of the format, e.g. {@code csv}
+   * @return the format
+   * @throws BadRequestException if no format has that name
+   */
+  public static ExpenseFileFormat fromValue(String value) throws BadRequestException {
+    for (ExpenseFileFormat format : values()) {
+      if (format.name().equalsIgnoreCase(value)) {
+        return format;
+      }
+    }
+    throw new BadRequestException("Invalid file format. Must be csv or ndjson");
+  }
+}
@@ -0,0 +1,15 @@
+package com.derrick.finlypal.enums;
+
+/** The sections of the insights dashboard, each backed by one of the insights queries. */
+public enum InsightsDashboardSection {
+  TOTAL_SPEND,
+  SPEND_BY_CATEGORY,
+  DAILY_SPEND,
+  MONTHLY_SPEND,
+  TOP_EXPENSES,
+  TOTAL_SAVINGS_AND_BUDGET_AMOUNT,
+  BUDGET_BY_STATUS_SUMMARY,
+  SAVINGS_BY_STATUS_SUMMARY,
+  BUDGET_MONTHLY_TREND,
+  SAVINGS_MONTHLY_TREND,
+}
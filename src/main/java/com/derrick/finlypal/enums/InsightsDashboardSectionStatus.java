@@ -0,0 +1,8 @@
+package com.derrick.finlypal.enums;
+
+/** The outcome of a section of the insights dashboard. */
+public enum InsightsDashboardSectionStatus {
+  COMPLETED,
+  TIMED_OUT,
+  FAILED,
+}
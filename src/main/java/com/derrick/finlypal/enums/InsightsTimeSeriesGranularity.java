@@ -0,0 +1,31 @@
+package com.derrick.finlypal.enums;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/** The width of the buckets of an insights time series. */
+public enum InsightsTimeSeriesGranularity {
+  DAY,
+  WEEK,
+  MONTH,
+  QUARTER,
+  YEAR;
+
+  /**
+   * Returns at least the number of buckets a date range touches. The first bucket starts at or
+   * before the start date, so a range can touch one bucket more than its length in buckets.
+   *
+   * @param startDate the start date of the range, inclusive
+   * @param endDate the end date of the range, inclusive
+   * @return an upper bound of the number of buckets of the range
+   */
+  public long maxBucketsBetween(LocalDate startDate, LocalDate endDate) {
+    return switch (this) {
+      case DAY -> ChronoUnit.DAYS.between(startDate, endDate) + 1;
+      case WEEK -> ChronoUnit.WEEKS.between(startDate, endDate) + 2;
+      case MONTH -> ChronoUnit.MONTHS.between(startDate, endDate) + 2;
+      case QUARTER -> ChronoUnit.MONTHS.between(startDate, endDate) / 3 + 2;
+      case YEAR -> ChronoUnit.YEARS.between(startDate, endDate) + 2;
+    };
+  }
+}
@@ -116,4 +116,19 @@ public class GlobalException extends ResponseEntityExceptionHandler {
             .build();
     return new ResponseEntity<>(errorResponse, HttpStatus.FORBIDDEN);
   }
+
+  @ExceptionHandler(TooManyRequestsException.class)
+  public ResponseEntity<ErrorResponseDTO> handleTooManyRequestsException(
+      TooManyRequestsException ex, WebRequest request) {
+    ErrorResponseDTO errorResponse =
+        ErrorResponseDTO.builder()
+            .apiPath(request.getDescription(false))
+            .code(HttpStatus.TOO_MANY_REQUESTS)
+            .message(ex.getMessage())
+            .timestamp(LocalDateTime.now())
+            .build();
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(errorResponse);
+  }
 }
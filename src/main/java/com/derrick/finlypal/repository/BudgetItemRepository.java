@@ -3,9 +3,13 @@ package com.derrick.finlypal.repository;
 import com.derrick.finlypal.entity.BudgetItem;
 import jakarta.transaction.Transactional;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface BudgetItemRepository extends JpaRepository<BudgetItem, Long> {
 
@@ -13,6 +17,27 @@ public interface BudgetItemRepository extends JpaRepository<BudgetItem, Long> {
 
   List<BudgetItem> findAllByBudgetId(Long budgetId);
 
+  /**
+   * Loads a budget item only if its budget belongs to the given user. Budget items are owned
+   * through their budget, so the budget is joined on its primary key in the same query.
+   */
+  @Query(
+      "SELECT bi FROM BudgetItem bi JOIN FETCH bi.budget b "
+          + "WHERE bi.id = :id AND b.user.id = :userId")
+  Optional<BudgetItem> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+  @Query(
+      "SELECT COUNT(bi) > 0 FROM BudgetItem bi "
+          + "WHERE bi.id = :id AND bi.budget.user.id = :userId")
+  boolean existsByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+  @Query("SELECT bi.id FROM BudgetItem bi WHERE bi.budget.user.id = :userId")
+  List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+  /** Returns the budget items that come after the given id, in id order. */
+  @Query("SELECT bi FROM BudgetItem bi WHERE bi.id > :afterId ORDER BY bi.id")
+  List<BudgetItem> findAfter(@Param("afterId") Long afterId, Limit limit);
+
   @Transactional
   void deleteById(Long budgetId);
 }
@@ -2,6 +2,7 @@ package com.derrick.finlypal.repository;
 
 import com.derrick.finlypal.entity.Budget;
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,11 +12,29 @@ import org.springframework.data.repository.query.Param;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
 
     Page<Budget> findAllByUserId(Long id, Pageable pageable);
 
+    /**
+     * Loads a budget only if it belongs to the given user, so fetching and authorizing it is a
+     * single query on the primary key.
+     */
+    @Query("SELECT b FROM Budget b WHERE b.id = :id AND b.user.id = :userId")
+    Optional<Budget> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("SELECT COUNT(b) > 0 FROM Budget b WHERE b.id = :id AND b.user.id = :userId")
+    boolean existsByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Deletes a budget only if it belongs to the given user. The budget is loaded and removed
+     * through the persistence context, so its items and their expenses are cascaded.
+     */
+    @Transactional
+    long deleteByIdAndUserId(Long id, Long userId);
+
     @Query(
             """
                         SELECT COALESCE(SUM(e.amount), 0)
@@ -26,6 +45,10 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
                     """)
     BigDecimal findTotalExpensesByBudgetId(@Param("budgetId") Long budgetId);
 
+    /** Returns the budgets that come after the given id, in id order. */
+    @Query("SELECT b FROM Budget b WHERE b.id > :afterId ORDER BY b.id")
+    List<Budget> findAfter(@Param("afterId") Long afterId, Limit limit);
+
     @Transactional
     void deleteById(Long id);
 
@@ -46,14 +69,20 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
                                             @Param("endDate") LocalDate endDate,
                                             @Param("userId") Long userId);
 
-    @Query("SELECT FUNCTION('TO_CHAR', e.date, 'Month') AS monthName, SUM(e.amount) " +
+    /**
+     * Sums the user's budgeted expenses of the date range per month, grouped on the start of the month
+     * so that the same month of two years is not merged.
+     *
+     * @return the start of every month with budgeted expenses and their total, in order
+     */
+    @Query("SELECT CAST(TRUNC(CAST(e.date AS LocalDateTime), MONTH) AS LocalDate) AS monthStart, SUM(e.amount) " +
             "FROM Expense e " +
             "WHERE e.date BETWEEN :startDate AND :endDate " +
             "AND e.type = 'EXPENSE' " +
             "AND e.budgetItem.budget.id IS NOT NULL " + // Ensures expense is linked to a budget
             "AND e.user.id = :userId " +
-            "GROUP BY FUNCTION('TO_CHAR', e.date, 'Month') " +
-            "ORDER BY MIN(e.date)")
+            "GROUP BY CAST(TRUNC(CAST(e.date AS LocalDateTime), MONTH) AS LocalDate) " +
+            "ORDER BY monthStart")
     List<Object[]> getMonthlyExpenseTrends(@Param("startDate") LocalDate startDate,
                                            @Param("endDate") LocalDate endDate,
                                            @Param("userId") Long userId);
@@ -1,13 +1,18 @@
 package com.derrick.finlypal.repository;
 
 import com.derrick.finlypal.entity.Category;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
   Page<Category> findByDisplayNameContaining(String name, Pageable pageable);
 
   Page<Category> findAll(Pageable pageable);
+
+  @Query("SELECT c.id FROM Category c")
+  List<Long> findAllIds();
 }
@@ -0,0 +1,34 @@
+package com.derrick.finlypal.repository;
+
+import com.derrick.finlypal.entity.EmailOutbox;
+import com.derrick.finlypal.enums.EmailOutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+  /**
+   * Locks a batch of pending messages that are due. Rows already locked by another dispatcher are
+   * skipped rather than waited on, so several nodes can drain the outbox concurrently.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query(
+      """
+      SELECT o FROM EmailOutbox o
+      WHERE o.status = com.derrick.finlypal.enums.EmailOutboxStatus.PENDING
+      AND o.nextAttemptAt <= :now
+      ORDER BY o.nextAttemptAt
+      """)
+  List<EmailOutbox> findDueForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+  long countByStatus(EmailOutboxStatus status);
+}
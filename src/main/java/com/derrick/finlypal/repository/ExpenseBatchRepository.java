@@ -0,0 +1,21 @@
+package com.derrick.finlypal.repository;
+
+import com.derrick.finlypal.entity.Expense;
+import java.util.List;
+
+/**
+ * Bulk writes of expenses, in JDBC batches larger than the configured default and without keeping
+ * the inserted expenses in the persistence context like {@code saveAll} does.
+ */
+public interface ExpenseBatchRepository {
+
+  /**
+   * Inserts new expenses in one transaction, sending them to the database in JDBC batches of the
+   * given size. The expenses are detached afterwards, along with everything else in the persistence
+   * context, so that inserting chunk after chunk does not grow it.
+   *
+   * @param expenses the new expenses
+   * @param batchSize the number of inserts sent to the database at once
+   */
+  void insertAll(List<Expense> expenses, int batchSize);
+}
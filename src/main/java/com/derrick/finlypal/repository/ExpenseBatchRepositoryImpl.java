@@ -0,0 +1,28 @@
+package com.derrick.finlypal.repository;
+
+import com.derrick.finlypal.entity.Expense;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import java.util.List;
+import org.hibernate.Session;
+
+public class ExpenseBatchRepositoryImpl implements ExpenseBatchRepository {
+
+  @PersistenceContext private EntityManager entityManager;
+
+  @Override
+  @Transactional
+  public void insertAll(List<Expense> expenses, int batchSize) {
+    Session session = entityManager.unwrap(Session.class);
+    Integer previousBatchSize = session.getJdbcBatchSize();
+    session.setJdbcBatchSize(batchSize);
+    try {
+      expenses.forEach(session::persist);
+      session.flush();
+      session.clear();
+    } finally {
+      session.setJdbcBatchSize(previousBatchSize);
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package com.derrick.finlypal.repository;
+
+import com.derrick.finlypal.entity.ExpenseDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads the daily expense totals the insights are served from. The date ranges are inclusive. Rows
+ * whose expenses have all been removed hold a count of zero until the next rebuild and are left out
+ * of the grouped results.
+ */
+@Repository
+public interface ExpenseDailyRollupRepository
+    extends JpaRepository<ExpenseDailyRollup, ExpenseDailyRollup.Key>,
+        ExpenseDailyRollupWriteRepository,
+        ExpenseSpendSummaryRepository,
+        ExpenseTimeSeriesRepository {}
@@ -0,0 +1,70 @@
+package com.derrick.finlypal.repository;
+
+import com.derrick.finlypal.enums.ExpenseType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Keeps the daily expense totals in step with the expenses. Every method must run in the
+ * transaction that writes the expenses, so the totals commit or roll back together with them. Rows
+ * are created on first use and only ever adjusted by a delta, so concurrent writers of the same day
+ * never overwrite each other.
+ */
+public interface ExpenseDailyRollupWriteRepository {
+
+  /**
+   * Adds an amount and a number of expenses to the totals of one day, creating the row if needed.
+   * Removing an expense adds its negated amount and a count of -1.
+   *
+   * @param userId the owner of the expenses
+   * @param day the date of the expenses
+   * @param type the type of the expenses
+   * @param categoryId the category of the expenses, or {@code null} if they have none
+   * @param amount the amount to add
+   * @param count the number of expenses to add
+   */
+  void addToDay(
+      Long userId, LocalDate day, ExpenseType type, Long categoryId, BigDecimal amount, long count);
+
+  /**
+   * Adds expenses that have just been inserted, one statement per step whatever the number of
+   * expenses.
+   *
+   * @param expenseIds the ids of the inserted expenses
+   */
+  void addExpenses(List<Long> expenseIds);
+
+  /**
+   * Removes the expenses of a budget item, which the database deletes along with the item.
+   *
+   * @param budgetItemId the id of the budget item about to be deleted
+   */
+  void removeExpensesOfBudgetItem(Long budgetItemId);
+
+  /**
+   * Removes the user's expenses of every item of a budget, which the database deletes along with
+   * the budget. Nothing is removed if the budget is not the user's.
+   *
+   * @param userId the owner of the budget
+   * @param budgetId the id of the budget about to be deleted
+   */
+  void removeExpensesOfBudget(Long userId, Long budgetId);
+
+  /**
+   * Removes the user's expenses of a savings goal, which are deleted along with the goal. Nothing
+   * is removed if the goal is not the user's.
+   *
+   * @param userId the owner of the savings goal
+   * @param savingsId the id of the savings goal about to be deleted
+   */
+  void removeExpensesOfSavings(Long userId, Long savingsId);
+
+  /**
+   * Recomputes the totals of the given users from their expenses, dropping rows left at zero.
+   *
+   * @param userIds the users to rebuild
+   * @return the number of rows written
+   */
+  int rebuild(List<Long> userIds);
+}
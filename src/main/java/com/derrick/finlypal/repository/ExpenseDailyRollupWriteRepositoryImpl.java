@@ -0,0 +1,153 @@
+package com.derrick.finlypal.repository;
+
+import com.derrick.finlypal.enums.ExpenseType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the daily totals with native statements. A row is upserted as an insert that does nothing
+ * on conflict followed by an update of the row, which waits for a concurrent insert of the same row
+ * instead of failing on it.
+ */
+public class ExpenseDailyRollupWriteRepositoryImpl implements ExpenseDailyRollupWriteRepository {
+
+  private static final long NO_CATEGORY = 0L;
+
+  /** Matches an expense of the alias {@code e} to the rollup row {@code r} it is summed into. */
+  private static final String SAME_DAY =
+      " AND e.user_id = r.user_id AND e.type = r.type AND e.date = r.day"
+          + " AND COALESCE(e.category_id, 0) = r.category_id";
+
+  @PersistenceContext private EntityManager entityManager;
+
+  @Override
+  public void addToDay(
+      Long userId,
+      LocalDate day,
+      ExpenseType type,
+      Long categoryId,
+      BigDecimal amount,
+      long count) {
+    Long category = categoryId != null ? categoryId : NO_CATEGORY;
+    int inserted =
+        entityManager
+            .createNativeQuery(
+                "INSERT INTO expense_daily_rollup (user_id, type, day, category_id, total, count)"
+                    + " VALUES (:userId, :type, :day, :categoryId, :amount, :count)"
+                    + " ON CONFLICT DO NOTHING")
+            .setParameter("userId", userId)
+            .setParameter("type", type.name())
+            .setParameter("day", day)
+            .setParameter("categoryId", category)
+            .setParameter("amount", amount)
+            .setParameter("count", count)
+            .executeUpdate();
+    if (inserted == 0) {
+      entityManager
+          .createNativeQuery(
+              "UPDATE expense_daily_rollup SET total = total + :amount, count = count + :count"
+                  + " WHERE user_id = :userId AND type = :type AND day = :day"
+                  + " AND category_id = :categoryId")
+          .setParameter("userId", userId)
+          .setParameter("type", type.name())
+          .setParameter("day", day)
+          .setParameter("categoryId", category)
+          .setParameter("amount", amount)
+          .setParameter("count", count)
+          .executeUpdate();
+    }
+  }
+
+  @Override
+  public void addExpenses(List<Long> expenseIds) {
+    if (!expenseIds.isEmpty()) {
+      apply("e.id IN (:expenseIds)", Map.of("expenseIds", expenseIds), 1);
+    }
+  }
+
+  @Override
+  public void removeExpensesOfBudgetItem(Long budgetItemId) {
+    apply("e.budget_items_id = :budgetItemId", Map.of("budgetItemId", budgetItemId), -1);
+  }
+
+  @Override
+  public void removeExpensesOfBudget(Long userId, Long budgetId) {
+    apply(
+        "e.user_id = :userId AND e.budget_items_id IN"
+            + " (SELECT bi.id FROM budget_items bi WHERE bi.budget_id = :budgetId)",
+        Map.of("userId", userId, "budgetId", budgetId),
+        -1);
+  }
+
+  @Override
+  public void removeExpensesOfSavings(Long userId, Long savingsId) {
+    apply(
+        "e.user_id = :userId AND e.savings_id = :savingsId",
+        Map.of("userId", userId, "savingsId", savingsId),
+        -1);
+  }
+
+  @Override
+  public int rebuild(List<Long> userIds) {
+    if (userIds.isEmpty()) {
+      return 0;
+    }
+    entityManager
+        .createNativeQuery("DELETE FROM expense_daily_rollup WHERE user_id IN (:userIds)")
+        .setParameter("userIds", userIds)
+        .executeUpdate();
+    return entityManager
+        .createNativeQuery(
+            "INSERT INTO expense_daily_rollup (user_id, type, day, category_id, total, count)"
+                + " SELECT e.user_id, e.type, e.date, COALESCE(e.category_id, 0),"
+                + " SUM(e.amount), COUNT(*)"
+                + " FROM expenses e WHERE e.user_id IN (:userIds)"
+                + " GROUP BY e.user_id, e.type, e.date, COALESCE(e.category_id, 0)")
+        .setParameter("userIds", userIds)
+        .executeUpdate();
+  }
+
+  /**
+   * Adds, or subtracts, the expenses matching a condition to the rows they are summed into, in two
+   * statements whatever the number of expenses: the missing rows are created empty, then every row
+   * touched is adjusted by the sums of its expenses.
+   *
+   * @param condition the condition on the expenses, aliased {@code e}
+   * @param parameters the parameters of the condition
+   * @param sign 1 to add the expenses, -1 to subtract them
+   */
+  private void apply(String condition, Map<String, Object> parameters, int sign) {
+    Query insert =
+        entityManager.createNativeQuery(
+            "INSERT INTO expense_daily_rollup (user_id, type, day, category_id, total, count)"
+                + " SELECT DISTINCT e.user_id, e.type, e.date, COALESCE(e.category_id, 0), 0, 0"
+                + " FROM expenses e WHERE "
+                + condition
+                + " ON CONFLICT DO NOTHING");
+    Query update =
+        entityManager.createNativeQuery(
+            "UPDATE expense_daily_rollup r SET"
+                + " total = r.total + :sign * (SELECT SUM(e.amount) FROM expenses e WHERE "
+                + condition
+                + SAME_DAY
+                + "), count = r.count + :sign * (SELECT COUNT(*) FROM expenses e WHERE "
+                + condition
+                + SAME_DAY
+                + ") WHERE EXISTS (SELECT 1 FROM expenses e WHERE "
+                + condition
+                + SAME_DAY
+                + ")");
+    parameters.forEach(
+        (name, value) -> {
+          insert.setParameter(name, value);
+          update.setParameter(name, value);
+        });
+    insert.executeUpdate();
+    update.setParameter("sign", sign).executeUpdate();
+  }
+}
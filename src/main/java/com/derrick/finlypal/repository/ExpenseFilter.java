@@ -0,0 +1,35 @@
+package com.derrick.finlypal.repository;
+
+import com.derrick.finlypal.enums.ExpenseType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.Builder;
+import lombok.NonNull;
+
+/**
+ * Filters applied to the expenses of a user. Only the user is required; every other filter left
+ * {@code null} is omitted from the generated query altogether, rather than being matched with an
+ * {@code IS NULL OR} catch-all, so the database plans each combination against the index that fits
+ * it.
+ *
+ * @param userId the id of the user owning the expenses
+ * @param startDate the first date of the range, inclusive
+ * @param endDate the last date of the range, inclusive
+ * @param type the type of the expenses
+ * @param categoryId the id of the category of the expenses
+ * @param minAmount the smallest amount, inclusive
+ * @param maxAmount the largest amount, inclusive
+ * @param budgetItemId the id of the budget item the expenses are linked to
+ * @param savingsId the id of the savings goal the expenses are linked to
+ */
+@Builder
+public record ExpenseFilter(
+    @NonNull Long userId,
+    LocalDate startDate,
+    LocalDate endDate,
+    ExpenseType type,
+    Long categoryId,
+    BigDecimal minAmount,
+    BigDecimal maxAmount,
+    Long budgetItemId,
+    Long savingsId) {}
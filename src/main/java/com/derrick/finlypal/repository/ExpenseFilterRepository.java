@@ -0,0 +1,67 @@
+package com.derrick.finlypal.repository;
+
+import com.derrick.finlypal.dto.ExpenseResponseDTO;
+import com.derrick.finlypal.dto.InsightsTopExpensesDTO;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Expense queries whose predicates depend on the filters supplied. Each query is generated with
+ * only the predicates of the filters that are set, see {@link ExpenseFilter}.
+ */
+public interface ExpenseFilterRepository {
+
+  /**
+   * Reads a page of the matching expenses, newest first, straight into their responses. The count
+   * query is skipped when the page shows there can be no more expenses.
+   */
+  Page<ExpenseResponseDTO> findAllByFilter(ExpenseFilter filter, Pageable pageable);
+
+  /**
+   * Reads every matching expense, newest first, straight into their responses. Meant for filters
+   * that bound the expenses on their own, such as those of a budget item or a savings goal.
+   */
+  List<ExpenseResponseDTO> findAllByFilter(ExpenseFilter filter);
+
+  /**
+   * Returns the matching expenses that come after the given position in the newest-first order. The
+   * position is compared as a row value, so the scan starts right at the cursor in the {@code
+   * (user_id, date DESC, id DESC)} index instead of skipping over earlier pages.
+   */
+  List<ExpenseResponseDTO> findAllByFilterAfter(
+      ExpenseFilter filter, LocalDate cursorDate, long cursorId, int limit);
+
+  /**
+   * Streams the matching expenses, newest first, from a forward-only cursor that fetches the given
+   * number of rows at a time. Postgres only holds the cursor open inside a transaction, so the
+   * stream must be consumed, and closed, within one.
+   */
+  Stream<ExpenseResponseDTO> streamByFilter(ExpenseFilter filter, int fetchSize);
+
+  /**
+   * Counts the matching expenses, but stops counting at the given cap, so the cost is bounded no
+   * matter how many expenses the user has.
+   */
+  long countByFilterUpTo(ExpenseFilter filter, int cap);
+
+  /** Sums the amounts of the matching expenses, zero if there are none. */
+  BigDecimal sumAmountByFilter(ExpenseFilter filter);
+
+  /**
+   * Reads a slice of the matching expenses, largest amount first. One row more than the slice is
+   * read to tell whether another follows, so the matching expenses are never counted.
+   */
+  Slice<InsightsTopExpensesDTO> findTopExpenses(ExpenseFilter filter, Pageable pageable);
+
+  /**
+   * Returns the matching expenses that come after the given position in the largest-first order.
+   * The position is compared as a row value, so the expenses before it are not read again.
+   */
+  List<InsightsTopExpensesDTO> findTopExpensesAfter(
+      ExpenseFilter filter, BigDecimal cursorAmount, long cursorId, int limit);
+}
@@ -0,0 +1,169 @@
+package com.derrick.finlypal.repository;
+
+import com.derrick.finlypal.dto.ExpenseResponseDTO;
+import com.derrick.finlypal.dto.InsightsTopExpensesDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
+
+public class ExpenseFilterRepositoryImpl implements ExpenseFilterRepository {
+
+  private static final String SELECT_RESPONSE =
+      "SELECT new com.derrick.finlypal.dto.ExpenseResponseDTO("
+          + "e.id, e.description, e.amount, e.date, e.type, c.id, c.displayName, "
+          + "e.savings.id, e.budgetItem.id) "
+          + "FROM Expense e LEFT JOIN e.category c ";
+
+  /** Reads only the columns the covering index of the top expenses holds. */
+  private static final String SELECT_TOP_EXPENSE =
+      "SELECT new com.derrick.finlypal.dto.InsightsTopExpensesDTO("
+          + "e.id, e.description, e.amount, e.date) "
+          + "FROM Expense e ";
+
+  @PersistenceContext private EntityManager entityManager;
+
+  @Override
+  public Page<ExpenseResponseDTO> findAllByFilter(ExpenseFilter filter, Pageable pageable) {
+    ExpenseQueryBuilder where = ExpenseQueryBuilder.where(filter);
+    TypedQuery<ExpenseResponseDTO> query =
+        where.bind(
+            entityManager.createQuery(
+                SELECT_RESPONSE + where.clause() + " ORDER BY e.date DESC, e.id DESC",
+                ExpenseResponseDTO.class));
+    return page(query, pageable, where);
+  }
+
+  @Override
+  public List<ExpenseResponseDTO> findAllByFilter(ExpenseFilter filter) {
+    ExpenseQueryBuilder where = ExpenseQueryBuilder.where(filter);
+    return where
+        .bind(
+            entityManager.createQuery(
+                SELECT_RESPONSE + where.clause() + " ORDER BY e.date DESC, e.id DESC",
+                ExpenseResponseDTO.class))
+        .getResultList();
+  }
+
+  @Override
+  public List<ExpenseResponseDTO> findAllByFilterAfter(
+      ExpenseFilter filter, LocalDate cursorDate, long cursorId, int limit) {
+    ExpenseQueryBuilder where = ExpenseQueryBuilder.where(filter);
+    return where
+        .bind(
+            entityManager.createQuery(
+                SELECT_RESPONSE
+                    + where.clause()
+                    + " AND (e.date, e.id) < (:cursorDate, :cursorId)"
+                    + " ORDER BY e.date DESC, e.id DESC",
+                ExpenseResponseDTO.class))
+        .setParameter("cursorDate", cursorDate)
+        .setParameter("cursorId", cursorId)
+        .setMaxResults(limit)
+        .getResultList();
+  }
+
+  @Override
+  public Stream<ExpenseResponseDTO> streamByFilter(ExpenseFilter filter, int fetchSize) {
+    ExpenseQueryBuilder where = ExpenseQueryBuilder.where(filter);
+    return where
+        .bind(
+            entityManager.createQuery(
+                SELECT_RESPONSE + where.clause() + " ORDER BY e.date DESC, e.id DESC",
+                ExpenseResponseDTO.class))
+        .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+        .setHint(HibernateHints.HINT_READ_ONLY, true)
+        .getResultStream();
+  }
+
+  @Override
+  public long countByFilterUpTo(ExpenseFilter filter, int cap) {
+    ExpenseQueryBuilder where = ExpenseQueryBuilder.where(filter);
+    return where
+        .bind(
+            entityManager.createQuery(
+                "SELECT COUNT(*) FROM (SELECT e.id AS id FROM Expense e "
+                    + where.clause()
+                    + " ORDER BY e.date DESC, e.id DESC LIMIT :cap) capped",
+                Long.class))
+        .setParameter("cap", cap)
+        .getSingleResult();
+  }
+
+  @Override
+  public BigDecimal sumAmountByFilter(ExpenseFilter filter) {
+    ExpenseQueryBuilder where = ExpenseQueryBuilder.where(filter);
+    return where
+        .bind(
+            entityManager.createQuery(
+                "SELECT COALESCE(SUM(e.amount), 0) FROM Expense e " + where.clause(),
+                BigDecimal.class))
+        .getSingleResult();
+  }
+
+  @Override
+  public Slice<InsightsTopExpensesDTO> findTopExpenses(ExpenseFilter filter, Pageable pageable) {
+    ExpenseQueryBuilder where = ExpenseQueryBuilder.where(filter);
+    List<InsightsTopExpensesDTO> content =
+        where
+            .bind(
+                entityManager.createQuery(
+                    SELECT_TOP_EXPENSE + where.clause() + " ORDER BY e.amount DESC, e.id DESC",
+                    InsightsTopExpensesDTO.class))
+            .setFirstResult((int) pageable.getOffset())
+            // Fetch one extra row to learn whether another slice follows
+            .setMaxResults(pageable.getPageSize() + 1)
+            .getResultList();
+    boolean hasNext = content.size() > pageable.getPageSize();
+    return new SliceImpl<>(
+        hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+  }
+
+  @Override
+  public List<InsightsTopExpensesDTO> findTopExpensesAfter(
+      ExpenseFilter filter, BigDecimal cursorAmount, long cursorId, int limit) {
+    ExpenseQueryBuilder where = ExpenseQueryBuilder.where(filter);
+    return where
+        .bind(
+            entityManager.createQuery(
+                SELECT_TOP_EXPENSE
+                    + where.clause()
+                    + " AND (e.amount, e.id) < (:cursorAmount, :cursorId)"
+                    + " ORDER BY e.amount DESC, e.id DESC",
+                InsightsTopExpensesDTO.class))
+        .setParameter("cursorAmount", cursorAmount)
+        .setParameter("cursorId", cursorId)
+        .setMaxResults(limit)
+        .getResultList();
+  }
+
+  /**
+   * Reads one page of a query, and counts the expenses matching the same clause only when the size
+   * of the page does not already tell the total.
+   */
+  private <T> Page<T> page(TypedQuery<T> query, Pageable pageable, ExpenseQueryBuilder where) {
+    List<T> content =
+        query
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultList();
+    return PageableExecutionUtils.getPage(
+        content,
+        pageable,
+        () ->
+            where
+                .bind(
+                    entityManager.createQuery(
+                        "SELECT COUNT(e) FROM Expense e " + where.clause(), Long.class))
+                .getSingleResult());
+  }
+}
@@ -0,0 +1,75 @@
+package com.derrick.finlypal.repository;
+
+import jakarta.persistence.Query;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds the {@code WHERE} clause of an expense query from an {@link ExpenseFilter}. A predicate is
+ * only emitted for a filter that is actually set, so every query reaching the database is as
+ * specific as the request and each of its parameters is bound to a real value.
+ */
+final class ExpenseQueryBuilder {
+
+  private final StringBuilder clause = new StringBuilder("WHERE e.user.id = :userId");
+  private final Map<String, Object> parameters = new LinkedHashMap<>();
+
+  private ExpenseQueryBuilder(Long userId) {
+    parameters.put("userId", userId);
+  }
+
+  /**
+   * Starts a clause with the predicates of every filter that is set.
+   *
+   * @param filter the filters to apply
+   * @return the builder, to which further predicates can be added
+   */
+  static ExpenseQueryBuilder where(ExpenseFilter filter) {
+    return new ExpenseQueryBuilder(filter.userId())
+        .and("e.date >= :startDate", "startDate", filter.startDate())
+        .and("e.date <= :endDate", "endDate", filter.endDate())
+        .and("e.type = :type", "type", filter.type())
+        .and("e.category.id = :categoryId", "categoryId", filter.categoryId())
+        .and("e.amount >= :minAmount", "minAmount", filter.minAmount())
+        .and("e.amount <= :maxAmount", "maxAmount", filter.maxAmount())
+        .and("e.budgetItem.id = :budgetItemId", "budgetItemId", filter.budgetItemId())
+        .and("e.savings.id = :savingsId", "savingsId", filter.savingsId());
+  }
+
+  /**
+   * Adds a predicate with a single parameter, unless the value is {@code null}.
+   *
+   * @param predicate the JPQL predicate, referring to the expense as {@code e}
+   * @param name the name of the parameter used in the predicate
+   * @param value the value of the parameter
+   * @return this builder
+   */
+  ExpenseQueryBuilder and(String predicate, String name, Object value) {
+    if (value != null) {
+      clause.append(" AND ").append(predicate);
+      parameters.put(name, value);
+    }
+    return this;
+  }
+
+  /**
+   * Returns the clause built so far, starting with {@code WHERE}.
+   *
+   * @return the JPQL clause
+   */
+  String clause() {
+    return clause.toString();
+  }
+
+  /**
+   * Binds the parameters of the emitted predicates to a query created from this clause.
+   *
+   * @param query the query to bind
+   * @return the same query
+   * @param <Q> the type of the query
+   */
+  <Q extends Query> Q bind(Q query) {
+    parameters.forEach(query::setParameter);
+    return query;
+  }
+}
@@ -1,142 +1,52 @@
 package com.derrick.finlypal.repository;
 
-import com.derrick.finlypal.dto.InsightsMonthlyComparisonDTO;
-import com.derrick.finlypal.dto.InsightsSpendByCategoryDTO;
-import com.derrick.finlypal.dto.InsightsSpendTrendsDTO;
-import com.derrick.finlypal.dto.InsightsTopExpensesDTO;
-import com.derrick.finlypal.dto.InsightsTotalSpendDTO;
+import com.derrick.finlypal.dto.ExpenseResponseDTO;
 import com.derrick.finlypal.entity.Expense;
-import com.derrick.finlypal.enums.ExpenseType;
-import java.math.BigDecimal;
-import java.time.LocalDate;
+import jakarta.transaction.Transactional;
 import java.util.List;
 import java.util.Optional;
-import lombok.NonNull;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+public interface ExpenseRepository
+    extends JpaRepository<Expense, Long>,
+        ExpenseFilterRepository,
+        ExpenseBatchRepository,
+        SpendCounterRepository {
   Optional<Expense> findById(Long id);
 
-  List<Expense> findAllByUserId(Long userId);
-
-  List<Expense> findAllByUserIdAndBudgetItemId(Long userId, Long budgetItemId);
-
-  List<Expense> findAllByUserIdAndSavingsId(Long userId, Long savingsId);
-
-  @Query("SELECT COALESCE(SUM(e.amount), 0) FROM Expense e WHERE e.budgetItem.id = :budgetItemId")
-  BigDecimal getTotalExpenseByBudgetItem(@Param("budgetItemId") Long budgetItemId);
-
-  @Query("SELECT COALESCE(SUM(e.amount), 0) FROM Expense e WHERE e.savings.id = :savingsId")
-  BigDecimal getTotalExpenseBySavingsId(@Param("savingsId") Long savingsId);
-
-  @Query(
-      "SELECT e FROM Expense e WHERE e.user.id = :userId "
-          + "AND e.date BETWEEN :startDate AND :endDate "
-          + // Always required
-          "AND (:expenseType IS NULL OR e.type = :expenseType) "
-          + "AND (:categoryId IS NULL OR e.category.id = :categoryId)")
-  Page<Expense> findAllByFilters(
-      @Param("userId") Long userId,
-      @Param("startDate") LocalDate startDate,
-      @Param("endDate") LocalDate endDate,
-      @Param("expenseType") ExpenseType expenseType,
-      @Param("categoryId") Long categoryId,
-      Pageable pageable);
-
-  @Query(
-      "SELECT COALESCE(SUM(e.amount), 0) FROM Expense e "
-          + "WHERE e.user.id = :userId "
-          + "AND e.date BETWEEN :startDate AND :endDate "
-          + "AND (:type IS NULL OR e.type = :type)")
-  InsightsTotalSpendDTO findTotalExpenses(
-      @Param("userId") Long userId,
-      @Param("startDate") LocalDate startDate,
-      @Param("endDate") LocalDate endDate,
-      @Param("type") ExpenseType type);
-
-  @Query(
-      "SELECT COALESCE(SUM(e.amount), 0) FROM Expense e "
-          + "WHERE e.user.id = :userId "
-          + "AND e.date BETWEEN :startDate AND :endDate "
-          + "AND e.type = :type")
-  BigDecimal findTotalAmount(
-      @Param("userId") Long userId,
-      @Param("startDate") @NonNull LocalDate startDate,
-      @Param("endDate") @NonNull LocalDate endDate,
-      @Param("type") @NonNull ExpenseType type);
-
-  @Query(
-      "SELECT new com.derrick.finlypal.dto.InsightsSpendByCategoryDTO("
-          + "c.displayName, "
-          + "SUM(e.amount), "
-          + "0) "
-          + // Set a placeholder (e.g., 0) for percentage
-          "FROM Expense e "
-          + "JOIN e.category c "
-          + "WHERE e.user.id = :userId "
-          + "AND e.date BETWEEN :startDate AND :endDate "
-          + "AND (:type IS NULL OR e.type = :type) "
-          + "GROUP BY c.displayName")
-  List<InsightsSpendByCategoryDTO> findTotalAmountByCategory(
-      @Param("userId") Long userId,
-      @Param("startDate") LocalDate startDate,
-      @Param("endDate") LocalDate endDate,
-      @Param("type") ExpenseType type);
-
+  /**
+   * Loads an expense only if it belongs to the given user, so fetching and authorizing it is a
+   * single query on the primary key. The category is joined in, since every response shows it.
+   */
+  @EntityGraph(attributePaths = "category")
+  @Query("SELECT e FROM Expense e WHERE e.id = :id AND e.user.id = :userId")
+  Optional<Expense> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+  /**
+   * Reads an expense of the given user straight into its response. Only the category is joined; the
+   * savings and budget item ids come from the foreign keys, so no entity is materialized.
+   */
   @Query(
-      value =
-          "SELECT new com.derrick.finlypal.dto.InsightsTopExpensesDTO(e.description, e.amount, e.date) "
-              + "FROM Expense e "
-              + "WHERE e.user.id = :userId "
-              + "AND e.date BETWEEN :startDate AND :endDate "
-              + "AND (:type IS NULL OR e.type = :type) "
-              + "ORDER BY e.amount DESC",
-      countQuery =
-          "SELECT COUNT(e) "
-              + "FROM Expense e "
-              + "WHERE e.user.id = :userId "
-              + "AND e.date BETWEEN :startDate AND :endDate "
-              + "AND (:type IS NULL OR e.type = :type)")
-  Page<InsightsTopExpensesDTO> findTopExpenses(
-      @Param("userId") Long userId,
-      @Param("startDate") LocalDate startDate,
-      @Param("endDate") LocalDate endDate,
-      @Param("type") ExpenseType type,
-      Pageable pageable);
+      "SELECT new com.derrick.finlypal.dto.ExpenseResponseDTO("
+          + "e.id, e.description, e.amount, e.date, e.type, c.id, c.displayName, "
+          + "e.savings.id, e.budgetItem.id) "
+          + "FROM Expense e LEFT JOIN e.category c "
+          + "WHERE e.id = :id AND e.user.id = :userId")
+  Optional<ExpenseResponseDTO> findResponseByIdAndUserId(
+      @Param("id") Long id, @Param("userId") Long userId);
+
+  @Query("SELECT COUNT(e) > 0 FROM Expense e WHERE e.id = :id AND e.user.id = :userId")
+  boolean existsByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+  /** Deletes an expense only if it belongs to the given user, without loading it first. */
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM Expense e WHERE e.id = :id AND e.user.id = :userId")
+  int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 
-  @Query(
-      "SELECT new com.derrick.finlypal.dto.InsightsMonthlyComparisonDTO( "
-          + "TO_CHAR(e.date, 'YYYY-MM'), "
-          + // Replaces DATE_FORMAT
-          "COALESCE(SUM(e.amount), 0E0), "
-          + "e.type) "
-          + "FROM Expense e "
-          + "WHERE e.user.id = :userId "
-          + "AND e.date BETWEEN :startDate AND :endDate "
-          + "AND (:type IS NULL OR e.type = :type) "
-          + "GROUP BY TO_CHAR(e.date, 'YYYY-MM'), e.type "
-          + "ORDER BY TO_CHAR(e.date, 'YYYY-MM'), e.type")
-  List<InsightsMonthlyComparisonDTO> findMonthlyExpenseComparison(
-      @Param("userId") Long userId,
-      @Param("startDate") LocalDate startDate,
-      @Param("endDate") LocalDate endDate,
-      @Param("type") ExpenseType type);
-
-  @Query(
-      "SELECT new com.derrick.finlypal.dto.InsightsSpendTrendsDTO(e.date, SUM(e.amount)) "
-          + "FROM Expense e "
-          + "WHERE e.user.id = :userId "
-          + "AND e.date BETWEEN :startDate AND :endDate "
-          + "AND (:type IS NULL OR e.type = :type) "
-          + "GROUP BY e.date "
-          + "ORDER BY e.date")
-  List<InsightsSpendTrendsDTO> findSpendTrends(
-      @Param("userId") Long userId,
-      @Param("startDate") LocalDate startDate,
-      @Param("endDate") LocalDate endDate,
-      @Param("type") ExpenseType type);
+  List<Expense> findAllByUserId(Long userId);
 }
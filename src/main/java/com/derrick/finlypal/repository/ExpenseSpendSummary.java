@@ -0,0 +1,29 @@
+package com.derrick.finlypal.repository;
+
+import com.derrick.finlypal.dto.InsightsMonthlyComparisonDTO;
+import com.derrick.finlypal.dto.InsightsSpendByCategoryDTO;
+import com.derrick.finlypal.dto.InsightsSpendTrendsDTO;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * The spend of a user in a date range, summed every way the insights show it, as read by a single
+ * query.
+ *
+ * @param total the total spend, zero if there is none
+ * @param byCategory the spend per category with its percentage of the total, leaving out the
+ *     expenses without a category
+ * @param byDay the spend per day with its running total, in date order
+ * @param byMonth the spend per month with its running total, in month order
+ */
+public record ExpenseSpendSummary(
+    BigDecimal total,
+    List<InsightsSpendByCategoryDTO> byCategory,
+    List<InsightsSpendTrendsDTO> byDay,
+    List<InsightsMonthlyComparisonDTO> byMonth) {
+
+  /** The number of rows the summary was read from. */
+  public int size() {
+    return 1 + byCategory.size() + byDay.size() + byMonth.size();
+  }
+}
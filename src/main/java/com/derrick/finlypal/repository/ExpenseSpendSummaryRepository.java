@@ -0,0 +1,22 @@
+package com.derrick.finlypal.repository;
+
+import com.derrick.finlypal.enums.ExpenseType;
+import java.time.LocalDate;
+
+/** Reads the spend summaries of the insights off the daily expense totals. */
+public interface ExpenseSpendSummaryRepository {
+
+  /**
+   * Sums the user's expenses of the given type in the date range as a total, per category, per day
+   * and per month, reading the range once. Rows whose expenses have all been removed are left out
+   * of the grouped results.
+   *
+   * @param userId the owner of the expenses
+   * @param type the type of the expenses
+   * @param startDate the start date of the range, inclusive
+   * @param endDate the end date of the range, inclusive
+   * @return the summary of the range
+   */
+  ExpenseSpendSummary summarize(
+      Long userId, ExpenseType type, LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,97 @@
+package com.derrick.finlypal.repository;
+
+import com.derrick.finlypal.dto.InsightsMonthlyComparisonDTO;
+import com.derrick.finlypal.dto.InsightsSpendByCategoryDTO;
+import com.derrick.finlypal.dto.InsightsSpendTrendsDTO;
+import com.derrick.finlypal.enums.ExpenseType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Summarizes a date range with one native statement. The rows of the range are read once, off the
+ * primary key, and every row is fanned out to the four groupings of the summary, as a whole, per
+ * category, per day and per month, keeping only the key of its grouping. One aggregation over the
+ * fanned out rows then yields every grouping, which is what {@code GROUPING SETS} does, written in
+ * a form the test database runs too. The percentages and the running totals are window functions
+ * over each grouping, so nothing is left to compute in Java.
+ */
+public class ExpenseSpendSummaryRepositoryImpl implements ExpenseSpendSummaryRepository {
+
+  private static final String SUMMARY =
+      "SELECT g.grouping_set, c.display_name, g.day, g.year_month, g.total,"
+          + " ROUND(100 * g.total / NULLIF(SUM(g.total) OVER (PARTITION BY g.grouping_set), 0)),"
+          + " SUM(g.total) OVER (PARTITION BY g.grouping_set"
+          + " ORDER BY g.day, g.year_month ROWS UNBOUNDED PRECEDING)"
+          + " FROM (SELECT f.grouping_set, f.category_id, f.day, f.year_month,"
+          + " SUM(f.total) AS total"
+          + " FROM (SELECT s.grouping_set,"
+          + " CASE WHEN s.grouping_set = 'CATEGORY' THEN r.category_id END AS category_id,"
+          + " CASE WHEN s.grouping_set = 'DAY' THEN r.day END AS day,"
+          + " CASE WHEN s.grouping_set = 'MONTH' THEN TO_CHAR(r.day, 'YYYY-MM') END AS year_month,"
+          + " r.total, r.count"
+          + " FROM expense_daily_rollup r"
+          + " CROSS JOIN (VALUES ('TOTAL'), ('CATEGORY'), ('DAY'), ('MONTH')) AS s (grouping_set)"
+          + " WHERE r.user_id = :userId AND r.type = :type"
+          + " AND r.day >= :startDate AND r.day <= :endDate) f"
+          + " GROUP BY f.grouping_set, f.category_id, f.day, f.year_month"
+          + " HAVING SUM(f.count) > 0) g"
+          + " LEFT JOIN categories c ON c.id = g.category_id"
+          + " ORDER BY g.grouping_set, g.day, g.year_month, c.display_name";
+
+  @PersistenceContext private EntityManager entityManager;
+
+  @Override
+  public ExpenseSpendSummary summarize(
+      Long userId, ExpenseType type, LocalDate startDate, LocalDate endDate) {
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows =
+        entityManager
+            .createNativeQuery(SUMMARY)
+            .setParameter("userId", userId)
+            .setParameter("type", type.name())
+            .setParameter("startDate", startDate)
+            .setParameter("endDate", endDate)
+            .getResultList();
+
+    BigDecimal total = BigDecimal.ZERO;
+    List<InsightsSpendByCategoryDTO> byCategory = new ArrayList<>();
+    List<InsightsSpendTrendsDTO> byDay = new ArrayList<>();
+    List<InsightsMonthlyComparisonDTO> byMonth = new ArrayList<>();
+    for (Object[] row : rows) {
+      BigDecimal amount = (BigDecimal) row[4];
+      BigDecimal runningTotal = (BigDecimal) row[6];
+      switch ((String) row[0]) {
+        case "TOTAL" -> total = amount;
+        case "CATEGORY" -> {
+          // The expenses without a category count towards the percentages, but are not listed
+          if (row[1] != null) {
+            byCategory.add(
+                new InsightsSpendByCategoryDTO(
+                    (String) row[1], amount, row[5] != null ? ((Number) row[5]).intValue() : 0));
+          }
+        }
+        case "DAY" ->
+            byDay.add(new InsightsSpendTrendsDTO(toLocalDate(row[2]), amount, runningTotal));
+        case "MONTH" ->
+            byMonth.add(
+                InsightsMonthlyComparisonDTO.builder()
+                    .month((String) row[3])
+                    .totalSpend(amount)
+                    .type(type)
+                    .runningTotal(runningTotal)
+                    .build());
+        default -> throw new IllegalStateException("Unknown grouping set " + row[0]);
+      }
+    }
+    return new ExpenseSpendSummary(total, byCategory, byDay, byMonth);
+  }
+
+  private static LocalDate toLocalDate(Object value) {
+    return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+  }
+}
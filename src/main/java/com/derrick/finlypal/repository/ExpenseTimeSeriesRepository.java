@@ -0,0 +1,28 @@
+package com.derrick.finlypal.repository;
+
+import com.derrick.finlypal.dto.InsightsTimeSeriesDTO;
+import com.derrick.finlypal.enums.ExpenseType;
+import com.derrick.finlypal.enums.InsightsTimeSeriesGranularity;
+import java.time.LocalDate;
+
+/** Reads the time series of the insights off the daily expense totals. */
+public interface ExpenseTimeSeriesRepository {
+
+  /**
+   * Sums the user's expenses of the given type in the date range per bucket of the granularity,
+   * listing every bucket the range touches, with a total of zero if it has no expenses.
+   *
+   * @param userId the owner of the expenses
+   * @param type the type of the expenses
+   * @param granularity the width of the buckets
+   * @param startDate the start date of the range, inclusive
+   * @param endDate the end date of the range, inclusive
+   * @return the buckets of the range and their totals
+   */
+  InsightsTimeSeriesDTO sumTotalByBucket(
+      Long userId,
+      ExpenseType type,
+      InsightsTimeSeriesGranularity granularity,
+      LocalDate startDate,
+      LocalDate endDate);
+}
@@ -0,0 +1,98 @@
+package com.derrick.finlypal.repository;
+
+import com.derrick.finlypal.dto.InsightsTimeSeriesDTO;
+import com.derrick.finlypal.enums.ExpenseType;
+import com.derrick.finlypal.enums.InsightsTimeSeriesGranularity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Buckets the daily totals with one native statement. The rows of the range are read off the
+ * primary key and summed per {@code date_trunc} of their day, which is compared as a date rather
+ * than formatted to text. The buckets themselves come from {@code generate_series}, stepping from
+ * the bucket of the start date, and the sums are joined onto them, so a bucket without expenses is
+ * still listed, with a total of zero.
+ */
+public class ExpenseTimeSeriesRepositoryImpl implements ExpenseTimeSeriesRepository {
+
+  @PersistenceContext private EntityManager entityManager;
+
+  @Override
+  public InsightsTimeSeriesDTO sumTotalByBucket(
+      Long userId,
+      ExpenseType type,
+      InsightsTimeSeriesGranularity granularity,
+      LocalDate startDate,
+      LocalDate endDate) {
+    String unit = unit(granularity);
+    String bucketOfDay = "DATE_TRUNC('" + unit + "', CAST(r.day AS TIMESTAMP))";
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows =
+        entityManager
+            .createNativeQuery(
+                "SELECT CAST(b.bucket AS DATE), COALESCE(t.total, 0) FROM ("
+                    + " SELECT DATE_TRUNC('"
+                    + unit
+                    + "', CAST(:startDate AS TIMESTAMP)) + g.n * "
+                    + step(granularity)
+                    + " AS bucket"
+                    + " FROM generate_series(0, CAST(:buckets AS INTEGER) - 1) AS g (n)) b"
+                    + " LEFT JOIN (SELECT "
+                    + bucketOfDay
+                    + " AS bucket, SUM(r.total) AS total FROM expense_daily_rollup r"
+                    + " WHERE r.user_id = :userId AND r.type = :type"
+                    + " AND r.day >= :startDate AND r.day <= :endDate"
+                    + " GROUP BY "
+                    + bucketOfDay
+                    + ") t ON t.bucket = b.bucket"
+                    + " WHERE b.bucket <= :endDate ORDER BY b.bucket")
+            .setParameter("userId", userId)
+            .setParameter("type", type.name())
+            .setParameter("startDate", startDate)
+            .setParameter("endDate", endDate)
+            .setParameter("buckets", granularity.maxBucketsBetween(startDate, endDate))
+            .getResultList();
+
+    List<LocalDate> bucketStarts = new ArrayList<>(rows.size());
+    List<BigDecimal> totals = new ArrayList<>(rows.size());
+    for (Object[] row : rows) {
+      bucketStarts.add(row[0] instanceof Date date ? date.toLocalDate() : (LocalDate) row[0]);
+      totals.add((BigDecimal) row[1]);
+    }
+    return InsightsTimeSeriesDTO.builder()
+        .startDate(startDate)
+        .endDate(endDate)
+        .type(type)
+        .granularity(granularity)
+        .bucketStarts(bucketStarts)
+        .totals(totals)
+        .build();
+  }
+
+  /** The field {@code date_trunc} truncates to, written as a literal as it names a field. */
+  private static String unit(InsightsTimeSeriesGranularity granularity) {
+    return switch (granularity) {
+      case DAY -> "day";
+      case WEEK -> "week";
+      case MONTH -> "month";
+      case QUARTER -> "quarter";
+      case YEAR -> "year";
+    };
+  }
+
+  /** The width of a bucket, as an interval literal both Postgres and the test database read. */
+  private static String step(InsightsTimeSeriesGranularity granularity) {
+    return switch (granularity) {
+      case DAY -> "INTERVAL '1' DAY";
+      case WEEK -> "INTERVAL '7' DAY";
+      case MONTH -> "INTERVAL '1' MONTH";
+      case QUARTER -> "INTERVAL '3' MONTH";
+      case YEAR -> "INTERVAL '1' YEAR";
+    };
+  }
+}
@@ -0,0 +1,18 @@
+package com.derrick.finlypal.repository;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * The spend counters of a chunk of rows once they have been reconciled with their expenses.
+ *
+ * @param drifted the number of counters that differed from their expenses and were corrected
+ * @param amounts the reconciled counter of every row, keyed by its id
+ */
+public record ReconciledCounters(int drifted, Map<Long, BigDecimal> amounts) {
+
+  /** The reconciled counter of a row, zero if the row was not reconciled. */
+  public BigDecimal amountOf(Long id) {
+    return amounts.getOrDefault(id, BigDecimal.ZERO);
+  }
+}
@@ -0,0 +1,28 @@
+package com.derrick.finlypal.repository;
+
+import com.derrick.finlypal.entity.RefreshToken;
+import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+  /**
+   * Marks an unexpired refresh token as used. Only the first caller wins, so a return value of 0
+   * means the token is unknown, expired or has already been rotated.
+   */
+  @Transactional
+  @Modifying
+  @Query(
+      "UPDATE RefreshToken r SET r.usedAt = :now "
+          + "WHERE r.id = :id AND r.usedAt IS NULL AND r.expiresAt > :now")
+  int markUsed(@Param("id") String id, @Param("now") LocalDateTime now);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM RefreshToken r WHERE r.expiresAt < :now")
+  int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -4,8 +4,12 @@ import com.derrick.finlypal.entity.ResetToken;
 import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ResetTokenRepository extends JpaRepository<ResetToken, Long> {
   ResetToken findByToken(String token);
@@ -17,5 +21,12 @@ public interface ResetTokenRepository extends JpaRepository<ResetToken, Long> {
   Optional<ResetToken> findByTokenAndEmail(String token, String email);
 
   @Transactional
-  void deleteByEmail(String email);
+  @Modifying
+  @Query("DELETE FROM ResetToken r WHERE r.email = :email")
+  int deleteByEmail(@Param("email") String email);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM ResetToken r WHERE r.expiryDate < :now")
+  int deleteExpired(@Param("now") LocalDateTime now);
 }
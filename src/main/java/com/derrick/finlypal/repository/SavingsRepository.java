@@ -1,6 +1,8 @@
 package com.derrick.finlypal.repository;
 
 import com.derrick.finlypal.entity.Savings;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,10 +12,35 @@ import org.springframework.data.repository.query.Param;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 public interface SavingsRepository extends JpaRepository<Savings, Long> {
     Page<Savings> findAllByUserId(Long id, Pageable pageable);
 
+    /**
+     * Loads a savings goal only if it belongs to the given user, so fetching and authorizing it is
+     * a single query on the primary key.
+     */
+    @Query("SELECT s FROM Savings s WHERE s.id = :id AND s.user.id = :userId")
+    Optional<Savings> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("SELECT COUNT(s) > 0 FROM Savings s WHERE s.id = :id AND s.user.id = :userId")
+    boolean existsByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("SELECT s.id FROM Savings s WHERE s.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    /** Returns the savings goals that come after the given id, in id order. */
+    @Query("SELECT s FROM Savings s WHERE s.id > :afterId ORDER BY s.id")
+    List<Savings> findAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Deletes a savings goal only if it belongs to the given user. The goal is loaded and removed
+     * through the persistence context, so its expenses are cascaded.
+     */
+    @Transactional
+    long deleteByIdAndUserId(Long id, Long userId);
+
     @Query("SELECT COALESCE(SUM(s.targetAmount), 0) " +
             "FROM Savings s " +
             "WHERE s.startDate >= :startDate AND s.endDate <= :endDate " +
@@ -31,12 +58,18 @@ public interface SavingsRepository extends JpaRepository<Savings, Long> {
                                            @Param("endDate") LocalDate endDate,
                                            @Param("userId") Long userId);
 
-    @Query("SELECT FUNCTION('TO_CHAR', s.startDate, 'Month') AS monthName, SUM(s.savedAmount) " +
+    /**
+     * Sums the amount saved towards the user's savings goals of the date range per month the goals
+     * start in, grouped on the start of the month so that the same month of two years is not merged.
+     *
+     * @return the start of every month savings goals start in and their saved amount, in order
+     */
+    @Query("SELECT CAST(TRUNC(CAST(s.startDate AS LocalDateTime), MONTH) AS LocalDate) AS monthStart, SUM(s.savedAmount) " +
             "FROM Savings s " +
             "WHERE s.startDate >= :startDate AND s.endDate <= :endDate " +
             "AND s.user.id = :userId " +
-            "GROUP BY FUNCTION('TO_CHAR', s.startDate, 'Month') " +
-            "ORDER BY MIN(s.startDate)")
+            "GROUP BY CAST(TRUNC(CAST(s.startDate AS LocalDateTime), MONTH) AS LocalDate) " +
+            "ORDER BY monthStart")
     List<Object[]> getSavedAmountPerMonth(@Param("startDate") LocalDate startDate,
                                           @Param("endDate") LocalDate endDate,
                                           @Param("userId") Long userId);
@@ -0,0 +1,104 @@
+package com.derrick.finlypal.repository;
+
+import com.derrick.finlypal.enums.ExpenseType;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Keeps the spent amounts of budget items and budgets, and the saved amounts of savings goals, in
+ * step with their expenses. Every method except the reconcile ones must run in the transaction that
+ * writes the expenses, so the amounts commit or roll back together with them. The amounts are only
+ * ever adjusted by a delta, so concurrent writers never overwrite each other.
+ */
+public interface SpendCounterRepository {
+
+  /**
+   * Adds an amount to the counters an expense is linked to: its budget item, the budget of the item
+   * if the expense is of type EXPENSE, and its savings goal. Removing an expense adds its negated
+   * amount.
+   *
+   * @param budgetItemId the budget item of the expense, or {@code null}
+   * @param savingsId the savings goal of the expense, or {@code null}
+   * @param type the type of the expense
+   * @param amount the amount to add
+   */
+  void addToSpend(Long budgetItemId, Long savingsId, ExpenseType type, BigDecimal amount);
+
+  /**
+   * Adds already inserted expenses to the counters they are linked to, in one statement per kind of
+   * counter whatever the number of expenses.
+   *
+   * @param expenseIds the ids of the expenses
+   */
+  void addExpensesToSpend(List<Long> expenseIds);
+
+  /**
+   * Subtracts the expenses of a budget item from every counter they are linked to, before the item
+   * is deleted along with its expenses.
+   *
+   * @param budgetItemId the id of the budget item
+   */
+  void removeExpensesOfBudgetItem(Long budgetItemId);
+
+  /**
+   * Subtracts the expenses of the items of a budget from every counter they are linked to, before
+   * the budget is deleted along with its items and their expenses.
+   *
+   * @param userId the id of the owner of the budget
+   * @param budgetId the id of the budget
+   */
+  void removeExpensesOfBudget(Long userId, Long budgetId);
+
+  /**
+   * Subtracts the expenses of a savings goal from every counter they are linked to, before the goal
+   * is deleted along with its expenses.
+   *
+   * @param userId the id of the owner of the savings goal
+   * @param savingsId the id of the savings goal
+   */
+  void removeExpensesOfSavings(Long userId, Long savingsId);
+
+  /**
+   * Subtracts the EXPENSE entries of a budget item from the spent amount of its budget, before the
+   * item is moved to another budget.
+   *
+   * @param budgetItemId the id of the budget item
+   */
+  void removeBudgetItemFromBudgetSpend(Long budgetItemId);
+
+  /**
+   * Adds the EXPENSE entries of a budget item to the spent amount of its budget, once the item has
+   * been moved to it.
+   *
+   * @param budgetItemId the id of the budget item
+   */
+  void addBudgetItemToBudgetSpend(Long budgetItemId);
+
+  /**
+   * Recomputes the spent amounts of budgets from their expenses. The rows are locked before their
+   * expenses are summed, so an expense written concurrently is either counted or applies its delta
+   * afterwards.
+   *
+   * @param budgetIds the ids of the budgets
+   * @return the reconciled amounts, and the number of budgets whose amount had drifted
+   */
+  ReconciledCounters reconcileBudgetSpend(List<Long> budgetIds);
+
+  /**
+   * Recomputes the spent amounts of budget items from their expenses, as {@link
+   * #reconcileBudgetSpend} does.
+   *
+   * @param budgetItemIds the ids of the budget items
+   * @return the reconciled amounts, and the number of budget items whose amount had drifted
+   */
+  ReconciledCounters reconcileBudgetItemSpend(List<Long> budgetItemIds);
+
+  /**
+   * Recomputes the saved amounts of savings goals from their expenses, as {@link
+   * #reconcileBudgetSpend} does.
+   *
+   * @param savingsIds the ids of the savings goals
+   * @return the reconciled amounts, and the number of savings goals whose amount had drifted
+   */
+  ReconciledCounters reconcileSavedAmounts(List<Long> savingsIds);
+}
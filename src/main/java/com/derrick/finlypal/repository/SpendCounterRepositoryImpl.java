@@ -0,0 +1,250 @@
+package com.derrick.finlypal.repository;
+
+import com.derrick.finlypal.enums.ExpenseType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Updates the counters with native statements that add to the stored value. */
+public class SpendCounterRepositoryImpl implements SpendCounterRepository {
+
+  /** The EXPENSE entries of the budget {@code b}. */
+  private static final String BUDGET_SPEND =
+      "SELECT COALESCE(SUM(e.amount), 0) FROM expenses e"
+          + " JOIN budget_items bi ON bi.id = e.budget_items_id"
+          + " WHERE bi.budget_id = b.id AND e.type = 'EXPENSE'";
+
+  /** The expenses of the budget item {@code bi}. */
+  private static final String BUDGET_ITEM_SPEND =
+      "SELECT COALESCE(SUM(e.amount), 0) FROM expenses e WHERE e.budget_items_id = bi.id";
+
+  /** The expenses of the savings goal {@code s}. */
+  private static final String SAVED_AMOUNT =
+      "SELECT COALESCE(SUM(e.amount), 0) FROM expenses e WHERE e.savings_id = s.id";
+
+  @PersistenceContext private EntityManager entityManager;
+
+  @Override
+  public void addToSpend(Long budgetItemId, Long savingsId, ExpenseType type, BigDecimal amount) {
+    if (amount.signum() == 0) {
+      return;
+    }
+    if (budgetItemId != null) {
+      entityManager
+          .createNativeQuery(
+              "UPDATE budget_items SET spent_amount = spent_amount + :amount WHERE id = :id")
+          .setParameter("amount", amount)
+          .setParameter("id", budgetItemId)
+          .executeUpdate();
+      if (type == ExpenseType.EXPENSE) {
+        entityManager
+            .createNativeQuery(
+                "UPDATE budgets SET spent_amount = spent_amount + :amount"
+                    + " WHERE id = (SELECT budget_id FROM budget_items WHERE id = :id)")
+            .setParameter("amount", amount)
+            .setParameter("id", budgetItemId)
+            .executeUpdate();
+      }
+    }
+    if (savingsId != null) {
+      entityManager
+          .createNativeQuery(
+              "UPDATE savings SET saved_amount = saved_amount + :amount WHERE id = :id")
+          .setParameter("amount", amount)
+          .setParameter("id", savingsId)
+          .executeUpdate();
+    }
+  }
+
+  @Override
+  public void addExpensesToSpend(List<Long> expenseIds) {
+    if (!expenseIds.isEmpty()) {
+      apply("e.id IN (:expenseIds)", Map.of("expenseIds", expenseIds), 1);
+    }
+  }
+
+  @Override
+  public void removeExpensesOfBudgetItem(Long budgetItemId) {
+    apply("e.budget_items_id = :budgetItemId", Map.of("budgetItemId", budgetItemId), -1);
+  }
+
+  @Override
+  public void removeExpensesOfBudget(Long userId, Long budgetId) {
+    apply(
+        "e.user_id = :userId AND e.budget_items_id IN"
+            + " (SELECT bi.id FROM budget_items bi WHERE bi.budget_id = :budgetId)",
+        Map.of("userId", userId, "budgetId", budgetId),
+        -1);
+  }
+
+  @Override
+  public void removeExpensesOfSavings(Long userId, Long savingsId) {
+    apply(
+        "e.user_id = :userId AND e.savings_id = :savingsId",
+        Map.of("userId", userId, "savingsId", savingsId),
+        -1);
+  }
+
+  @Override
+  public void removeBudgetItemFromBudgetSpend(Long budgetItemId) {
+    moveBudgetItemSpend(budgetItemId, -1);
+  }
+
+  @Override
+  public void addBudgetItemToBudgetSpend(Long budgetItemId) {
+    moveBudgetItemSpend(budgetItemId, 1);
+  }
+
+  @Override
+  public ReconciledCounters reconcileBudgetSpend(List<Long> budgetIds) {
+    return reconcile("budgets b", "b", "spent_amount", BUDGET_SPEND, budgetIds);
+  }
+
+  @Override
+  public ReconciledCounters reconcileBudgetItemSpend(List<Long> budgetItemIds) {
+    return reconcile("budget_items bi", "bi", "spent_amount", BUDGET_ITEM_SPEND, budgetItemIds);
+  }
+
+  @Override
+  public ReconciledCounters reconcileSavedAmounts(List<Long> savingsIds) {
+    return reconcile("savings s", "s", "saved_amount", SAVED_AMOUNT, savingsIds);
+  }
+
+  private void moveBudgetItemSpend(Long budgetItemId, int sign) {
+    entityManager
+        .createNativeQuery(
+            "UPDATE budgets SET spent_amount = spent_amount + :sign"
+                + " * (SELECT COALESCE(SUM(e.amount), 0) FROM expenses e"
+                + " WHERE e.budget_items_id = :id AND e.type = 'EXPENSE')"
+                + " WHERE id = (SELECT budget_id FROM budget_items WHERE id = :id)")
+        .setParameter("sign", sign)
+        .setParameter("id", budgetItemId)
+        .executeUpdate();
+  }
+
+  /**
+   * Adds, or subtracts, the expenses matching a condition to every counter they are linked to, in
+   * one statement per kind of counter whatever the number of expenses.
+   *
+   * @param condition the condition on the expenses, aliased {@code e}
+   * @param parameters the parameters of the condition
+   * @param sign 1 to add the expenses, -1 to subtract them
+   */
+  private void apply(String condition, Map<String, Object> parameters, int sign) {
+    execute(
+        "UPDATE budget_items bi SET spent_amount = bi.spent_amount + :sign"
+            + " * (SELECT SUM(e.amount) FROM expenses e WHERE "
+            + condition
+            + " AND e.budget_items_id = bi.id)"
+            + " WHERE bi.id IN (SELECT e.budget_items_id FROM expenses e WHERE "
+            + condition
+            + ")",
+        parameters,
+        sign);
+    execute(
+        "UPDATE budgets b SET spent_amount = b.spent_amount + :sign"
+            + " * (SELECT SUM(e.amount) FROM expenses e"
+            + " JOIN budget_items bi ON bi.id = e.budget_items_id WHERE "
+            + condition
+            + " AND e.type = 'EXPENSE' AND bi.budget_id = b.id)"
+            + " WHERE b.id IN (SELECT bi.budget_id FROM expenses e"
+            + " JOIN budget_items bi ON bi.id = e.budget_items_id WHERE "
+            + condition
+            + " AND e.type = 'EXPENSE')",
+        parameters,
+        sign);
+    execute(
+        "UPDATE savings s SET saved_amount = s.saved_amount + :sign"
+            + " * (SELECT SUM(e.amount) FROM expenses e WHERE "
+            + condition
+            + " AND e.savings_id = s.id)"
+            + " WHERE s.id IN (SELECT e.savings_id FROM expenses e WHERE "
+            + condition
+            + ")",
+        parameters,
+        sign);
+  }
+
+  private void execute(String sql, Map<String, Object> parameters, int sign) {
+    Query query = entityManager.createNativeQuery(sql).setParameter("sign", sign);
+    parameters.forEach(query::setParameter);
+    query.executeUpdate();
+  }
+
+  /**
+   * Locks the rows, then sums their expenses and sets the counters that differ from their sum. The
+   * sum is taken by a statement that starts once the locks are held, so it sees every expense whose
+   * delta was applied before. Counters rarely drift, so each drifted row is updated on its own.
+   *
+   * @param table the table, with its alias
+   * @param alias the alias of the table
+   * @param column the counter column
+   * @param sum the query summing the expenses of the aliased row
+   * @param ids the ids of the rows
+   * @return the sums of the rows, and the number of rows whose counter had drifted
+   */
+  private ReconciledCounters reconcile(
+      String table, String alias, String column, String sum, List<Long> ids) {
+    if (ids.isEmpty()) {
+      return new ReconciledCounters(0, Map.of());
+    }
+    Map<Long, BigDecimal> stored =
+        amounts(
+            "SELECT "
+                + alias
+                + ".id, "
+                + alias
+                + "."
+                + column
+                + " FROM "
+                + table
+                + " WHERE "
+                + alias
+                + ".id IN (:ids)"
+                + " ORDER BY "
+                + alias
+                + ".id FOR UPDATE",
+            ids);
+    Map<Long, BigDecimal> amounts =
+        amounts(
+            "SELECT "
+                + alias
+                + ".id, ("
+                + sum
+                + ") FROM "
+                + table
+                + " WHERE "
+                + alias
+                + ".id IN (:ids)",
+            ids);
+    int drifted = 0;
+    for (Map.Entry<Long, BigDecimal> amount : amounts.entrySet()) {
+      if (stored.get(amount.getKey()).compareTo(amount.getValue()) != 0) {
+        entityManager
+            .createNativeQuery(
+                "UPDATE " + table + " SET " + column + " = :amount WHERE " + alias + ".id = :id")
+            .setParameter("amount", amount.getValue())
+            .setParameter("id", amount.getKey())
+            .executeUpdate();
+        drifted++;
+      }
+    }
+    return new ReconciledCounters(drifted, amounts);
+  }
+
+  /** Reads {@code [id, amount]} rows into a map keyed by id. */
+  private Map<Long, BigDecimal> amounts(String sql, List<Long> ids) {
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows =
+        entityManager.createNativeQuery(sql).setParameter("ids", ids).getResultList();
+    Map<Long, BigDecimal> amounts = new HashMap<>();
+    for (Object[] row : rows) {
+      amounts.put(((Number) row[0]).longValue(), (BigDecimal) row[1]);
+    }
+    return amounts;
+  }
+}
@@ -0,0 +1,19 @@
+package com.derrick.finlypal.repository;
+
+import com.derrick.finlypal.entity.TokenRevocation;
+import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+  List<TokenRevocation> findByCreatedAtAfter(LocalDateTime createdAt);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM TokenRevocation t WHERE t.createdAt < :cutoff")
+  int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
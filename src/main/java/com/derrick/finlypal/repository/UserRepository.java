@@ -2,12 +2,34 @@ package com.derrick.finlypal.repository;
 
 import com.derrick.finlypal.entity.User;
 import jakarta.transaction.Transactional;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 @Transactional
 public interface UserRepository extends JpaRepository<User, Long> {
+  @EntityGraph(User.WITH_CURRENCY)
   Optional<User> findByEmail(String email);
+
+  @Override
+  @EntityGraph(User.WITH_CURRENCY)
+  Optional<User> findById(Long id);
+
+  @Modifying
+  @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :id")
+  int incrementTokenVersion(@Param("id") Long id);
+
+  @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+  Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+  /** Returns the ids of the users that come after the given id, in id order. */
+  @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+  List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
 }
@@ -9,6 +9,7 @@ import com.derrick.finlypal.exception.BadRequestException;
 import com.derrick.finlypal.exception.InternalServerErrorException;
 import com.derrick.finlypal.exception.NotAuthorizedException;
 import com.derrick.finlypal.exception.NotFoundException;
+import com.derrick.finlypal.exception.TooManyRequestsException;
 import com.derrick.finlypal.exception.UserAlreadyExistsException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -16,29 +17,37 @@ import org.springframework.security.authentication.BadCredentialsException;
 
 public interface AuthService {
   AuthenticationResponseDTO login(AuthenticationRequestDTO authenticationRequestDTO)
-      throws InternalServerErrorException, NotFoundException, BadCredentialsException;
+      throws InternalServerErrorException,
+          NotFoundException,
+          BadCredentialsException,
+          TooManyRequestsException;
 
   AuthenticationResponseDTO register(UsersRegistrationRequestDTO usersRegistrationRequestDTO)
-      throws UserAlreadyExistsException, InternalServerErrorException;
+      throws UserAlreadyExistsException, InternalServerErrorException, TooManyRequestsException;
 
   void refreshToken(HttpServletRequest request, HttpServletResponse response)
-      throws NotFoundException, InternalServerErrorException;
+      throws NotFoundException, NotAuthorizedException, InternalServerErrorException;
 
   String getPasswordRequestToken(String email)
-      throws InternalServerErrorException, BadRequestException, NotFoundException;
+      throws InternalServerErrorException,
+          BadRequestException,
+          NotFoundException,
+          TooManyRequestsException;
 
   String getPasswordResetOtp(String email)
       throws InternalServerErrorException,
           BadRequestException,
           NotAuthorizedException,
-          NotFoundException;
+          NotFoundException,
+          TooManyRequestsException;
 
   String verifyPasswordResetOtp(OtpRequestDTO otpRequest)
-      throws InternalServerErrorException, BadRequestException;
+      throws InternalServerErrorException, BadRequestException, TooManyRequestsException;
 
   String resetPassword(ResetPasswordDTO resetPasswordDTO)
       throws InternalServerErrorException,
           BadRequestException,
           NotAuthorizedException,
-          NotFoundException;
+          NotFoundException,
+          TooManyRequestsException;
 }
@@ -1,15 +1,20 @@
 package com.derrick.finlypal.service;
 
+import com.derrick.finlypal.dto.ExpenseCursorPageDTO;
+import com.derrick.finlypal.dto.ExpenseImportReportDTO;
 import com.derrick.finlypal.dto.ExpenseRequestDTO;
 import com.derrick.finlypal.dto.ExpenseResponseDTO;
 import com.derrick.finlypal.dto.GeneralResponseDTO;
+import com.derrick.finlypal.enums.ExpenseFileFormat;
 import com.derrick.finlypal.enums.ExpenseType;
 import com.derrick.finlypal.exception.BadRequestException;
 import com.derrick.finlypal.exception.InternalServerErrorException;
 import com.derrick.finlypal.exception.NotAuthorizedException;
 import com.derrick.finlypal.exception.NotFoundException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import org.springframework.data.domain.Page;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 public interface ExpenseService {
   ExpenseResponseDTO findById(Long id)
@@ -24,6 +29,28 @@ public interface ExpenseService {
       int pageSize)
       throws InternalServerErrorException, BadRequestException;
 
+  ExpenseCursorPageDTO findAllByCursor(
+      ExpenseType expenseType,
+      LocalDate startDate,
+      LocalDate endDate,
+      Long categoryId,
+      String cursor,
+      int pageSize,
+      boolean includeTotal)
+      throws InternalServerErrorException, BadRequestException;
+
+  StreamingResponseBody exportExpenses(
+      ExpenseFileFormat format,
+      ExpenseType expenseType,
+      LocalDate startDate,
+      LocalDate endDate,
+      Long categoryId,
+      boolean gzip)
+      throws BadRequestException;
+
+  ExpenseImportReportDTO importExpenses(ExpenseFileFormat format, InputStream body)
+      throws BadRequestException, InternalServerErrorException;
+
   ExpenseResponseDTO addExpense(ExpenseRequestDTO expenseRequestDTO)
       throws InternalServerErrorException, BadRequestException;
 
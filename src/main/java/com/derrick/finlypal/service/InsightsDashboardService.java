@@ -0,0 +1,17 @@
+package com.derrick.finlypal.service;
+
+import com.derrick.finlypal.dto.InsightsDashboardDTO;
+import com.derrick.finlypal.enums.ExpenseType;
+import com.derrick.finlypal.enums.InsightsDashboardSection;
+import com.derrick.finlypal.exception.BadRequestException;
+import java.time.LocalDate;
+import java.util.Set;
+
+public interface InsightsDashboardService {
+  InsightsDashboardDTO getDashboard(
+      LocalDate startDate,
+      LocalDate endDate,
+      ExpenseType type,
+      Set<InsightsDashboardSection> sections)
+      throws BadRequestException;
+}
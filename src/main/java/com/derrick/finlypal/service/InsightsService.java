@@ -4,6 +4,8 @@ import com.derrick.finlypal.dto.InsightsBudgetOrSavingsMonthlyTrendDTO;
 import com.derrick.finlypal.dto.InsightsMonthlyComparisonDTO;
 import com.derrick.finlypal.dto.InsightsSpendByCategoryDTO;
 import com.derrick.finlypal.dto.InsightsSpendTrendsDTO;
+import com.derrick.finlypal.dto.InsightsTimeSeriesDTO;
+import com.derrick.finlypal.dto.InsightsTopExpensesCursorPageDTO;
 import com.derrick.finlypal.dto.InsightsTopExpensesDTO;
 import com.derrick.finlypal.dto.InsightsTotalBudgetByStatusSummaryDTO;
 import com.derrick.finlypal.dto.InsightsTotalSavingsAndBudgetAmountDTO;
@@ -11,9 +13,10 @@ import com.derrick.finlypal.dto.InsightsTotalSavingsByStatusSummaryDTO;
 import com.derrick.finlypal.dto.InsightsTotalSpendDTO;
 import com.derrick.finlypal.enums.ExpenseType;
 import com.derrick.finlypal.enums.InsightMonthlyTrendType;
+import com.derrick.finlypal.enums.InsightsTimeSeriesGranularity;
 import com.derrick.finlypal.exception.BadRequestException;
 import com.derrick.finlypal.exception.InternalServerErrorException;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -34,10 +37,18 @@ public interface InsightsService {
             LocalDate startDate, LocalDate endData, ExpenseType type)
             throws InternalServerErrorException, BadRequestException;
 
-    Page<InsightsTopExpensesDTO> getTopExpenses(
+    InsightsTimeSeriesDTO getTimeSeries(
+            LocalDate startDate, LocalDate endDate, ExpenseType type, InsightsTimeSeriesGranularity granularity)
+            throws InternalServerErrorException, BadRequestException;
+
+    Slice<InsightsTopExpensesDTO> getTopExpenses(
             LocalDate startDate, LocalDate endData, ExpenseType type, int page, int pageSize)
             throws InternalServerErrorException, BadRequestException;
 
+    InsightsTopExpensesCursorPageDTO getTopExpensesByCursor(
+            LocalDate startDate, LocalDate endDate, ExpenseType type, String cursor, int pageSize)
+            throws InternalServerErrorException, BadRequestException;
+
     InsightsTotalSavingsAndBudgetAmountDTO getTotalSavingsAndBudgetAmount(
             LocalDate startDate, LocalDate endDate
     ) throws InternalServerErrorException;
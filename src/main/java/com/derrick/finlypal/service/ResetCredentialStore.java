@@ -0,0 +1,35 @@
+package com.derrick.finlypal.service;
+
+import com.derrick.finlypal.entity.ResetToken;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Stores the short-lived credentials of the password reset flows, i.e. reset tokens and OTPs. A
+ * user has at most one outstanding credential, so each one is keyed by the email it was issued for.
+ */
+public interface ResetCredentialStore {
+
+  /**
+   * Stores the given credential, replacing any credential previously issued for the same email.
+   *
+   * @param resetToken the credential to store
+   */
+  void save(ResetToken resetToken);
+
+  Optional<ResetToken> findByEmail(String email);
+
+  Optional<ResetToken> findByOtpAndEmail(Integer otp, String email);
+
+  Optional<ResetToken> findByTokenAndEmail(String token, String email);
+
+  void deleteByEmail(String email);
+
+  /**
+   * Removes every credential that expired before the given time.
+   *
+   * @param now the reference time
+   * @return the number of credentials removed
+   */
+  int purgeExpired(LocalDateTime now);
+}
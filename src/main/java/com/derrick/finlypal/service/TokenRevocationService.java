@@ -0,0 +1,7 @@
+package com.derrick.finlypal.service;
+
+import com.derrick.finlypal.exception.NotFoundException;
+
+public interface TokenRevocationService {
+  int revokeAllTokens(Long userId) throws NotFoundException;
+}
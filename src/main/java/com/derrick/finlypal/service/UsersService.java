@@ -1,5 +1,6 @@
 package com.derrick.finlypal.service;
 
+import com.derrick.finlypal.dto.GeneralResponseDTO;
 import com.derrick.finlypal.dto.UsersResponseDTO;
 import com.derrick.finlypal.dto.UsersUpdateRequestDTO;
 import com.derrick.finlypal.exception.BadRequestException;
@@ -19,4 +20,8 @@ public interface UsersService {
             InternalServerErrorException,
             NotAuthorizedException,
             BadRequestException;
+
+    GeneralResponseDTO revokeSessions()
+            throws NotFoundException,
+            InternalServerErrorException;
 }
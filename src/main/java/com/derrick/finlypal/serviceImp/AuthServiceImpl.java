@@ -5,33 +5,39 @@ import com.derrick.finlypal.dto.AuthenticationResponseDTO;
 import com.derrick.finlypal.dto.OtpRequestDTO;
 import com.derrick.finlypal.dto.ResetPasswordDTO;
 import com.derrick.finlypal.dto.UsersRegistrationRequestDTO;
+import com.derrick.finlypal.entity.RefreshToken;
 import com.derrick.finlypal.entity.ResetToken;
 import com.derrick.finlypal.entity.User;
 import com.derrick.finlypal.exception.BadRequestException;
 import com.derrick.finlypal.exception.InternalServerErrorException;
 import com.derrick.finlypal.exception.NotAuthorizedException;
 import com.derrick.finlypal.exception.NotFoundException;
+import com.derrick.finlypal.exception.TooManyRequestsException;
 import com.derrick.finlypal.exception.UserAlreadyExistsException;
-import com.derrick.finlypal.repository.ResetTokenRepository;
+import com.derrick.finlypal.repository.RefreshTokenRepository;
 import com.derrick.finlypal.repository.UserRepository;
 import com.derrick.finlypal.service.AuthService;
 import com.derrick.finlypal.service.EmailService;
+import com.derrick.finlypal.service.ResetCredentialStore;
+import com.derrick.finlypal.service.TokenRevocationService;
+import com.derrick.finlypal.util.AuthRequestThrottle;
 import com.derrick.finlypal.util.JwtUtil;
+import com.derrick.finlypal.util.PasswordHasher;
 import com.derrick.finlypal.util.TokenGenerator;
+import com.derrick.finlypal.util.VerifiedToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.transaction.Transactional;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.regex.Pattern;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -42,28 +48,39 @@ public class AuthServiceImpl implements AuthService {
   private static final String EMAIL_REGEX = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$";
   private static final Pattern PATTERN = Pattern.compile(EMAIL_REGEX);
   private final UserRepository userRepository;
-  private final PasswordEncoder passwordEncoder;
-  private final AuthenticationManager authenticationManager;
+  private final PasswordHasher passwordHasher;
+  private final AuthRequestThrottle authRequestThrottle;
   private final JwtUtil jwtUtil;
   private final EmailService emailService;
-  private final ResetTokenRepository resetTokenRepository;
+  private final ResetCredentialStore resetCredentialStore;
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final TokenRevocationService tokenRevocationService;
 
   /**
    * Authenticate a user with given email and password. If user is not found, or credentials are
    * invalid, the respective exceptions are thrown. If any other error occurs, an
    * InternalServerErrorException is thrown.
    *
+   * <p>The request is throttled per email and per IP, and the password check runs on the bounded
+   * password hashing pool. If the stored hash was made with a lower BCrypt cost than the configured
+   * one, it is transparently replaced with a new hash of the supplied password.
+   *
    * @param authenticationRequestDTO the email and password of the user to be authenticated
    * @return an AuthenticationResponseDTO with the access and refresh tokens
    * @throws InternalServerErrorException if any other error occurs
    * @throws NotFoundException if user is not found
    * @throws BadCredentialsException if credentials are invalid
+   * @throws TooManyRequestsException if the request is throttled or the hashing pool is saturated
    */
   @Override
   public AuthenticationResponseDTO login(AuthenticationRequestDTO authenticationRequestDTO)
-      throws InternalServerErrorException, NotFoundException, BadCredentialsException {
+      throws InternalServerErrorException,
+          NotFoundException,
+          BadCredentialsException,
+          TooManyRequestsException {
     try {
       log.info("Received login request for user with email {}", authenticationRequestDTO.email());
+      authRequestThrottle.acquire(authenticationRequestDTO.email());
 
       User user =
           userRepository
@@ -73,13 +90,20 @@ public class AuthServiceImpl implements AuthService {
                       new NotFoundException(
                           "User with email " + authenticationRequestDTO.email() + " not found"));
 
-      authenticationManager.authenticate(
-          new UsernamePasswordAuthenticationToken(
-              authenticationRequestDTO.email(), authenticationRequestDTO.password()));
+      if (!passwordHasher.matches(authenticationRequestDTO.password(), user.getPassword())) {
+        throw new BadCredentialsException("Bad credentials");
+      }
+
+      if (passwordHasher.needsRehash(user.getPassword())) {
+        log.info(
+            "Upgrading password hash for user with email {}", authenticationRequestDTO.email());
+        user.setPassword(passwordHasher.encode(authenticationRequestDTO.password()));
+        userRepository.save(user);
+      }
 
       log.info(
           "Authentication successful for user with email {}", authenticationRequestDTO.email());
-      return generateAuthResponse(user);
+      return generateAuthResponse(user, UUID.randomUUID().toString());
 
     } catch (NotFoundException e) {
       log.error("Could not find user with email {}", authenticationRequestDTO.email());
@@ -87,7 +111,9 @@ public class AuthServiceImpl implements AuthService {
     } catch (BadCredentialsException e) {
       log.error("Invalid credentials for user with email {}", authenticationRequestDTO.email());
       throw e;
-
+    } catch (TooManyRequestsException e) {
+      log.error("Login throttled for user with email {}", authenticationRequestDTO.email());
+      throw e;
     } catch (Exception e) {
       log.error("Error authenticating user with email {}", authenticationRequestDTO.email());
       throw new InternalServerErrorException(
@@ -102,13 +128,15 @@ public class AuthServiceImpl implements AuthService {
    * @return an AuthenticationResponseDTO with the access and refresh tokens
    * @throws InternalServerErrorException if any other error occurs
    * @throws UserAlreadyExistsException if user already exists
+   * @throws TooManyRequestsException if the request is throttled or the hashing pool is saturated
    */
   @Override
   public AuthenticationResponseDTO register(UsersRegistrationRequestDTO usersRegistrationRequestDTO)
-      throws InternalServerErrorException, UserAlreadyExistsException {
+      throws InternalServerErrorException, UserAlreadyExistsException, TooManyRequestsException {
     try {
       log.info(
           "Registration request received for the user {}", usersRegistrationRequestDTO.toString());
+      authRequestThrottle.acquire(usersRegistrationRequestDTO.email());
 
       // Check if user exists
       Optional<User> user = userRepository.findByEmail(usersRegistrationRequestDTO.email());
@@ -121,18 +149,21 @@ public class AuthServiceImpl implements AuthService {
       User newUser =
           User.builder()
               .email(usersRegistrationRequestDTO.email())
-              .password(passwordEncoder.encode(usersRegistrationRequestDTO.password()))
+              .password(passwordHasher.encode(usersRegistrationRequestDTO.password()))
               .name(usersRegistrationRequestDTO.name())
               .build();
 
       log.info("Saving user {}", newUser.toString());
       userRepository.save(newUser);
 
-      return generateAuthResponse(newUser);
+      return generateAuthResponse(newUser, UUID.randomUUID().toString());
 
     } catch (UserAlreadyExistsException e) {
       log.error("User already exist with email {}", usersRegistrationRequestDTO.email());
       throw e;
+    } catch (TooManyRequestsException e) {
+      log.error("Registration throttled for email {}", usersRegistrationRequestDTO.email());
+      throw e;
     } catch (Exception e) {
       log.error("Error while registering user {}", usersRegistrationRequestDTO.toString());
       throw new InternalServerErrorException(
@@ -146,17 +177,24 @@ public class AuthServiceImpl implements AuthService {
    * not found, the respective exceptions are thrown. If any other error occurs, an
    * InternalServerErrorException is thrown.
    *
+   * <p>Refresh tokens are single use. Every refresh marks the presented token as used and returns a
+   * new access and refresh token pair of the same family. If a token that has already been used is
+   * presented again, it has been replayed by someone, so every token of the user is revoked and the
+   * user has to log in again. Refresh tokens without a user id or token id predate this and are
+   * rejected.
+   *
    * @param request the request with the Authorization header containing the refresh token
    * @param response the response to write the new access and refresh tokens to
    * @throws InternalServerErrorException if any other error occurs
    * @throws NotFoundException if user is not found
+   * @throws NotAuthorizedException if the refresh token is revoked, reused, untracked or not a
+   *     refresh token
    */
   @Override
   public void refreshToken(HttpServletRequest request, HttpServletResponse response)
-      throws NotFoundException, InternalServerErrorException {
+      throws NotFoundException, NotAuthorizedException, InternalServerErrorException {
     log.info("Received refresh token request");
     String authHeader = request.getHeader("Authorization");
-    String username = null;
 
     if (authHeader == null || !authHeader.startsWith("Bearer ")) {
       log.info("No Bearer token found");
@@ -164,28 +202,47 @@ public class AuthServiceImpl implements AuthService {
     }
 
     try {
-      log.info("Extracting username from auth header");
-      String refreshToken = authHeader.substring(7);
-      username = jwtUtil.extractUsername(refreshToken);
+      log.info("Verifying refresh token");
+      VerifiedToken verifiedToken = jwtUtil.verifyToken(authHeader.substring(7));
+      String username = verifiedToken.subject();
 
-      if (username != null) {
-        String finalUsername = username;
+      if (!verifiedToken.isRefreshToken()) {
+        throw new NotAuthorizedException("Not a refresh token");
+      }
+
+      // Refresh tokens issued before they were versioned and tracked cannot be revoked or checked
+      // for reuse, so they are rejected, which asks their holder to log in once more
+      if (verifiedToken.userId() == null || verifiedToken.tokenId() == null) {
+        throw new NotAuthorizedException("Refresh token is no longer supported");
+      }
 
+      if (username != null) {
         log.info("Validating username {}", username);
         User user =
             userRepository
                 .findByEmail(username)
                 .orElseThrow(
-                    () -> new NotFoundException("User with email " + finalUsername + " not found"));
+                    () -> new NotFoundException("User with email " + username + " not found"));
+
+        if (verifiedToken.tokenVersion() != user.getTokenVersion()) {
+          throw new NotAuthorizedException("Refresh token has been revoked");
+        }
 
-        log.info("Generating new token for user {}", finalUsername);
-        String accessToken = jwtUtil.generateAccessToken(user);
+        if (refreshTokenRepository.markUsed(verifiedToken.tokenId(), LocalDateTime.now()) == 0) {
+          if (refreshTokenRepository.existsById(verifiedToken.tokenId())) {
+            log.warn("Refresh token reuse detected for user {}, revoking all tokens", username);
+            tokenRevocationService.revokeAllTokens(user.getId());
+            throw new NotAuthorizedException("Refresh token has already been used");
+          }
+          throw new NotAuthorizedException("Unknown refresh token");
+        }
 
-        AuthenticationResponseDTO responseDTO =
-            AuthenticationResponseDTO.builder()
-                .accessToken(accessToken)
-                .refreshToken(refreshToken)
-                .build();
+        log.info("Generating new token for user {}", username);
+        String familyId =
+            verifiedToken.familyId() != null
+                ? verifiedToken.familyId()
+                : UUID.randomUUID().toString();
+        AuthenticationResponseDTO responseDTO = generateAuthResponse(user, familyId);
 
         log.info("Successfully refreshed token");
         new ObjectMapper().writeValue(response.getOutputStream(), responseDTO);
@@ -194,6 +251,9 @@ public class AuthServiceImpl implements AuthService {
     } catch (NotFoundException e) {
       log.error("Could not find user with email", e);
       throw e;
+    } catch (NotAuthorizedException e) {
+      log.error("Refresh token rejected: {}", e.getMessage());
+      throw e;
     } catch (RuntimeException | IOException e) {
       log.error("Error while refreshing token", e);
       throw new InternalServerErrorException("An unknown error occurred: " + e.getMessage());
@@ -201,35 +261,36 @@ public class AuthServiceImpl implements AuthService {
   }
 
   /**
-   * Generates a password reset token for a user with the given email.
+   * Generates a password reset token for a user with the given email. The token and the email that
+   * carries it are written in one transaction, the email itself is delivered in the background.
    *
    * @param email the email of the user to generate the password reset token for
    * @return a string indicating that the password reset token has been sent
    * @throws InternalServerErrorException if any other error occurs
    * @throws BadRequestException if the email is not provided or is not a valid
    * @throws NotFoundException if the user with the given email is not found
+   * @throws TooManyRequestsException if the request is throttled
    */
   @Override
+  @Transactional(rollbackOn = Exception.class)
   public String getPasswordRequestToken(String email)
-      throws InternalServerErrorException, BadRequestException, NotFoundException {
+      throws InternalServerErrorException,
+          BadRequestException,
+          NotFoundException,
+          TooManyRequestsException {
 
     try {
 
       if (email == null || !PATTERN.matcher(email).matches()) {
         throw new BadRequestException("Email not provided or is not a valid");
       }
+      authRequestThrottle.acquire(email);
 
       log.info("Checking if user with email {} exists", email);
       userRepository
           .findByEmail(email)
           .orElseThrow(() -> new NotFoundException("User with email " + email + " not found"));
 
-      Optional<ResetToken> existingToken = resetTokenRepository.findByEmail(email);
-
-      if (existingToken.isPresent()) {
-        resetTokenRepository.deleteByEmail(email);
-      }
-
       log.info("Generating password request token for user with email {}", email);
       String resetToken = TokenGenerator.generateToken();
 
@@ -237,8 +298,8 @@ public class AuthServiceImpl implements AuthService {
       LocalDateTime expiryDate = LocalDateTime.now().plusHours(3);
       ResetToken token =
           ResetToken.builder().token(resetToken).email(email).expiryDate(expiryDate).build();
+      resetCredentialStore.save(token);
       log.info("Reset token saved for user with email {}", email);
-      resetTokenRepository.save(token);
 
       String url = "https://finlypal.com?resetToken=" + resetToken;
       String subject = "Password Reset";
@@ -255,6 +316,9 @@ public class AuthServiceImpl implements AuthService {
     } catch (BadRequestException e) {
       log.error("Email not provided or is not a valid", e);
       throw e;
+    } catch (TooManyRequestsException e) {
+      log.error("Password reset throttled for email {}", email);
+      throw e;
     } catch (Exception e) {
       log.error("Error while generating password request token", e);
       throw new InternalServerErrorException("An unknown error occurred: " + e.getMessage());
@@ -262,34 +326,35 @@ public class AuthServiceImpl implements AuthService {
   }
 
   /**
-   * Generates an OTP for a user with the given email.
+   * Generates an OTP for a user with the given email. The OTP and the email that carries it are
+   * written in one transaction, the email itself is delivered in the background.
    *
    * @param email, the email of the user to generate the OTP for
    * @return a string indicating that the OTP has been sent
    * @throws InternalServerErrorException if any other error occurs
    * @throws BadRequestException if the email is not provided or is not a valid
+   * @throws TooManyRequestsException if the request is throttled
    */
   @Override
+  @Transactional(rollbackOn = Exception.class)
   public String getPasswordResetOtp(String email)
-      throws InternalServerErrorException, BadRequestException, NotFoundException {
+      throws InternalServerErrorException,
+          BadRequestException,
+          NotFoundException,
+          TooManyRequestsException {
 
     try {
 
       if (email == null || !PATTERN.matcher(email).matches()) {
         throw new BadRequestException("Email not provided or is not a valid");
       }
+      authRequestThrottle.acquire(email);
 
       log.info("Checking if user with email {} exists", email);
       userRepository
           .findByEmail(email)
           .orElseThrow(() -> new NotFoundException("User with email " + email + " not found"));
 
-      Optional<ResetToken> token = resetTokenRepository.findByEmail(email);
-
-      if (token.isPresent()) {
-        resetTokenRepository.deleteByEmail(email);
-      }
-
       log.info("Generating otp for user with email {}", email);
       int otp = Integer.parseInt(TokenGenerator.generateOtp());
       LocalDateTime expiryDate = LocalDateTime.now().plusMinutes(10);
@@ -297,7 +362,7 @@ public class AuthServiceImpl implements AuthService {
       log.info("Saving otp for user with email {}", email);
       ResetToken newToken =
           ResetToken.builder().otp(otp).email(email).expiryDate(expiryDate).build();
-      resetTokenRepository.save(newToken);
+      resetCredentialStore.save(newToken);
 
       String subject = "Password Reset";
       String body = "Use this otp to reset your password: " + otp;
@@ -313,6 +378,9 @@ public class AuthServiceImpl implements AuthService {
     } catch (BadRequestException e) {
       log.error("Email not provided or is not a valid", e);
       throw e;
+    } catch (TooManyRequestsException e) {
+      log.error("Password reset throttled for email {}", email);
+      throw e;
     } catch (Exception e) {
       log.error("Error while generating password request otp", e);
       throw new InternalServerErrorException("An unknown error occurred: " + e.getMessage());
@@ -331,15 +399,17 @@ public class AuthServiceImpl implements AuthService {
    * @throws InternalServerErrorException if any unknown error occurs during processing
    * @throws BadRequestException if the email is not associated with an OTP or if the OTP is invalid
    *     or expired
+   * @throws TooManyRequestsException if the request is throttled
    */
   @Override
   public String verifyPasswordResetOtp(OtpRequestDTO otpRequest)
-      throws InternalServerErrorException, BadRequestException {
+      throws InternalServerErrorException, BadRequestException, TooManyRequestsException {
     try {
       log.info("Verifying otp for user with email {}", otpRequest.email());
+      authRequestThrottle.acquire(otpRequest.email());
 
       ResetToken token =
-          resetTokenRepository
+          resetCredentialStore
               .findByEmail(otpRequest.email())
               .orElseThrow(() -> new BadRequestException("Email not associated with otp"));
 
@@ -351,7 +421,7 @@ public class AuthServiceImpl implements AuthService {
         return "Otp verified";
       } else {
         if (isTokenExpired) {
-          resetTokenRepository.deleteByEmail(otpRequest.email());
+          resetCredentialStore.deleteByEmail(otpRequest.email());
         }
         log.error("Invalid or expired otp for user with email {}", otpRequest.email());
         throw new BadRequestException("Invalid or expired otp");
@@ -360,6 +430,9 @@ public class AuthServiceImpl implements AuthService {
     } catch (BadRequestException e) {
       log.error("Email not associated with otp", e);
       throw e;
+    } catch (TooManyRequestsException e) {
+      log.error("Otp verification throttled for email {}", otpRequest.email());
+      throw e;
     } catch (Exception e) {
       log.error("Error while generating password request otp", e);
       throw new InternalServerErrorException("An unknown error occurred: " + e.getMessage());
@@ -380,21 +453,24 @@ public class AuthServiceImpl implements AuthService {
    * @throws BadRequestException if the reset token is not found or if the new password is invalid
    * @throws NotAuthorizedException if the reset token has expired
    * @throws NotFoundException if the email associated with the token is not found
+   * @throws TooManyRequestsException if the request is throttled or the hashing pool is saturated
    */
   @Override
   public String resetPassword(ResetPasswordDTO resetPasswordDTO)
       throws InternalServerErrorException,
           BadRequestException,
           NotAuthorizedException,
-          NotFoundException {
+          NotFoundException,
+          TooManyRequestsException {
     try {
 
       log.info("Received reset password request");
+      authRequestThrottle.acquire(resetPasswordDTO.email());
       Optional<ResetToken> resetToken =
           resetPasswordDTO.token().length() == 4
-              ? resetTokenRepository.findByOtpAndEmail(
+              ? resetCredentialStore.findByOtpAndEmail(
                   Integer.valueOf(resetPasswordDTO.token()), resetPasswordDTO.email())
-              : resetTokenRepository.findByTokenAndEmail(
+              : resetCredentialStore.findByTokenAndEmail(
                   resetPasswordDTO.token(), resetPasswordDTO.email());
 
       if (resetToken.isEmpty()) {
@@ -404,7 +480,7 @@ public class AuthServiceImpl implements AuthService {
       if (resetToken.get().getExpiryDate().isBefore(LocalDateTime.now())) {
         log.info(
             "Deleting expired reset token for user with email {}", resetToken.get().getEmail());
-        resetTokenRepository.delete(resetToken.get());
+        resetCredentialStore.deleteByEmail(resetToken.get().getEmail());
         throw new NotAuthorizedException("Token has expired");
       }
 
@@ -414,7 +490,7 @@ public class AuthServiceImpl implements AuthService {
               .orElseThrow(() -> new NotFoundException("Email associated with token not found"));
 
       log.info("Deleting reset token for user with email {}", resetToken.get().getEmail());
-      resetTokenRepository.delete(resetToken.get());
+      resetCredentialStore.deleteByEmail(resetToken.get().getEmail());
 
       log.info("Updating password for user with email {}", user.getEmail());
 
@@ -423,9 +499,12 @@ public class AuthServiceImpl implements AuthService {
         throw new BadRequestException("New password cannot be null or empty");
       }
 
-      user.setPassword(passwordEncoder.encode(resetPasswordDTO.newPassword()));
+      user.setPassword(passwordHasher.encode(resetPasswordDTO.newPassword()));
       userRepository.save(user);
 
+      log.info("Revoking existing sessions of user with email {}", user.getEmail());
+      tokenRevocationService.revokeAllTokens(user.getId());
+
       return "Password reset successfully";
 
     } catch (NotFoundException e) {
@@ -437,6 +516,9 @@ public class AuthServiceImpl implements AuthService {
     } catch (NotAuthorizedException e) {
       log.error("Token has expired", e);
       throw e;
+    } catch (TooManyRequestsException e) {
+      log.error("Password reset throttled for email {}", resetPasswordDTO.email());
+      throw e;
     } catch (Exception e) {
       log.error("Error while resetting password request token", e);
       throw new InternalServerErrorException("An unknown error occurred: " + e.getMessage());
@@ -444,14 +526,25 @@ public class AuthServiceImpl implements AuthService {
   }
 
   /**
-   * Generates an AuthenticationResponseDTO for a given user.
+   * Generates an AuthenticationResponseDTO for a given user. The refresh token is recorded, so that
+   * it can only be exchanged once.
    *
    * @param user user to generate authentication response for
+   * @param familyId the family the new refresh token belongs to
    * @return AuthenticationResponseDTO containing the access and refresh tokens
    */
-  private AuthenticationResponseDTO generateAuthResponse(User user) {
+  private AuthenticationResponseDTO generateAuthResponse(User user, String familyId) {
+    String tokenId = UUID.randomUUID().toString();
     String accessToken = jwtUtil.generateAccessToken(user);
-    String refreshToken = jwtUtil.generateRefreshToken(user);
+    String refreshToken = jwtUtil.generateRefreshToken(user, tokenId, familyId);
+
+    refreshTokenRepository.save(
+        RefreshToken.builder()
+            .id(tokenId)
+            .user(user)
+            .familyId(familyId)
+            .expiresAt(LocalDateTime.now().plus(jwtUtil.getRefreshTokenTtl()))
+            .build());
 
     return AuthenticationResponseDTO.builder()
         .accessToken(accessToken)
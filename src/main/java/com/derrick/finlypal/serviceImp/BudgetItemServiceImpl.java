@@ -1,5 +1,6 @@
 package com.derrick.finlypal.serviceImp;
 
+import com.derrick.finlypal.config.ReadOnlyTransactional;
 import com.derrick.finlypal.dto.BudgetItemCreateRequestDTO;
 import com.derrick.finlypal.dto.BudgetItemResponseDTO;
 import com.derrick.finlypal.dto.BudgetItemUpdateRequestDTO;
@@ -7,7 +8,6 @@ import com.derrick.finlypal.dto.ExpenseResponseDTO;
 import com.derrick.finlypal.dto.GeneralResponseDTO;
 import com.derrick.finlypal.entity.Budget;
 import com.derrick.finlypal.entity.BudgetItem;
-import com.derrick.finlypal.entity.Expense;
 import com.derrick.finlypal.enums.BudgetItemStatus;
 import com.derrick.finlypal.exception.BadRequestException;
 import com.derrick.finlypal.exception.InternalServerErrorException;
@@ -15,14 +15,17 @@ import com.derrick.finlypal.exception.NotAuthorizedException;
 import com.derrick.finlypal.exception.NotFoundException;
 import com.derrick.finlypal.repository.BudgetItemRepository;
 import com.derrick.finlypal.repository.BudgetRepository;
+import com.derrick.finlypal.repository.ExpenseDailyRollupRepository;
+import com.derrick.finlypal.repository.ExpenseFilter;
 import com.derrick.finlypal.repository.ExpenseRepository;
 import com.derrick.finlypal.service.BudgetItemService;
-import com.derrick.finlypal.util.GetLoggedInUserUtil;
+import com.derrick.finlypal.util.CurrentUserContext;
+import com.derrick.finlypal.util.InsightsResultCache;
+import com.derrick.finlypal.util.StatusRules;
 import jakarta.transaction.Transactional;
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -39,6 +42,9 @@ public class BudgetItemServiceImpl implements BudgetItemService {
   private final BudgetItemRepository budgetItemRepository;
   private final BudgetRepository budgetRepository;
   private final ExpenseRepository expenseRepository;
+  private final ExpenseDailyRollupRepository expenseDailyRollupRepository;
+  private final CurrentUserContext currentUserContext;
+  private final InsightsResultCache insightsResultCache;
 
   /**
    * Creates multiple budget items for a specified budget.
@@ -68,16 +74,8 @@ public class BudgetItemServiceImpl implements BudgetItemService {
     log.info("Received request to create budget items for budget with id {}", budgetId);
 
     try {
-      Long userId = Objects.requireNonNull(GetLoggedInUserUtil.getUser()).getId();
-      Budget budget =
-          budgetRepository
-              .findById(budgetId)
-              .orElseThrow(() -> new NotFoundException("Budget not found with id: " + budgetId));
-
-      if (!Objects.equals(budget.getUser().getId(), userId)) {
-        throw new NotAuthorizedException(
-            "You are not authorized to create budget items for this budget");
-      }
+      Long userId = currentUserContext.getUserId();
+      Budget budget = findOwnedBudget(budgetId, userId, "create budget items for");
 
       if (budgetItems.isEmpty()) {
         throw new BadRequestException("No budget items were provided");
@@ -117,6 +115,7 @@ public class BudgetItemServiceImpl implements BudgetItemService {
 
       budget.setTotalBudget(grandTotal);
       budgetRepository.save(budget);
+      insightsResultCache.invalidate(userId);
 
       return GeneralResponseDTO.builder()
           .status(HttpStatus.OK)
@@ -150,37 +149,32 @@ public class BudgetItemServiceImpl implements BudgetItemService {
    * @throws NotAuthorizedException if the user is not authorized to read the budget
    */
   @Override
+  @ReadOnlyTransactional
   public Page<BudgetItemResponseDTO> getBudgetItems(Long budgetId, int page, int pageSize)
       throws InternalServerErrorException, NotFoundException, NotAuthorizedException {
     try {
       Pageable pageable = PageRequest.of(page, pageSize);
-      Long userId = Objects.requireNonNull(GetLoggedInUserUtil.getUser()).getId();
-      Budget budget =
-          budgetRepository
-              .findById(budgetId)
-              .orElseThrow(() -> new NotFoundException("Budget not found with id: " + budgetId));
-
-      if (!Objects.equals(budget.getUser().getId(), userId)) {
-        throw new NotAuthorizedException("You are not authorized to read this budget");
+      Long userId = currentUserContext.getUserId();
+      if (!budgetRepository.existsByIdAndUserId(budgetId, userId)) {
+        throwMissingOrForbiddenBudget(budgetId, "read");
       }
 
       log.info("Getting budget items with id {}", budgetId);
       Page<BudgetItem> budgetItems = budgetItemRepository.findAllByBudgetId(budgetId, pageable);
 
       return budgetItems.map(
-          budgetItem ->
-              BudgetItemResponseDTO.builder()
-                  .id(budgetItem.getId())
-                  .name(budgetItem.getName())
-                  .icon(budgetItem.getIcon())
-                  .allocatedAmount(budgetItem.getAllocatedAmount())
-                  .status(
-                      getBudgetItemStatus(
-                          getActualSpend(userId, budgetItem.getId()),
-                          budgetItem.getAllocatedAmount()))
-                  .createdAt(budgetItem.getCreatedAt())
-                  .actualSpend(getActualSpend(userId, budgetItem.getId()))
-                  .build());
+          budgetItem -> {
+            BigDecimal actualSpend = budgetItem.getSpentAmount();
+            return BudgetItemResponseDTO.builder()
+                .id(budgetItem.getId())
+                .name(budgetItem.getName())
+                .icon(budgetItem.getIcon())
+                .allocatedAmount(budgetItem.getAllocatedAmount())
+                .status(StatusRules.budgetItemStatus(actualSpend, budgetItem.getAllocatedAmount()))
+                .createdAt(budgetItem.getCreatedAt())
+                .actualSpend(actualSpend)
+                .build();
+          });
 
     } catch (NotFoundException | NotAuthorizedException e) {
       log.error(e.getMessage());
@@ -211,24 +205,18 @@ public class BudgetItemServiceImpl implements BudgetItemService {
    *     budget item
    */
   @Override
+  @ReadOnlyTransactional
   public BudgetItemResponseDTO getBudgetItemById(Long budgetItemId)
       throws NotFoundException, InternalServerErrorException, NotAuthorizedException {
     try {
-      Long userId = Objects.requireNonNull(GetLoggedInUserUtil.getUser()).getId();
-
-      BudgetItem budgetItem =
-          budgetItemRepository
-              .findById(budgetItemId)
-              .orElseThrow(
-                  () -> new NotFoundException("Budget item not found with id: " + budgetItemId));
+      Long userId = currentUserContext.getUserId();
 
-      if (!Objects.equals(budgetItem.getBudget().getUser().getId(), userId)) {
-        throw new NotAuthorizedException("You are not authorized to read this budget item");
-      }
+      BudgetItem budgetItem = findOwnedBudgetItem(budgetItemId, userId, "read");
 
-      BigDecimal actualSpend = getActualSpend(userId, budgetItemId);
+      BigDecimal actualSpend = budgetItem.getSpentAmount();
       BigDecimal allocatedAmount = budgetItem.getAllocatedAmount();
-      BudgetItemStatus budgetItemStatus = getBudgetItemStatus(actualSpend, allocatedAmount);
+      BudgetItemStatus budgetItemStatus =
+          StatusRules.budgetItemStatus(actualSpend, allocatedAmount);
       List<ExpenseResponseDTO> expenses = getExpensesDTO(userId, budgetItemId);
 
       return BudgetItemResponseDTO.builder()
@@ -239,7 +227,7 @@ public class BudgetItemServiceImpl implements BudgetItemService {
           .status(budgetItemStatus)
           .statusTooltip(getStatusTooltip(budgetItemStatus))
           .createdAt(budgetItem.getCreatedAt())
-          .actualSpend(getActualSpend(userId, budgetItem.getId()))
+          .actualSpend(actualSpend)
           .expenses(expenses)
           .budgetId(budgetItem.getBudget().getId())
           .build();
@@ -278,6 +266,7 @@ public class BudgetItemServiceImpl implements BudgetItemService {
    *     budget item
    */
   @Override
+  @Transactional(rollbackOn = Exception.class)
   public BudgetItemResponseDTO updateBudgetItem(
       Long budgetItemId, BudgetItemUpdateRequestDTO budgetItemRequestDTO)
       throws BadRequestException,
@@ -286,20 +275,12 @@ public class BudgetItemServiceImpl implements BudgetItemService {
           NotAuthorizedException {
     log.info("Updating budget item with id {} and request {}", budgetItemId, budgetItemRequestDTO);
     try {
-      Long userId = Objects.requireNonNull(GetLoggedInUserUtil.getUser()).getId();
-      BudgetItem budgetItem =
-          budgetItemRepository
-              .findById(budgetItemId)
-              .orElseThrow(
-                  () -> new NotFoundException("Budget item not found with id: " + budgetItemId));
-
-      if (!Objects.equals(budgetItem.getBudget().getUser().getId(), userId)) {
-        throw new NotAuthorizedException("You are not authorized to update this budget item");
-      }
+      Long userId = currentUserContext.getUserId();
+      BudgetItem budgetItem = findOwnedBudgetItem(budgetItemId, userId, "update");
 
       Budget budget =
           budgetRepository
-              .findById(budgetItemRequestDTO.budgetId())
+              .findByIdAndUserId(budgetItemRequestDTO.budgetId(), userId)
               .orElseThrow(
                   () ->
                       new BadRequestException(
@@ -308,14 +289,23 @@ public class BudgetItemServiceImpl implements BudgetItemService {
       budgetItem.setName(budgetItemRequestDTO.name());
       budgetItem.setIcon(budgetItemRequestDTO.icon());
       budgetItem.setAllocatedAmount(budgetItemRequestDTO.allocatedAmount());
+      boolean moved = !budget.getId().equals(budgetItem.getBudget().getId());
+      if (moved) {
+        // The expenses of the item now count towards the spending of the other budget
+        expenseRepository.removeBudgetItemFromBudgetSpend(budgetItemId);
+      }
       budgetItem.setBudget(budget);
 
-      BigDecimal actualSpend = getActualSpend(userId, budgetItemId);
+      BigDecimal actualSpend = budgetItem.getSpentAmount();
       BigDecimal allocatedAmount = budgetItemRequestDTO.allocatedAmount();
-      BudgetItemStatus budgetItemStatus = getBudgetItemStatus(actualSpend, allocatedAmount);
+      BudgetItemStatus budgetItemStatus =
+          StatusRules.budgetItemStatus(actualSpend, allocatedAmount);
 
       log.info("Updating budget item with id {}", budgetItemId);
-      budgetItemRepository.save(budgetItem);
+      budgetItemRepository.saveAndFlush(budgetItem);
+      if (moved) {
+        expenseRepository.addBudgetItemToBudgetSpend(budgetItemId);
+      }
 
       log.info("Updating total budget for budget with id {}", budgetItemRequestDTO.budgetId());
       List<BudgetItem> existingBudgetItems =
@@ -329,6 +319,7 @@ public class BudgetItemServiceImpl implements BudgetItemService {
       budget.setTotalBudget(grandTotal);
       log.info("Saving budget with id {}", budgetItemRequestDTO.budgetId());
       budgetRepository.save(budget);
+      insightsResultCache.invalidate(userId);
 
       return BudgetItemResponseDTO.builder()
           .id(budgetItem.getId())
@@ -338,7 +329,7 @@ public class BudgetItemServiceImpl implements BudgetItemService {
           .status(budgetItemStatus)
           .statusTooltip(getStatusTooltip(budgetItemStatus))
           .createdAt(budgetItem.getCreatedAt())
-          .actualSpend(getActualSpend(userId, budgetItem.getId()))
+          .actualSpend(actualSpend)
           .budgetId(budgetItem.getBudget().getId())
           .build();
 
@@ -377,24 +368,13 @@ public class BudgetItemServiceImpl implements BudgetItemService {
     log.info("Received request to delete budget item with id {}", budgetItemId);
 
     try {
-      Long userId = Objects.requireNonNull(GetLoggedInUserUtil.getUser()).getId();
+      Long userId = currentUserContext.getUserId();
 
-      BudgetItem budgetItem =
-          budgetItemRepository
-              .findById(budgetItemId)
-              .orElseThrow(
-                  () -> new NotFoundException("Budget item not found with id: " + budgetItemId));
-
-      if (!Objects.equals(budgetItem.getBudget().getUser().getId(), userId)) {
-        throw new NotAuthorizedException("You are not authorized to delete this budget item");
-      }
+      BudgetItem budgetItem = findOwnedBudgetItem(budgetItemId, userId, "delete");
 
-      // Update the total budget for the budget
+      // Update the total budget for the budget, which was fetched along with the item
       Long budgetID = budgetItem.getBudget().getId();
-      Budget budget =
-          budgetRepository
-              .findById(budgetID)
-              .orElseThrow(() -> new NotFoundException("Budget not found with id: " + budgetID));
+      Budget budget = budgetItem.getBudget();
 
       List<BudgetItem> existingBudgetItems = budgetItemRepository.findAllByBudgetId(budgetID);
       BigDecimal totalExistingBudget =
@@ -406,8 +386,11 @@ public class BudgetItemServiceImpl implements BudgetItemService {
       budget.setTotalBudget(grandTotal);
       budgetRepository.save(budget);
 
-      // Delete the budget item
+      // Delete the budget item, and with it its expenses
+      expenseDailyRollupRepository.removeExpensesOfBudgetItem(budgetItemId);
+      expenseRepository.removeExpensesOfBudgetItem(budgetItemId);
       budgetItemRepository.delete(budgetItem);
+      insightsResultCache.invalidate(userId);
 
       return GeneralResponseDTO.builder()
           .status(HttpStatus.OK)
@@ -427,36 +410,56 @@ public class BudgetItemServiceImpl implements BudgetItemService {
   }
 
   /**
-   * Determines the status of a budget item based on the actual spend and allocated amount.
-   *
-   * <p>The status is determined as follows:
+   * Loads a budget of the given user. The lookup is a single query scoped to the user; only when it
+   * finds nothing is the budget looked up by id alone, to tell a foreign budget from a missing one.
    *
-   * <ul>
-   *   <li>If the actual spend is greater than the allocated amount, the status is {@link
-   *       BudgetItemStatus#OVERSPENT}.
-   *   <li>If the actual spend is less than the allocated amount, the status is {@link
-   *       BudgetItemStatus#UNDERSPENT}.
-   *   <li>If the actual spend is equal to the allocated amount, the status is {@link
-   *       BudgetItemStatus#ON_TRACK}.
-   * </ul>
-   *
-   * @param actualSpend the actual spend of the budget item
-   * @param allocatedAmount the allocated amount of the budget item
-   * @return the status of the budget item
+   * @param budgetId the ID of the budget
+   * @param userId the ID of the logged-in user
+   * @param action the attempted action, used in the error message
+   * @return the budget
+   * @throws NotFoundException if the budget does not exist
+   * @throws NotAuthorizedException if the budget belongs to another user
    */
-  private BudgetItemStatus getBudgetItemStatus(BigDecimal actualSpend, BigDecimal allocatedAmount) {
-    BigDecimal threshold = allocatedAmount.multiply(BigDecimal.valueOf(0.9)); // 90% of allocation
-
-    if (actualSpend.compareTo(allocatedAmount) > 0) {
-      return BudgetItemStatus.OVERSPENT; // Spending exceeded allocation
+  private Budget findOwnedBudget(Long budgetId, Long userId, String action)
+      throws NotFoundException, NotAuthorizedException {
+    Optional<Budget> budget = budgetRepository.findByIdAndUserId(budgetId, userId);
+    if (budget.isEmpty()) {
+      throwMissingOrForbiddenBudget(budgetId, action);
     }
-    if (actualSpend.compareTo(threshold) >= 0) {
-      return BudgetItemStatus.AT_RISK; // Close to exceeding allocation
+    return budget.get();
+  }
+
+  private void throwMissingOrForbiddenBudget(Long budgetId, String action)
+      throws NotFoundException, NotAuthorizedException {
+    if (budgetRepository.existsById(budgetId)) {
+      throw new NotAuthorizedException("You are not authorized to " + action + " this budget");
     }
-    if (actualSpend.compareTo(allocatedAmount.multiply(BigDecimal.valueOf(0.5))) < 0) {
-      return BudgetItemStatus.UNDERSPENT; // Less than 50% of allocation used
+    throw new NotFoundException("Budget not found with id: " + budgetId);
+  }
+
+  /**
+   * Loads a budget item whose budget belongs to the given user, together with that budget, in a
+   * single query. Only when it finds nothing is the item looked up by id alone, to tell a foreign
+   * item from a missing one.
+   *
+   * @param budgetItemId the ID of the budget item
+   * @param userId the ID of the logged-in user
+   * @param action the attempted action, used in the error message
+   * @return the budget item
+   * @throws NotFoundException if the budget item does not exist
+   * @throws NotAuthorizedException if the budget item belongs to another user
+   */
+  private BudgetItem findOwnedBudgetItem(Long budgetItemId, Long userId, String action)
+      throws NotFoundException, NotAuthorizedException {
+    Optional<BudgetItem> budgetItem = budgetItemRepository.findByIdAndUserId(budgetItemId, userId);
+    if (budgetItem.isEmpty()) {
+      if (budgetItemRepository.existsById(budgetItemId)) {
+        throw new NotAuthorizedException(
+            "You are not authorized to " + action + " this budget item");
+      }
+      throw new NotFoundException("Budget item not found with id: " + budgetItemId);
     }
-    return BudgetItemStatus.ON_TRACK; // Spending is under control
+    return budgetItem.get();
   }
 
   private String getStatusTooltip(BudgetItemStatus status) {
@@ -471,44 +474,15 @@ public class BudgetItemServiceImpl implements BudgetItemService {
   }
 
   /**
-   * Calculates the total actual spend for a specific budget item by a user.
-   *
-   * <p>This method retrieves all expenses associated with the given user ID and budget item ID,
-   * sums up the amounts of these expenses, and returns the total spend.
-   *
-   * @param userId the ID of the user whose expenses are to be summed
-   * @param budgetItemId the ID of the budget item for which the total spend is calculated
-   * @return the total actual spend as a {@link BigDecimal}
-   */
-  public BigDecimal getActualSpend(Long userId, Long budgetItemId) {
-    return expenseRepository.findAllByUserIdAndBudgetItemId(userId, budgetItemId).stream()
-        .map(Expense::getAmount)
-        .reduce(BigDecimal.ZERO, BigDecimal::add);
-  }
-
-  /**
-   * Retrieves all expenses associated with a specific user ID and budget item ID, and converts them
-   * to a list of {@link ExpenseResponseDTO}.
+   * Retrieves all expenses associated with a specific user ID and budget item ID, read straight
+   * into {@link ExpenseResponseDTO}s.
    *
    * @param userId the ID of the user whose expenses are to be retrieved
    * @param budgetItemId the ID of the budget item for which the expenses are retrieved
    * @return a list of {@link ExpenseResponseDTO} containing the expenses
    */
   private List<ExpenseResponseDTO> getExpensesDTO(Long userId, Long budgetItemId) {
-    List<Expense> expenses = expenseRepository.findAllByUserIdAndBudgetItemId(userId, budgetItemId);
-
-    return expenses.stream()
-        .map(
-            expense ->
-                ExpenseResponseDTO.builder()
-                    .id(expense.getId())
-                    .date(expense.getDate())
-                    .amount(expense.getAmount())
-                    .type(expense.getType())
-                    .description(expense.getDescription())
-                    .categoryId(expense.getCategory().getId())
-                    .categoryName(expense.getCategory().getDisplayName())
-                    .build())
-        .collect(Collectors.toList());
+    return expenseRepository.findAllByFilter(
+        ExpenseFilter.builder().userId(userId).budgetItemId(budgetItemId).build());
   }
 }
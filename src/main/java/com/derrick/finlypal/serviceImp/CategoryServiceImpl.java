@@ -1,5 +1,6 @@
 package com.derrick.finlypal.serviceImp;
 
+import com.derrick.finlypal.config.ReadOnlyTransactional;
 import com.derrick.finlypal.dto.CategoryResponseDTO;
 import com.derrick.finlypal.entity.Category;
 import com.derrick.finlypal.exception.InternalServerErrorException;
@@ -29,6 +30,7 @@ public class CategoryServiceImpl implements CategoryService {
    * @throws InternalServerErrorException if an error occurs while retrieving the categories.
    */
   @Override
+  @ReadOnlyTransactional
   public Page<CategoryResponseDTO> getAllCategories(int page, int pageSize)
       throws InternalServerErrorException {
     log.info("Received request to get all categories");
@@ -55,6 +57,7 @@ public class CategoryServiceImpl implements CategoryService {
    * @throws InternalServerErrorException if an error occurs while retrieving the category
    */
   @Override
+  @ReadOnlyTransactional
   public CategoryResponseDTO getCategoryById(Long id)
       throws NotFoundException, InternalServerErrorException {
     log.info("Received request to get category for id {} ", id);
@@ -92,6 +95,7 @@ public class CategoryServiceImpl implements CategoryService {
    * @throws InternalServerErrorException if an error occurs while retrieving the categories
    */
   @Override
+  @ReadOnlyTransactional
   public Page<CategoryResponseDTO> getCategoriesByName(String categoryName, int page, int pageSize)
       throws InternalServerErrorException {
     log.info("Received request to get categories by name {} ", categoryName);
@@ -1,5 +1,6 @@
 package com.derrick.finlypal.serviceImp;
 
+import com.derrick.finlypal.config.ReadOnlyTransactional;
 import com.derrick.finlypal.dto.CurrencyResponseDTO;
 import com.derrick.finlypal.entity.Currency;
 import com.derrick.finlypal.exception.InternalServerErrorException;
@@ -23,6 +24,7 @@ public class CurrencyServiceImpl implements CurrencyService {
      * @return a list of {@link CurrencyResponseDTO}.
      */
     @Override
+    @ReadOnlyTransactional
     public List<CurrencyResponseDTO> findAll() throws InternalServerErrorException {
         log.info("Received request to get all currencies");
         try {
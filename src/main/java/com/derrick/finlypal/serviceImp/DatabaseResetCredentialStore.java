@@ -0,0 +1,69 @@
+package com.derrick.finlypal.serviceImp;
+
+import com.derrick.finlypal.entity.ResetToken;
+import com.derrick.finlypal.repository.ResetTokenRepository;
+import com.derrick.finlypal.service.ResetCredentialStore;
+import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps reset credentials in the {@code reset_tokens} table, so they are shared by every node. This
+ * is the default store. Expired rows are removed by a periodic bulk delete.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(
+    name = "application.security.resetCredentialStore",
+    havingValue = "database",
+    matchIfMissing = true)
+public class DatabaseResetCredentialStore implements ResetCredentialStore {
+
+  private final ResetTokenRepository resetTokenRepository;
+
+  @Override
+  @Transactional
+  public void save(ResetToken resetToken) {
+    resetTokenRepository.deleteByEmail(resetToken.getEmail());
+    resetTokenRepository.save(resetToken);
+  }
+
+  @Override
+  public Optional<ResetToken> findByEmail(String email) {
+    return resetTokenRepository.findByEmail(email);
+  }
+
+  @Override
+  public Optional<ResetToken> findByOtpAndEmail(Integer otp, String email) {
+    return resetTokenRepository.findByOtpAndEmail(otp, email);
+  }
+
+  @Override
+  public Optional<ResetToken> findByTokenAndEmail(String token, String email) {
+    return resetTokenRepository.findByTokenAndEmail(token, email);
+  }
+
+  @Override
+  public void deleteByEmail(String email) {
+    resetTokenRepository.deleteByEmail(email);
+  }
+
+  @Override
+  public int purgeExpired(LocalDateTime now) {
+    return resetTokenRepository.deleteExpired(now);
+  }
+
+  @Scheduled(fixedDelayString = "${application.security.resetCredentialPurgeMillis:300000}")
+  public void purgeExpired() {
+    int purged = purgeExpired(LocalDateTime.now());
+    if (purged > 0) {
+      log.info("Purged {} expired reset credentials", purged);
+    }
+  }
+}
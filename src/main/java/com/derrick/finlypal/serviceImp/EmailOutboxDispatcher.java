@@ -0,0 +1,222 @@
+package com.derrick.finlypal.serviceImp;
+
+import com.derrick.finlypal.entity.EmailOutbox;
+import com.derrick.finlypal.enums.EmailOutboxStatus;
+import com.derrick.finlypal.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Delivers the emails queued in the outbox. Due messages are claimed in batches and sent over a
+ * single SMTP connection per batch. A message that cannot be delivered is retried with exponential
+ * backoff until it runs out of attempts, after which it is marked as failed.
+ *
+ * <p>Claiming a batch only holds the row locks for as long as it takes to lease the messages, so no
+ * database connection is held during the SMTP exchange. A lease that is never released, e.g.
+ * because the node died mid-batch, simply expires and the messages become due again.
+ */
+@Slf4j
+@Component
+public class EmailOutboxDispatcher {
+
+  private static final int MAX_ERROR_LENGTH = 255;
+
+  private final EmailOutboxRepository emailOutboxRepository;
+  private final JavaMailSender javaMailSender;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final int maxAttempts;
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+  private final Duration lease;
+
+  private final AtomicLong pendingMessages = new AtomicLong();
+  private final Timer sendTimer;
+  private final Counter sentCounter;
+  private final Counter retriedCounter;
+  private final Counter failedCounter;
+
+  public EmailOutboxDispatcher(
+      EmailOutboxRepository emailOutboxRepository,
+      JavaMailSender javaMailSender,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${application.mail.outbox.batchSize:50}") int batchSize,
+      @Value("${application.mail.outbox.maxAttempts:8}") int maxAttempts,
+      @Value("${application.mail.outbox.initialBackoffMillis:5000}") long initialBackoffMillis,
+      @Value("${application.mail.outbox.maxBackoffMillis:3600000}") long maxBackoffMillis,
+      @Value("${application.mail.outbox.leaseMillis:120000}") long leaseMillis) {
+    this.emailOutboxRepository = emailOutboxRepository;
+    this.javaMailSender = javaMailSender;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+    this.maxAttempts = maxAttempts;
+    this.initialBackoff = Duration.ofMillis(initialBackoffMillis);
+    this.maxBackoff = Duration.ofMillis(maxBackoffMillis);
+    this.lease = Duration.ofMillis(leaseMillis);
+
+    Gauge.builder("email.outbox.pending", pendingMessages, AtomicLong::get)
+        .description("Emails waiting in the outbox")
+        .register(meterRegistry);
+    this.sendTimer =
+        Timer.builder("email.outbox.send")
+            .description("Time spent delivering a batch of emails over SMTP")
+            .register(meterRegistry);
+    this.sentCounter = meterRegistry.counter("email.outbox.messages", "result", "sent");
+    this.retriedCounter = meterRegistry.counter("email.outbox.messages", "result", "retried");
+    this.failedCounter = meterRegistry.counter("email.outbox.messages", "result", "failed");
+  }
+
+  /** Drains every due message from the outbox, one batch at a time. */
+  @Scheduled(fixedDelayString = "${application.mail.outbox.pollIntervalMillis:2000}")
+  public void dispatch() {
+    try {
+      int claimed;
+      do {
+        claimed = dispatchBatch();
+      } while (claimed == batchSize);
+    } catch (RuntimeException e) {
+      log.error("Error while dispatching the email outbox", e);
+    } finally {
+      pendingMessages.set(emailOutboxRepository.countByStatus(EmailOutboxStatus.PENDING));
+    }
+  }
+
+  /**
+   * Claims, sends and settles a single batch of due messages.
+   *
+   * @return the number of messages claimed
+   */
+  int dispatchBatch() {
+    LocalDateTime now = LocalDateTime.now();
+    List<EmailOutbox> batch = claimBatch(now);
+    if (batch.isEmpty()) {
+      return 0;
+    }
+
+    log.info("Dispatching {} queued emails", batch.size());
+    Map<EmailOutbox, Exception> failures = send(batch);
+
+    for (EmailOutbox message : batch) {
+      Exception failure = failures.get(message);
+      if (failure == null) {
+        message.setStatus(EmailOutboxStatus.SENT);
+        message.setSentAt(LocalDateTime.now());
+        message.setLastError(null);
+        sentCounter.increment();
+      } else {
+        scheduleRetry(message, failure);
+      }
+    }
+    transactionTemplate.executeWithoutResult(status -> emailOutboxRepository.saveAll(batch));
+
+    return batch.size();
+  }
+
+  private List<EmailOutbox> claimBatch(LocalDateTime now) {
+    return transactionTemplate.execute(
+        status -> {
+          List<EmailOutbox> due =
+              emailOutboxRepository.findDueForUpdate(now, PageRequest.of(0, batchSize));
+          // Lease the messages so that other dispatchers skip them while they are being sent
+          due.forEach(message -> message.setNextAttemptAt(now.plus(lease)));
+          return due;
+        });
+  }
+
+  /**
+   * Sends the batch over one SMTP connection.
+   *
+   * @return the messages that could not be delivered, with the reason
+   */
+  private Map<EmailOutbox, Exception> send(List<EmailOutbox> batch) {
+    Map<EmailOutbox, Exception> failures = new IdentityHashMap<>();
+    Map<MimeMessage, EmailOutbox> messages = new IdentityHashMap<>();
+
+    for (EmailOutbox message : batch) {
+      try {
+        messages.put(toMimeMessage(message), message);
+      } catch (MessagingException e) {
+        failures.put(message, e);
+      }
+    }
+    if (messages.isEmpty()) {
+      return failures;
+    }
+
+    Timer.Sample sample = Timer.start();
+    try {
+      javaMailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+    } catch (MailSendException e) {
+      if (e.getFailedMessages().isEmpty()) {
+        messages.values().forEach(message -> failures.put(message, e));
+      }
+      e.getFailedMessages().forEach((failed, cause) -> failures.put(messages.get(failed), cause));
+    } catch (MailException e) {
+      log.error("Could not connect to the mail server", e);
+      messages.values().forEach(message -> failures.put(message, e));
+    } finally {
+      sample.stop(sendTimer);
+    }
+    return failures;
+  }
+
+  private MimeMessage toMimeMessage(EmailOutbox message) throws MessagingException {
+    MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+    MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "UTF-8");
+    helper.setTo(message.getRecipient());
+    helper.setSubject(message.getSubject());
+    helper.setText(message.getBody());
+    return mimeMessage;
+  }
+
+  private void scheduleRetry(EmailOutbox message, Exception failure) {
+    int attempts = message.getAttempts() + 1;
+    message.setAttempts(attempts);
+    message.setLastError(truncate(String.valueOf(failure.getMessage())));
+
+    if (attempts >= maxAttempts) {
+      log.error("Giving up on email {} to {}", message.getId(), message.getRecipient(), failure);
+      message.setStatus(EmailOutboxStatus.FAILED);
+      failedCounter.increment();
+      return;
+    }
+
+    Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+    if (backoff.compareTo(maxBackoff) > 0) {
+      backoff = maxBackoff;
+    }
+    log.warn(
+        "Could not send email {} to {}, retrying in {}",
+        message.getId(),
+        message.getRecipient(),
+        backoff);
+    message.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+    retriedCounter.increment();
+  }
+
+  private static String truncate(String error) {
+    return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+  }
+}
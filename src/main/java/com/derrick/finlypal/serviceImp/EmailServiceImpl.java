@@ -1,12 +1,14 @@
 package com.derrick.finlypal.serviceImp;
 
+import com.derrick.finlypal.entity.EmailOutbox;
 import com.derrick.finlypal.exception.InternalServerErrorException;
+import com.derrick.finlypal.repository.EmailOutboxRepository;
 import com.derrick.finlypal.service.EmailService;
+import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.MailException;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -14,26 +16,36 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
 
-  private final JavaMailSender javaMailSender;
+  private final EmailOutboxRepository emailOutboxRepository;
 
+  /**
+   * Queues an email for delivery by writing it to the outbox. When called inside a transaction the
+   * message is only queued if that transaction commits, so an email is never sent for data that was
+   * rolled back. The actual SMTP delivery happens in the background, see {@link
+   * EmailOutboxDispatcher}.
+   *
+   * @param to the recipient of the email
+   * @param subject the subject of the email
+   * @param body the plain text body of the email
+   * @throws InternalServerErrorException if the message could not be queued
+   */
   @Override
+  @Transactional
   public void sendEmail(String to, String subject, String body)
       throws InternalServerErrorException {
-    SimpleMailMessage message = new SimpleMailMessage();
-
     try {
-      log.info("Received request to send email to {}", to);
-      message.setTo(to);
-      message.setSubject(subject);
-      message.setText(body);
-
-      log.info("Sending email to {}", to);
-      javaMailSender.send(message);
-      log.info("Email sent to {}", to);
-    } catch (MailException e) {
-      log.error("Failed to send email to {}", to, e);
+      log.info("Queueing email to {}", to);
+      emailOutboxRepository.save(
+          EmailOutbox.builder()
+              .recipient(to)
+              .subject(subject)
+              .body(body)
+              .nextAttemptAt(LocalDateTime.now())
+              .build());
+    } catch (DataAccessException e) {
+      log.error("Failed to queue email to {}", to, e);
       throw new InternalServerErrorException(
-          "An error occurred while sending email to " + e.getMessage());
+          "An error occurred while queueing email to " + e.getMessage());
     }
   }
 }
@@ -0,0 +1,86 @@
+package com.derrick.finlypal.serviceImp;
+
+import com.derrick.finlypal.repository.ExpenseDailyRollupRepository;
+import com.derrick.finlypal.repository.UserRepository;
+import com.derrick.finlypal.util.InsightsResultCache;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Periodically recomputes the daily expense totals from the expenses. The totals are maintained by
+ * every expense write, so a rebuild normally rewrites them unchanged; it repairs totals that
+ * drifted because expenses were changed outside the application, and drops days whose expenses have
+ * all been removed. Users are rebuilt a batch at a time, each batch in its own short transaction.
+ */
+@Slf4j
+@Component
+public class ExpenseDailyRollupRebuilder {
+
+  private final UserRepository userRepository;
+  private final ExpenseDailyRollupRepository expenseDailyRollupRepository;
+  private final InsightsResultCache insightsResultCache;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+
+  public ExpenseDailyRollupRebuilder(
+      UserRepository userRepository,
+      ExpenseDailyRollupRepository expenseDailyRollupRepository,
+      InsightsResultCache insightsResultCache,
+      PlatformTransactionManager transactionManager,
+      @Value("${application.expenses.rollupRebuildBatchSize:100}") int batchSize) {
+    this.userRepository = userRepository;
+    this.expenseDailyRollupRepository = expenseDailyRollupRepository;
+    this.insightsResultCache = insightsResultCache;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+  }
+
+  /** Rebuilds the totals of every user. The first run waits a full interval after startup. */
+  @Scheduled(
+      fixedDelayString = "${application.expenses.rollupRebuildMillis:86400000}",
+      initialDelayString = "${application.expenses.rollupRebuildMillis:86400000}")
+  public void rebuild() {
+    try {
+      rebuildAll();
+    } catch (RuntimeException e) {
+      log.error("Error while rebuilding the daily expense totals", e);
+    }
+  }
+
+  /**
+   * Rebuilds the totals of every user, in batches of users.
+   *
+   * @return the number of rows written
+   */
+  int rebuildAll() {
+    long afterId = 0;
+    int users = 0;
+    int rows = 0;
+    List<Long> userIds;
+    do {
+      userIds = userRepository.findIdsAfter(afterId, Limit.of(batchSize));
+      if (userIds.isEmpty()) {
+        break;
+      }
+      List<Long> batch = userIds;
+      rows +=
+          transactionTemplate.execute(
+              status -> {
+                // A repaired total changes the insights of its user
+                batch.forEach(insightsResultCache::invalidate);
+                return expenseDailyRollupRepository.rebuild(batch);
+              });
+      users += batch.size();
+      afterId = batch.get(batch.size() - 1);
+    } while (userIds.size() == batchSize);
+
+    log.info("Rebuilt {} daily expense totals of {} users", rows, users);
+    return rows;
+  }
+}
@@ -1,5 +1,9 @@
 package com.derrick.finlypal.serviceImp;
 
+import com.derrick.finlypal.config.ReadOnlyTransactional;
+import com.derrick.finlypal.dto.ExpenseCursorPageDTO;
+import com.derrick.finlypal.dto.ExpenseImportErrorDTO;
+import com.derrick.finlypal.dto.ExpenseImportReportDTO;
 import com.derrick.finlypal.dto.ExpenseRequestDTO;
 import com.derrick.finlypal.dto.ExpenseResponseDTO;
 import com.derrick.finlypal.dto.GeneralResponseDTO;
@@ -8,6 +12,7 @@ import com.derrick.finlypal.entity.Category;
 import com.derrick.finlypal.entity.Expense;
 import com.derrick.finlypal.entity.Savings;
 import com.derrick.finlypal.entity.User;
+import com.derrick.finlypal.enums.ExpenseFileFormat;
 import com.derrick.finlypal.enums.ExpenseType;
 import com.derrick.finlypal.exception.BadRequestException;
 import com.derrick.finlypal.exception.InternalServerErrorException;
@@ -15,19 +20,44 @@ import com.derrick.finlypal.exception.NotAuthorizedException;
 import com.derrick.finlypal.exception.NotFoundException;
 import com.derrick.finlypal.repository.BudgetItemRepository;
 import com.derrick.finlypal.repository.CategoryRepository;
+import com.derrick.finlypal.repository.ExpenseDailyRollupRepository;
+import com.derrick.finlypal.repository.ExpenseFilter;
 import com.derrick.finlypal.repository.ExpenseRepository;
 import com.derrick.finlypal.repository.SavingsRepository;
 import com.derrick.finlypal.service.ExpenseService;
-import com.derrick.finlypal.util.GetLoggedInUserUtil;
+import com.derrick.finlypal.util.CurrentUserContext;
+import com.derrick.finlypal.util.ExpenseCursor;
+import com.derrick.finlypal.util.ExpenseExportWriter;
+import com.derrick.finlypal.util.ExpenseImportReader;
+import com.derrick.finlypal.util.InsightsResultCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 // ToDo: Update docstring to reflect the changes made by add savings and budget items to Expense
 
@@ -37,15 +67,37 @@ import org.springframework.stereotype.Service;
 public class ExpenseServiceImpl implements ExpenseService {
 
   private final ExpenseRepository expenseRepository;
+  private final ExpenseDailyRollupRepository expenseDailyRollupRepository;
   private final CategoryRepository categoryRepository;
   private final BudgetItemRepository budgetItemRepository;
   private final SavingsRepository savingsRepository;
+  private final CurrentUserContext currentUserContext;
+  private final InsightsResultCache insightsResultCache;
+  private final ExpenseExportWriter expenseExportWriter;
+  private final PlatformTransactionManager transactionManager;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+
+  @Value("${application.expenses.maxPageSize:100}")
+  private int maxPageSize;
+
+  @Value("${application.expenses.approximateTotalCap:10000}")
+  private int approximateTotalCap;
+
+  @Value("${application.expenses.exportFetchSize:1000}")
+  private int exportFetchSize;
+
+  @Value("${application.expenses.importBatchSize:1000}")
+  private int importBatchSize;
+
+  @Value("${application.expenses.importErrorLimit:1000}")
+  private int importErrorLimit;
 
   /**
    * This method is used to find an expense by its id. It returns an {@link ExpenseResponseDTO} if
-   * the expense is found, otherwise it throws a {@link NotFoundException}. It also checks if the
-   * user is authorized to view the expense by comparing the user id of the expense and the logged
-   * in user. If the user is not authorized, it throws a {@link NotAuthorizedException}. If any
+   * the expense is found, otherwise it throws a {@link NotFoundException}. The expense is looked up
+   * together with the logged in user, so only the user's own expenses are ever loaded. If the
+   * expense exists but belongs to someone else, it throws a {@link NotAuthorizedException}. If any
    * unexpected error occurs while trying to find the expense, it throws an {@link
    * InternalServerErrorException}.
    *
@@ -57,36 +109,19 @@ public class ExpenseServiceImpl implements ExpenseService {
    *     expense
    */
   @Override
+  @ReadOnlyTransactional
   public ExpenseResponseDTO findById(Long expense_id)
       throws NotFoundException, NotAuthorizedException, InternalServerErrorException {
     log.info("Finding expense with id {}", expense_id);
     try {
-      Expense expense =
-          expenseRepository
-              .findById(expense_id)
-              .orElseThrow(() -> new NotFoundException("Could not find expense with id"));
-
-      Long expenseUserId = expense.getUser().getId();
-      Long loggedInUserId = Objects.requireNonNull(GetLoggedInUserUtil.getUser()).getId();
-
-      log.info("expenseUserId {}", expenseUserId);
-      log.info("loggedInUserId {}", loggedInUserId);
-
-      if (!expenseUserId.equals(loggedInUserId)) {
-        throw new NotAuthorizedException("You are not authorized to view this expense");
+      Optional<ExpenseResponseDTO> expense =
+          expenseRepository.findResponseByIdAndUserId(expense_id, currentUserContext.getUserId());
+      if (expense.isEmpty()) {
+        throwMissingOrForbidden(expense_id, "view");
       }
 
       log.info("Found expense with id {}", expense_id);
-      return ExpenseResponseDTO.builder()
-          .id(expense.getId())
-          .date(expense.getDate())
-          .amount(expense.getAmount())
-          .description(expense.getDescription())
-          .categoryId(expense.getCategory().getId())
-          .categoryName(expense.getCategory().getDisplayName())
-          .savingsItemId(expense.getSavings() != null ? expense.getSavings().getId() : null)
-          .budgetItemId(expense.getBudgetItem() != null ? expense.getBudgetItem().getId() : null)
-          .build();
+      return expense.get();
 
     } catch (NotFoundException e) {
       log.info("Could not find expense with id {}", expense_id);
@@ -121,6 +156,7 @@ public class ExpenseServiceImpl implements ExpenseService {
    *     expenses
    */
   @Override
+  @ReadOnlyTransactional
   public Page<ExpenseResponseDTO> findAllByUserIdOrDateBetweenOrTypeOrCategoryId(
       ExpenseType expenseType,
       LocalDate startDate,
@@ -137,33 +173,355 @@ public class ExpenseServiceImpl implements ExpenseService {
         endDate,
         categoryId);
 
-    if ((startDate != null && endDate == null) || (startDate == null && endDate != null)) {
+    validateOptionalDateRange(startDate, endDate);
+
+    ExpenseFilter filter =
+        ExpenseFilter.builder()
+            .userId(currentUserContext.getUserId())
+            .startDate(startDate)
+            .endDate(endDate)
+            .type(expenseType)
+            .categoryId(categoryId)
+            .build();
+    Pageable pageable = PageRequest.of(page, pageSize);
+
+    try {
+      Page<ExpenseResponseDTO> expenses = expenseRepository.findAllByFilter(filter, pageable);
+      log.info("Found {} expenses", expenses.getTotalElements());
+      return expenses;
+    } catch (Exception e) {
+      log.error("Error fetching expenses: {}", e.getMessage());
+      throw new InternalServerErrorException("Error retrieving expenses.");
+    }
+  }
+
+  /**
+   * This method is used to page through the expenses of the currently logged in user, newest first,
+   * using a cursor instead of a page number. Each page continues right after the last expense of
+   * the previous page, so it is read straight from the {@code (user_id, date, id)} index no matter
+   * how deep the page is, and no count query is run. The response carries the cursor of the next
+   * page, if there is one. A total can be requested, which is counted only up to a fixed cap. If
+   * the dates or the cursor are invalid, it throws a {@link BadRequestException}. If any unexpected
+   * error occurs while trying to find the expenses, it throws an {@link
+   * InternalServerErrorException}.
+   *
+   * @param expenseType the type of expense to be found
+   * @param startDate the start date of the range, inclusive
+   * @param endDate the end date of the range, inclusive
+   * @param categoryId the category id of the expense, if provided
+   * @param cursor the cursor returned with the previous page, or null for the first page
+   * @param pageSize the number of items to be returned in the page
+   * @param includeTotal whether to count the matching expenses
+   * @return a page of expenses with the cursor of the next page
+   * @throws BadRequestException if the request is invalid
+   * @throws InternalServerErrorException if any unexpected error occurs while trying to find the
+   *     expenses
+   */
+  @Override
+  @ReadOnlyTransactional
+  public ExpenseCursorPageDTO findAllByCursor(
+      ExpenseType expenseType,
+      LocalDate startDate,
+      LocalDate endDate,
+      Long categoryId,
+      String cursor,
+      int pageSize,
+      boolean includeTotal)
+      throws InternalServerErrorException, BadRequestException {
+
+    log.info(
+        "Paging expenses: Type: {}, Dates: {} - {}, Category: {}, Cursor: {}",
+        expenseType,
+        startDate,
+        endDate,
+        categoryId,
+        cursor);
+
+    if (startDate == null || endDate == null) {
       throw new BadRequestException("Both start date and end date must be provided together.");
     }
 
-    if (startDate != null && startDate.isAfter(endDate)) {
+    if (startDate.isAfter(endDate)) {
       throw new BadRequestException("Start date cannot be after end date.");
     }
 
-    if (startDate != null && endDate.isBefore(startDate)) {
-      throw new BadRequestException("End date must not be before start date");
+    if (pageSize < 1 || pageSize > maxPageSize) {
+      throw new BadRequestException("Page size must be between 1 and " + maxPageSize);
     }
 
-    Long userId = Objects.requireNonNull(GetLoggedInUserUtil.getUser()).getId();
-    Pageable pageable = PageRequest.of(page, pageSize);
+    ExpenseCursor position =
+        cursor == null || cursor.isBlank()
+            ? ExpenseCursor.first(endDate)
+            : ExpenseCursor.decode(cursor);
+    ExpenseFilter filter =
+        ExpenseFilter.builder()
+            .userId(currentUserContext.getUserId())
+            .startDate(startDate)
+            .endDate(endDate)
+            .type(expenseType)
+            .categoryId(categoryId)
+            .build();
 
     try {
-      Page<Expense> expenses =
-          expenseRepository.findAllByFilters(
-              userId, startDate, endDate, expenseType, categoryId, pageable);
-      log.info("Found {} expenses", expenses.getTotalElements());
-      return convertExpenseToExpenseDTO(expenses);
+      // Fetch one extra row to learn whether another page follows
+      List<ExpenseResponseDTO> expenses =
+          expenseRepository.findAllByFilterAfter(
+              filter, position.date(), position.id(), pageSize + 1);
+
+      boolean hasNext = expenses.size() > pageSize;
+      List<ExpenseResponseDTO> content = hasNext ? expenses.subList(0, pageSize) : expenses;
+      ExpenseResponseDTO last = content.isEmpty() ? null : content.get(content.size() - 1);
+
+      Long approximateTotal =
+          includeTotal ? expenseRepository.countByFilterUpTo(filter, approximateTotalCap) : null;
+
+      log.info("Found {} expenses, has next page: {}", content.size(), hasNext);
+      return ExpenseCursorPageDTO.builder()
+          .content(content)
+          .nextCursor(hasNext ? new ExpenseCursor(last.getDate(), last.getId()).encode() : null)
+          .hasNext(hasNext)
+          .approximateTotal(approximateTotal)
+          .build();
     } catch (Exception e) {
-      log.error("Error fetching expenses: {}", e.getMessage());
+      log.error("Error paging expenses: {}", e.getMessage());
       throw new InternalServerErrorException("Error retrieving expenses.");
     }
   }
 
+  /**
+   * This method is used to export the expenses of the currently logged in user, newest first, as
+   * CSV or newline delimited JSON. The request is validated and the user resolved up front; the
+   * returned body then streams the expenses from a forward-only database cursor into the response,
+   * optionally gzipped, inside a read-only transaction that keeps the cursor open. Rows are written
+   * as they are fetched, so memory use stays flat however many expenses are exported. The dates are
+   * optional, as in the expense list, but only together; without them every date is exported. If
+   * the dates are invalid, it throws a {@link BadRequestException}.
+   *
+   * @param format the format of the export
+   * @param expenseType the type of expense to be exported, if provided
+   * @param startDate the start date of the range, inclusive, if provided
+   * @param endDate the end date of the range, inclusive, if provided
+   * @param categoryId the category id of the expenses, if provided
+   * @param gzip whether to compress the export
+   * @return the body writing the export to the response
+   * @throws BadRequestException if the request is invalid
+   */
+  @Override
+  public StreamingResponseBody exportExpenses(
+      ExpenseFileFormat format,
+      ExpenseType expenseType,
+      LocalDate startDate,
+      LocalDate endDate,
+      Long categoryId,
+      boolean gzip)
+      throws BadRequestException {
+
+    log.info(
+        "Exporting expenses as {}: Type: {}, Dates: {} - {}, Category: {}",
+        format,
+        expenseType,
+        startDate,
+        endDate,
+        categoryId);
+
+    validateOptionalDateRange(startDate, endDate);
+
+    // The body is written on another thread, where the request scoped user is not available
+    ExpenseFilter filter =
+        ExpenseFilter.builder()
+            .userId(currentUserContext.getUserId())
+            .startDate(startDate)
+            .endDate(endDate)
+            .type(expenseType)
+            .categoryId(categoryId)
+            .build();
+
+    return outputStream -> {
+      TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+      transactionTemplate.setReadOnly(true);
+      Long exported =
+          transactionTemplate.execute(
+              status -> {
+                try (Stream<ExpenseResponseDTO> expenses =
+                    expenseRepository.streamByFilter(filter, exportFetchSize)) {
+                  return expenseExportWriter.write(expenses, format, gzip, outputStream);
+                } catch (IOException e) {
+                  throw new UncheckedIOException(e);
+                }
+              });
+      log.info("Exported {} expenses of user {}", exported, filter.userId());
+    };
+  }
+
+  /**
+   * This method is used to import expenses for the currently logged in user from a CSV or newline
+   * delimited JSON body, which is read as it streams in. The ids of the categories and of the
+   * user's budget items and savings goals are loaded once up front, so each row is validated in
+   * memory; rows that fail are skipped and listed in the report with their row number, up to a
+   * fixed limit. Valid rows are inserted in chunks, each in its own transaction and sent as JDBC
+   * batches, so chunks inserted before an unexpected failure stay imported. If the body lacks a
+   * required CSV column, it throws a {@link BadRequestException}. If any unexpected error occurs,
+   * it throws an {@link InternalServerErrorException}.
+   *
+   * @param format the format of the body
+   * @param body the body of the request
+   * @return a report of the rows imported and rejected
+   * @throws BadRequestException if the body cannot be imported
+   * @throws InternalServerErrorException if any unexpected error occurs while importing
+   */
+  @Override
+  public ExpenseImportReportDTO importExpenses(ExpenseFileFormat format, InputStream body)
+      throws BadRequestException, InternalServerErrorException {
+    log.info("Received {} expense import", format);
+
+    User user = currentUserContext.getUser();
+    long totalRows = 0;
+    long importedRows = 0;
+    long failedRows = 0;
+    List<ExpenseImportErrorDTO> errors = new ArrayList<>();
+
+    try (ExpenseImportReader reader = ExpenseImportReader.open(body, format, objectMapper)) {
+      Set<Long> categoryIds = new HashSet<>(categoryRepository.findAllIds());
+      Set<Long> budgetItemIds = new HashSet<>(budgetItemRepository.findIdsByUserId(user.getId()));
+      Set<Long> savingsIds = new HashSet<>(savingsRepository.findIdsByUserId(user.getId()));
+      List<Expense> chunk = new ArrayList<>(importBatchSize);
+
+      for (ExpenseImportReader.Row row = reader.next(); row != null; row = reader.next()) {
+        totalRows++;
+        String error =
+            row.error() != null
+                ? row.error()
+                : validateImportedExpense(row.expense(), categoryIds, budgetItemIds, savingsIds);
+        if (error != null) {
+          failedRows++;
+          if (errors.size() < importErrorLimit) {
+            errors.add(ExpenseImportErrorDTO.builder().row(row.number()).message(error).build());
+          }
+          continue;
+        }
+
+        chunk.add(toImportedExpense(row.expense(), user));
+        if (chunk.size() == importBatchSize) {
+          insertImportedChunk(chunk);
+          importedRows += chunk.size();
+          chunk = new ArrayList<>(importBatchSize);
+        }
+      }
+
+      if (!chunk.isEmpty()) {
+        insertImportedChunk(chunk);
+        importedRows += chunk.size();
+      }
+
+    } catch (BadRequestException e) {
+      log.error(e.getMessage());
+      throw e;
+    } catch (Exception e) {
+      log.error("Import failed after {} imported expenses: {}", importedRows, e.getMessage());
+      throw new InternalServerErrorException(
+          "Error importing expenses, " + importedRows + " were imported before the failure");
+    }
+
+    log.info("Imported {} of {} expenses, {} rejected", importedRows, totalRows, failedRows);
+    return ExpenseImportReportDTO.builder()
+        .totalRows(totalRows)
+        .importedRows(importedRows)
+        .failedRows(failedRows)
+        .errors(errors)
+        .build();
+  }
+
+  /**
+   * Validates the date range of a listing or an export, where the dates are optional but only
+   * together. Without dates, the filter leaves the date predicates out.
+   *
+   * @param startDate the start date of the range, inclusive, if provided
+   * @param endDate the end date of the range, inclusive, if provided
+   * @throws BadRequestException if only one of the dates is provided, or they are out of order
+   */
+  private static void validateOptionalDateRange(LocalDate startDate, LocalDate endDate)
+      throws BadRequestException {
+    if ((startDate != null && endDate == null) || (startDate == null && endDate != null)) {
+      throw new BadRequestException("Both start date and end date must be provided together.");
+    }
+
+    if (startDate != null && startDate.isAfter(endDate)) {
+      throw new BadRequestException("Start date cannot be after end date.");
+    }
+  }
+
+  /**
+   * Inserts a chunk of imported expenses and adds them to the daily totals and the spent amounts in
+   * one transaction, which then invalidates the cached insights of the user.
+   */
+  private void insertImportedChunk(List<Expense> chunk) {
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status -> {
+              expenseRepository.insertAll(chunk, importBatchSize);
+              List<Long> expenseIds = chunk.stream().map(Expense::getId).toList();
+              expenseDailyRollupRepository.addExpenses(expenseIds);
+              expenseRepository.addExpensesToSpend(expenseIds);
+              insightsResultCache.invalidate(currentUserContext.getUserId());
+            });
+  }
+
+  /**
+   * Validates an imported expense against the constraints of {@link ExpenseRequestDTO} and the ids
+   * the user may link it to.
+   *
+   * @return the reason the expense is rejected, or {@code null} if it is valid
+   */
+  private String validateImportedExpense(
+      ExpenseRequestDTO expense,
+      Set<Long> categoryIds,
+      Set<Long> budgetItemIds,
+      Set<Long> savingsIds) {
+    Set<ConstraintViolation<ExpenseRequestDTO>> violations = validator.validate(expense);
+    if (!violations.isEmpty()) {
+      return violations.stream()
+          .map(ConstraintViolation::getMessage)
+          .min(Comparator.naturalOrder())
+          .orElseThrow();
+    }
+    if (expense.categoryID() == null) {
+      return "Category is required";
+    }
+    if (!categoryIds.contains(expense.categoryID())) {
+      return "Could not find category with id: " + expense.categoryID();
+    }
+    if (expense.budgetItemID() != null && !budgetItemIds.contains(expense.budgetItemID())) {
+      return "Could not find budget item with id: " + expense.budgetItemID();
+    }
+    if (expense.savingsID() != null && !savingsIds.contains(expense.savingsID())) {
+      return "Could not find savings with id: " + expense.savingsID();
+    }
+    return null;
+  }
+
+  /**
+   * Builds the expense for a validated import row. Its associations are unloaded references, since
+   * their ids have already been checked.
+   */
+  private Expense toImportedExpense(ExpenseRequestDTO expense, User user) {
+    return Expense.builder()
+        .description(expense.description())
+        .amount(expense.amount())
+        .date(expense.date())
+        .type(expense.type())
+        .user(user)
+        .category(categoryRepository.getReferenceById(expense.categoryID()))
+        .budgetItem(
+            expense.budgetItemID() != null
+                ? budgetItemRepository.getReferenceById(expense.budgetItemID())
+                : null)
+        .savings(
+            expense.savingsID() != null
+                ? savingsRepository.getReferenceById(expense.savingsID())
+                : null)
+        .build();
+  }
+
   /**
    * Adds a new expense to the database. It takes in an {@link ExpenseRequestDTO} as a parameter,
    * and returns a {@link GeneralResponseDTO} indicating the status of the request. If the request
@@ -179,6 +537,7 @@ public class ExpenseServiceImpl implements ExpenseService {
    *     expense
    */
   @Override
+  @Transactional(rollbackOn = Exception.class)
   public ExpenseResponseDTO addExpense(ExpenseRequestDTO expenseRequestDTO)
       throws InternalServerErrorException, BadRequestException {
     log.info("Received new expense request for {}", expenseRequestDTO);
@@ -186,7 +545,7 @@ public class ExpenseServiceImpl implements ExpenseService {
     BudgetItem budgetItem = null;
     Savings savings = null;
     try {
-      User user = Objects.requireNonNull(GetLoggedInUserUtil.getUser());
+      User user = currentUserContext.getUser();
       Category category =
           categoryRepository
               .findById(expenseRequestDTO.categoryID())
@@ -196,24 +555,11 @@ public class ExpenseServiceImpl implements ExpenseService {
                           "Could not find category with id: " + expenseRequestDTO.categoryID()));
 
       if (expenseRequestDTO.budgetItemID() != null) {
-        budgetItem =
-            budgetItemRepository
-                .findById(expenseRequestDTO.budgetItemID())
-                .orElseThrow(
-                    () ->
-                        new BadRequestException(
-                            "Could not find budget item with id: "
-                                + expenseRequestDTO.budgetItemID()));
+        budgetItem = getOwnedBudgetItemReference(expenseRequestDTO.budgetItemID(), user.getId());
       }
 
       if (expenseRequestDTO.savingsID() != null) {
-        savings =
-            savingsRepository
-                .findById(expenseRequestDTO.savingsID())
-                .orElseThrow(
-                    () ->
-                        new BadRequestException(
-                            "Could not find savings with id: " + expenseRequestDTO.savingsID()));
+        savings = getOwnedSavingsReference(expenseRequestDTO.savingsID(), user.getId());
       }
 
       log.info("Found category with id {}", category.getId());
@@ -231,6 +577,19 @@ public class ExpenseServiceImpl implements ExpenseService {
 
       log.info("Saving expense {}", expense);
       expenseRepository.save(expense);
+      expenseDailyRollupRepository.addToDay(
+          user.getId(),
+          expense.getDate(),
+          expense.getType(),
+          category.getId(),
+          expense.getAmount(),
+          1);
+      expenseRepository.addToSpend(
+          budgetItem != null ? budgetItem.getId() : null,
+          savings != null ? savings.getId() : null,
+          expense.getType(),
+          expense.getAmount());
+      insightsResultCache.invalidate(user.getId());
 
       log.info("Saved expense {}", expense);
       return ExpenseResponseDTO.builder()
@@ -273,6 +632,7 @@ public class ExpenseServiceImpl implements ExpenseService {
    *     expense
    */
   @Override
+  @Transactional(rollbackOn = Exception.class)
   public ExpenseResponseDTO updateExpense(Long expenseId, ExpenseRequestDTO expenseRequestDTO)
       throws InternalServerErrorException, NotFoundException, NotAuthorizedException {
     log.info("Received update expense request for {}", expenseRequestDTO);
@@ -281,36 +641,24 @@ public class ExpenseServiceImpl implements ExpenseService {
     Savings savings = null;
 
     try {
-      User user = Objects.requireNonNull(GetLoggedInUserUtil.getUser());
-      Expense expense =
-          expenseRepository
-              .findById(expenseId)
-              .orElseThrow(
-                  () -> new NotFoundException("Could not find expense with id: " + expenseId));
-
-      if (!Objects.equals(expense.getUser().getId(), user.getId())) {
-        throw new NotAuthorizedException("You do not have permission to update this expense");
-      }
+      Long userId = currentUserContext.getUserId();
+      Expense expense = findOwnedExpense(expenseId, userId, "update");
+      Expense previous =
+          Expense.builder()
+              .date(expense.getDate())
+              .type(expense.getType())
+              .category(expense.getCategory())
+              .amount(expense.getAmount())
+              .budgetItem(expense.getBudgetItem())
+              .savings(expense.getSavings())
+              .build();
 
       if (expenseRequestDTO.budgetItemID() != null) {
-        budgetItem =
-            budgetItemRepository
-                .findById(expenseRequestDTO.budgetItemID())
-                .orElseThrow(
-                    () ->
-                        new BadRequestException(
-                            "Could not find budget item with id: "
-                                + expenseRequestDTO.budgetItemID()));
+        budgetItem = getOwnedBudgetItemReference(expenseRequestDTO.budgetItemID(), userId);
       }
 
       if (expenseRequestDTO.savingsID() != null) {
-        savings =
-            savingsRepository
-                .findById(expenseRequestDTO.savingsID())
-                .orElseThrow(
-                    () ->
-                        new BadRequestException(
-                            "Could not find savings with id: " + expenseRequestDTO.savingsID()));
+        savings = getOwnedSavingsReference(expenseRequestDTO.savingsID(), userId);
       }
 
       if (expenseRequestDTO.budgetItemID() != null) {
@@ -350,6 +698,9 @@ public class ExpenseServiceImpl implements ExpenseService {
 
       log.info("Updating expense {}", expense);
       expenseRepository.save(expense);
+      moveInDailyTotals(userId, previous, expense);
+      moveInSpend(previous, expense);
+      insightsResultCache.invalidate(userId);
 
       log.info("Successfully updated expense {}", expense);
       return ExpenseResponseDTO.builder()
@@ -390,24 +741,34 @@ public class ExpenseServiceImpl implements ExpenseService {
    *     expense
    */
   @Override
+  @Transactional(rollbackOn = Exception.class)
   public GeneralResponseDTO deleteExpense(Long id)
       throws InternalServerErrorException, NotAuthorizedException, NotFoundException {
     log.info("Received delete expense request for {}", id);
     try {
-      User user = Objects.requireNonNull(GetLoggedInUserUtil.getUser());
-      Expense expense =
-          expenseRepository
-              .findById(id)
-              .orElseThrow(() -> new NotFoundException("Could not find expense with id:" + id));
+      Long userId = currentUserContext.getUserId();
 
-      if (!Objects.equals(expense.getUser().getId(), user.getId())) {
-        throw new NotAuthorizedException("You do not have permission to delete this expense");
+      log.info("Deleting expense {}", id);
+      ExpenseResponseDTO expense =
+          expenseRepository.findResponseByIdAndUserId(id, userId).orElse(null);
+      if (expense == null || expenseRepository.deleteByIdAndUserId(id, userId) == 0) {
+        throwMissingOrForbidden(id, "delete");
       }
-
-      log.info("Deleting expense {}", expense);
-      expenseRepository.delete(expense);
-
-      log.info("Deleted expense {}", expense);
+      expenseDailyRollupRepository.addToDay(
+          userId,
+          expense.getDate(),
+          expense.getType(),
+          expense.getCategoryId(),
+          expense.getAmount().negate(),
+          -1);
+      expenseRepository.addToSpend(
+          expense.getBudgetItemId(),
+          expense.getSavingsItemId(),
+          expense.getType(),
+          expense.getAmount().negate());
+      insightsResultCache.invalidate(userId);
+
+      log.info("Deleted expense {}", id);
       return GeneralResponseDTO.builder()
           .status(HttpStatus.OK)
           .message("Successfully deleted expense")
@@ -423,27 +784,136 @@ public class ExpenseServiceImpl implements ExpenseService {
   }
 
   /**
-   * Converts a {@link Page} of {@link Expense} to a {@link Page} of {@link ExpenseResponseDTO}. It
-   * takes in a {@link Page} of {@link Expense} and returns a {@link Page} of {@link
-   * ExpenseResponseDTO} containing the same data.
+   * Moves an updated expense in the daily totals. An expense that stays on the same day, type and
+   * category only changes its total by the difference in amount; otherwise it is subtracted from
+   * the totals it was in and added to its new ones.
    *
-   * @param expenses the page of expenses to be converted
-   * @return a page of expense response DTOs containing the same data
+   * @param userId the id of the logged in user
+   * @param previous the date, type, category and amount of the expense before the update
+   * @param expense the updated expense
    */
-  private Page<ExpenseResponseDTO> convertExpenseToExpenseDTO(Page<Expense> expenses) {
-    return expenses.map(
-        expense ->
-            ExpenseResponseDTO.builder()
-                .id(expense.getId())
-                .date(expense.getDate())
-                .amount(expense.getAmount())
-                .type(expense.getType())
-                .description(expense.getDescription())
-                .categoryId(expense.getCategory().getId())
-                .categoryName(expense.getCategory().getDisplayName())
-                .savingsItemId(expense.getSavings() != null ? expense.getSavings().getId() : null)
-                .budgetItemId(
-                    expense.getBudgetItem() != null ? expense.getBudgetItem().getId() : null)
-                .build());
+  private void moveInDailyTotals(Long userId, Expense previous, Expense expense) {
+    Long previousCategoryId =
+        previous.getCategory() != null ? previous.getCategory().getId() : null;
+    Long categoryId = expense.getCategory() != null ? expense.getCategory().getId() : null;
+    if (previous.getDate().equals(expense.getDate())
+        && previous.getType() == expense.getType()
+        && Objects.equals(previousCategoryId, categoryId)) {
+      BigDecimal difference = expense.getAmount().subtract(previous.getAmount());
+      if (difference.signum() != 0) {
+        expenseDailyRollupRepository.addToDay(
+            userId, expense.getDate(), expense.getType(), categoryId, difference, 0);
+      }
+      return;
+    }
+    expenseDailyRollupRepository.addToDay(
+        userId,
+        previous.getDate(),
+        previous.getType(),
+        previousCategoryId,
+        previous.getAmount().negate(),
+        -1);
+    expenseDailyRollupRepository.addToDay(
+        userId, expense.getDate(), expense.getType(), categoryId, expense.getAmount(), 1);
+  }
+
+  /**
+   * Moves an updated expense in the spent amounts. An expense that stays linked to the same budget
+   * item and savings goal with the same type only changes them by the difference in amount;
+   * otherwise it is subtracted from the amounts it was counted in and added to its new ones.
+   *
+   * @param previous the budget item, savings goal, type and amount of the expense before the update
+   * @param expense the updated expense
+   */
+  private void moveInSpend(Expense previous, Expense expense) {
+    Long previousBudgetItemId =
+        previous.getBudgetItem() != null ? previous.getBudgetItem().getId() : null;
+    Long budgetItemId = expense.getBudgetItem() != null ? expense.getBudgetItem().getId() : null;
+    Long previousSavingsId = previous.getSavings() != null ? previous.getSavings().getId() : null;
+    Long savingsId = expense.getSavings() != null ? expense.getSavings().getId() : null;
+    if (Objects.equals(previousBudgetItemId, budgetItemId)
+        && Objects.equals(previousSavingsId, savingsId)
+        && previous.getType() == expense.getType()) {
+      expenseRepository.addToSpend(
+          budgetItemId,
+          savingsId,
+          expense.getType(),
+          expense.getAmount().subtract(previous.getAmount()));
+      return;
+    }
+    expenseRepository.addToSpend(
+        previousBudgetItemId, previousSavingsId, previous.getType(), previous.getAmount().negate());
+    expenseRepository.addToSpend(budgetItemId, savingsId, expense.getType(), expense.getAmount());
+  }
+
+  /**
+   * Loads an expense of the given user. The lookup is a single query scoped to the user; only when
+   * it finds nothing is the expense looked up by id alone, to tell a foreign expense from a missing
+   * one.
+   *
+   * @param expenseId the id of the expense
+   * @param userId the id of the logged in user
+   * @param action the attempted action, used in the error message
+   * @return the expense
+   * @throws NotFoundException if the expense does not exist
+   * @throws NotAuthorizedException if the expense belongs to another user
+   */
+  private Expense findOwnedExpense(Long expenseId, Long userId, String action)
+      throws NotFoundException, NotAuthorizedException {
+    Optional<Expense> expense = expenseRepository.findByIdAndUserId(expenseId, userId);
+    if (expense.isEmpty()) {
+      throwMissingOrForbidden(expenseId, action);
+    }
+    return expense.get();
+  }
+
+  /**
+   * Explains why an expense scoped to the logged in user was not found. Only called once the scoped
+   * query has missed, so the happy path never pays for the extra lookup.
+   *
+   * @param expenseId the id of the expense
+   * @param action the attempted action, used in the error message
+   * @throws NotFoundException if the expense does not exist
+   * @throws NotAuthorizedException if the expense belongs to another user
+   */
+  private void throwMissingOrForbidden(Long expenseId, String action)
+      throws NotFoundException, NotAuthorizedException {
+    if (expenseRepository.existsById(expenseId)) {
+      throw new NotAuthorizedException("You are not authorized to " + action + " this expense");
+    }
+    throw new NotFoundException("Could not find expense with id: " + expenseId);
+  }
+
+  /**
+   * Checks that a budget item belongs to the given user and returns an unloaded reference to it,
+   * which is all that is needed to link an expense to it.
+   *
+   * @param budgetItemId the id of the budget item
+   * @param userId the id of the logged in user
+   * @return a reference to the budget item
+   * @throws BadRequestException if the user has no budget item with that id
+   */
+  private BudgetItem getOwnedBudgetItemReference(Long budgetItemId, Long userId)
+      throws BadRequestException {
+    if (!budgetItemRepository.existsByIdAndUserId(budgetItemId, userId)) {
+      throw new BadRequestException("Could not find budget item with id: " + budgetItemId);
+    }
+    return budgetItemRepository.getReferenceById(budgetItemId);
+  }
+
+  /**
+   * Checks that a savings goal belongs to the given user and returns an unloaded reference to it,
+   * which is all that is needed to link an expense to it.
+   *
+   * @param savingsId the id of the savings goal
+   * @param userId the id of the logged in user
+   * @return a reference to the savings goal
+   * @throws BadRequestException if the user has no savings goal with that id
+   */
+  private Savings getOwnedSavingsReference(Long savingsId, Long userId) throws BadRequestException {
+    if (!savingsRepository.existsByIdAndUserId(savingsId, userId)) {
+      throw new BadRequestException("Could not find savings with id: " + savingsId);
+    }
+    return savingsRepository.getReferenceById(savingsId);
   }
 }
@@ -0,0 +1,102 @@
+package com.derrick.finlypal.serviceImp;
+
+import com.derrick.finlypal.entity.ResetToken;
+import com.derrick.finlypal.service.ResetCredentialStore;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps reset credentials in memory, for single-node deployments where a restart invalidating the
+ * outstanding OTPs and reset links is acceptable. Credentials are indexed by email for lookups and
+ * by expiry for purging, so a purge only visits the credentials that actually expired.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "application.security.resetCredentialStore", havingValue = "memory")
+public class InMemoryResetCredentialStore implements ResetCredentialStore {
+
+  private final Map<String, ResetToken> credentials = new ConcurrentHashMap<>();
+  private final NavigableSet<Expiry> expiries =
+      new ConcurrentSkipListSet<>(
+          Comparator.comparing(Expiry::expiryDate).thenComparing(Expiry::email));
+
+  @Override
+  public void save(ResetToken resetToken) {
+    credentials.compute(
+        resetToken.getEmail(),
+        (email, previous) -> {
+          if (previous != null) {
+            expiries.remove(Expiry.of(previous));
+          }
+          expiries.add(Expiry.of(resetToken));
+          return resetToken;
+        });
+  }
+
+  @Override
+  public Optional<ResetToken> findByEmail(String email) {
+    return Optional.ofNullable(credentials.get(email));
+  }
+
+  @Override
+  public Optional<ResetToken> findByOtpAndEmail(Integer otp, String email) {
+    return findByEmail(email).filter(token -> Objects.equals(token.getOtp(), otp));
+  }
+
+  @Override
+  public Optional<ResetToken> findByTokenAndEmail(String token, String email) {
+    return findByEmail(email).filter(resetToken -> Objects.equals(resetToken.getToken(), token));
+  }
+
+  @Override
+  public void deleteByEmail(String email) {
+    credentials.computeIfPresent(
+        email,
+        (key, token) -> {
+          expiries.remove(Expiry.of(token));
+          return null;
+        });
+  }
+
+  @Override
+  public int purgeExpired(LocalDateTime now) {
+    int purged = 0;
+    Expiry expiry;
+    while ((expiry = expiries.pollFirst()) != null) {
+      if (!expiry.expiryDate().isBefore(now)) {
+        expiries.add(expiry);
+        break;
+      }
+      // Only removes the credential if it has not been replaced in the meantime
+      if (credentials.remove(expiry.email(), expiry.token())) {
+        purged++;
+      }
+    }
+    return purged;
+  }
+
+  @Scheduled(fixedDelayString = "${application.security.resetCredentialPurgeMillis:300000}")
+  public void purgeExpired() {
+    int purged = purgeExpired(LocalDateTime.now());
+    if (purged > 0) {
+      log.info("Purged {} expired reset credentials", purged);
+    }
+  }
+
+  /** Position of a credential in the expiry order. Only the date and the email take part in it. */
+  private record Expiry(LocalDateTime expiryDate, String email, ResetToken token) {
+    static Expiry of(ResetToken token) {
+      return new Expiry(token.getExpiryDate(), token.getEmail(), token);
+    }
+  }
+}
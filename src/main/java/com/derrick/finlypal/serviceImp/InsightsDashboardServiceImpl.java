@@ -0,0 +1,230 @@
+package com.derrick.finlypal.serviceImp;
+
+import com.derrick.finlypal.dto.InsightsDashboardDTO;
+import com.derrick.finlypal.dto.InsightsDashboardSectionDTO;
+import com.derrick.finlypal.enums.ExpenseType;
+import com.derrick.finlypal.enums.InsightMonthlyTrendType;
+import com.derrick.finlypal.enums.InsightsDashboardSection;
+import com.derrick.finlypal.enums.InsightsDashboardSectionStatus;
+import com.derrick.finlypal.exception.BadRequestException;
+import com.derrick.finlypal.service.InsightsDashboardService;
+import com.derrick.finlypal.service.InsightsService;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Computes the sections of the insights dashboard concurrently, each on a virtual thread of an
+ * executor that lives no longer than the request. A section holds a database connection for its
+ * whole query, so at most {@code maxConnections} sections of a request run at once and the others
+ * wait for a permit. Every section must complete before the deadline of the request: the sections
+ * that miss it are interrupted and their queries cancelled by the transaction timeout, and the
+ * dashboard is returned with the sections that did complete.
+ */
+@Slf4j
+@Service
+public class InsightsDashboardServiceImpl implements InsightsDashboardService {
+
+  private static final int TOP_EXPENSES_SIZE = 10;
+
+  private final InsightsService insightsService;
+  private final PlatformTransactionManager transactionManager;
+  private final long deadlineMillis;
+  private final int maxConnections;
+
+  public InsightsDashboardServiceImpl(
+      InsightsService insightsService,
+      PlatformTransactionManager transactionManager,
+      @Value("${application.insights.dashboard.deadlineMillis:2000}") long deadlineMillis,
+      @Value("${application.insights.dashboard.maxConnections:3}") int maxConnections) {
+    this.insightsService = insightsService;
+    this.transactionManager = transactionManager;
+    this.deadlineMillis = deadlineMillis;
+    this.maxConnections = maxConnections;
+  }
+
+  /**
+   * Returns the requested sections of the insights dashboard for a period. A section that misses
+   * the deadline or fails is returned without data, marked as such, instead of failing the whole
+   * dashboard.
+   *
+   * @param startDate the start date of the period, inclusive
+   * @param endDate the end date of the period, inclusive
+   * @param type the type of expenses the spend sections are computed for
+   * @param sections the sections to compute, or every section if empty
+   * @return the dashboard, with a result for every requested section
+   * @throws BadRequestException if the period is invalid
+   */
+  @Override
+  public InsightsDashboardDTO getDashboard(
+      LocalDate startDate,
+      LocalDate endDate,
+      ExpenseType type,
+      Set<InsightsDashboardSection> sections)
+      throws BadRequestException {
+    if (startDate.isAfter(endDate)) {
+      throw new BadRequestException("Start date cannot be after end date");
+    }
+    Set<InsightsDashboardSection> requested =
+        sections.isEmpty() ? EnumSet.allOf(InsightsDashboardSection.class) : sections;
+    log.info("Received request to get the dashboard sections {}", requested);
+
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+    Semaphore connections = new Semaphore(maxConnections);
+    // The request scoped beans are bound to the request thread, so the subtasks bind them too
+    RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+
+    Map<InsightsDashboardSection, InsightsDashboardSectionDTO> results =
+        new EnumMap<>(InsightsDashboardSection.class);
+    ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    try {
+      Map<InsightsDashboardSection, Future<Object>> subtasks =
+          new EnumMap<>(InsightsDashboardSection.class);
+      for (InsightsDashboardSection section : requested) {
+        Callable<Object> query = query(section, startDate, endDate, type);
+        subtasks.put(
+            section,
+            executor.submit(() -> runSection(query, requestAttributes, connections, deadline)));
+      }
+      subtasks.forEach(
+          (section, subtask) -> results.put(section, await(section, subtask, deadline)));
+    } finally {
+      // Interrupts the sections still running instead of waiting for them
+      executor.shutdownNow();
+    }
+
+    return InsightsDashboardDTO.builder()
+        .startDate(startDate)
+        .endDate(endDate)
+        .complete(
+            results.values().stream()
+                .allMatch(result -> result.getStatus() == InsightsDashboardSectionStatus.COMPLETED))
+        .sections(results)
+        .build();
+  }
+
+  private Callable<Object> query(
+      InsightsDashboardSection section, LocalDate startDate, LocalDate endDate, ExpenseType type) {
+    return switch (section) {
+      case TOTAL_SPEND -> () -> insightsService.getTotalSpend(startDate, endDate, type);
+      case SPEND_BY_CATEGORY -> () -> insightsService.getSpendByCategory(startDate, endDate, type);
+      case DAILY_SPEND -> () -> insightsService.getDailyTrend(startDate, endDate, type);
+      case MONTHLY_SPEND -> () -> insightsService.getMonthlyComparison(startDate, endDate, type);
+      case TOP_EXPENSES ->
+          () -> insightsService.getTopExpenses(startDate, endDate, type, 0, TOP_EXPENSES_SIZE);
+      case TOTAL_SAVINGS_AND_BUDGET_AMOUNT ->
+          () -> insightsService.getTotalSavingsAndBudgetAmount(startDate, endDate);
+      case BUDGET_BY_STATUS_SUMMARY ->
+          () -> insightsService.getTotalBudgetByStatusSummary(startDate, endDate);
+      case SAVINGS_BY_STATUS_SUMMARY ->
+          () -> insightsService.getTotalSavingsByStatusSummary(startDate, endDate);
+      case BUDGET_MONTHLY_TREND ->
+          () ->
+              insightsService.getBudgetOrSavingsMonthlyTrend(
+                  startDate, endDate, InsightMonthlyTrendType.BUDGET);
+      case SAVINGS_MONTHLY_TREND ->
+          () ->
+              insightsService.getBudgetOrSavingsMonthlyTrend(
+                  startDate, endDate, InsightMonthlyTrendType.SAVINGS);
+    };
+  }
+
+  /**
+   * Runs the query of a section once a connection permit is free, in a read-only transaction whose
+   * timeout is the time left before the deadline, so a late query is cancelled by the database.
+   */
+  private Object runSection(
+      Callable<Object> query,
+      RequestAttributes requestAttributes,
+      Semaphore connections,
+      long deadline)
+      throws InterruptedException, TimeoutException {
+    RequestContextHolder.setRequestAttributes(requestAttributes);
+    try {
+      if (!connections.tryAcquire(remainingNanos(deadline), TimeUnit.NANOSECONDS)) {
+        throw new TimeoutException("No connection was free before the deadline");
+      }
+      try {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.setTimeout(
+            (int) Math.max(1, Math.ceilDiv(remainingNanos(deadline), 1_000_000_000L)));
+        return transactionTemplate.execute(
+            status -> {
+              try {
+                return query.call();
+              } catch (RuntimeException e) {
+                throw e;
+              } catch (Exception e) {
+                throw new CompletionException(e);
+              }
+            });
+      } finally {
+        connections.release();
+      }
+    } finally {
+      RequestContextHolder.resetRequestAttributes();
+    }
+  }
+
+  private InsightsDashboardSectionDTO await(
+      InsightsDashboardSection section, Future<Object> subtask, long deadline) {
+    try {
+      Object data = subtask.get(Math.max(0, remainingNanos(deadline)), TimeUnit.NANOSECONDS);
+      return InsightsDashboardSectionDTO.builder()
+          .status(InsightsDashboardSectionStatus.COMPLETED)
+          .data(data)
+          .build();
+    } catch (TimeoutException e) {
+      subtask.cancel(true);
+      return timedOut(section);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      subtask.cancel(true);
+      return timedOut(section);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof CompletionException && cause.getCause() != null) {
+        cause = cause.getCause();
+      }
+      if (cause instanceof TimeoutException) {
+        return timedOut(section);
+      }
+      log.error("Error occurred while computing the dashboard section {}", section, cause);
+      return InsightsDashboardSectionDTO.builder()
+          .status(InsightsDashboardSectionStatus.FAILED)
+          .error(cause.getMessage())
+          .build();
+    }
+  }
+
+  private InsightsDashboardSectionDTO timedOut(InsightsDashboardSection section) {
+    log.warn("The dashboard section {} missed the deadline of {} ms", section, deadlineMillis);
+    return InsightsDashboardSectionDTO.builder()
+        .status(InsightsDashboardSectionStatus.TIMED_OUT)
+        .error("Missed the deadline")
+        .build();
+  }
+
+  private static long remainingNanos(long deadline) {
+    return deadline - System.nanoTime();
+  }
+}
@@ -1,9 +1,12 @@
 package com.derrick.finlypal.serviceImp;
 
+import com.derrick.finlypal.config.ReadOnlyTransactional;
 import com.derrick.finlypal.dto.InsightsBudgetOrSavingsMonthlyTrendDTO;
 import com.derrick.finlypal.dto.InsightsMonthlyComparisonDTO;
 import com.derrick.finlypal.dto.InsightsSpendByCategoryDTO;
 import com.derrick.finlypal.dto.InsightsSpendTrendsDTO;
+import com.derrick.finlypal.dto.InsightsTimeSeriesDTO;
+import com.derrick.finlypal.dto.InsightsTopExpensesCursorPageDTO;
 import com.derrick.finlypal.dto.InsightsTopExpensesDTO;
 import com.derrick.finlypal.dto.InsightsTotalBudgetByStatusSummaryDTO;
 import com.derrick.finlypal.dto.InsightsTotalSavingsAndBudgetAmountDTO;
@@ -12,28 +15,33 @@ import com.derrick.finlypal.dto.InsightsTotalSpendDTO;
 import com.derrick.finlypal.enums.BudgetStatus;
 import com.derrick.finlypal.enums.ExpenseType;
 import com.derrick.finlypal.enums.InsightMonthlyTrendType;
+import com.derrick.finlypal.enums.InsightsTimeSeriesGranularity;
 import com.derrick.finlypal.enums.SavingsStatus;
 import com.derrick.finlypal.exception.BadRequestException;
 import com.derrick.finlypal.exception.InternalServerErrorException;
 import com.derrick.finlypal.repository.BudgetRepository;
+import com.derrick.finlypal.repository.ExpenseDailyRollupRepository;
+import com.derrick.finlypal.repository.ExpenseFilter;
 import com.derrick.finlypal.repository.ExpenseRepository;
+import com.derrick.finlypal.repository.ExpenseSpendSummary;
 import com.derrick.finlypal.repository.SavingsRepository;
 import com.derrick.finlypal.service.InsightsService;
-import com.derrick.finlypal.util.GetLoggedInUserUtil;
+import com.derrick.finlypal.util.CurrentUserContext;
+import com.derrick.finlypal.util.InsightsResultCache;
+import com.derrick.finlypal.util.TopExpenseCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.temporal.TemporalAdjusters;
 import java.util.EnumSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -41,9 +49,18 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class InsightsServiceImpl implements InsightsService {
 
+    /** The most buckets a time series may have, so a long range of days stays a bounded response. */
+    private static final long MAX_TIME_SERIES_BUCKETS = 1000;
+
     private final ExpenseRepository expenseRepository;
+    private final ExpenseDailyRollupRepository expenseDailyRollupRepository;
     private final BudgetRepository budgetRepository;
     private final SavingsRepository savingsRepository;
+    private final CurrentUserContext currentUserContext;
+    private final InsightsResultCache insightsResultCache;
+
+    @Value("${application.expenses.maxPageSize:100}")
+    private int maxPageSize;
 
     /**
      * Returns the total spend between the given start date and end date for the given expense type.
@@ -59,6 +76,7 @@ public class InsightsServiceImpl implements InsightsService {
      * @throws BadRequestException          if the request is invalid
      */
     @Override
+    @ReadOnlyTransactional
     public InsightsTotalSpendDTO getTotalSpend(
             LocalDate startDate, LocalDate endDate, ExpenseType type)
             throws InternalServerErrorException, BadRequestException {
@@ -69,23 +87,19 @@ public class InsightsServiceImpl implements InsightsService {
                 startDate,
                 endDate);
         try {
-            Long userId = Objects.requireNonNull(GetLoggedInUserUtil.getUser()).getId();
+            Long userId = currentUserContext.getUserId();
 
             // Default to the first day of the current month if startDate is null
-            if (startDate == null) {
-                startDate = LocalDate.now().withDayOfMonth(1);
-            }
+            LocalDate from = startDate != null ? startDate : LocalDate.now().withDayOfMonth(1);
 
             // Default to today if endDate is null
-            if (endDate == null) {
-                endDate = LocalDate.now();
-            }
+            LocalDate to = endDate != null ? endDate : LocalDate.now();
 
             if (!EnumSet.of(ExpenseType.EXPENSE, ExpenseType.INCOME).contains(type)) {
                 throw new BadRequestException("Invalid expense type. Must be EXPENSE or INCOME");
             }
 
-            BigDecimal total = expenseRepository.findTotalAmount(userId, startDate, endDate, type);
+            BigDecimal total = spendSummary(userId, type, from, to).total();
             log.info("Total {} is {}", type, total);
             return InsightsTotalSpendDTO.builder().totalSpend(total).build();
 
@@ -103,8 +117,8 @@ public class InsightsServiceImpl implements InsightsService {
      * Retrieves the user's spend by category within the specified date range and for a specific
      * expense type. If the start date or end date is null, it throws a {@link BadRequestException}.
      * If the type is not {@link ExpenseType#EXPENSE} or {@link ExpenseType#INCOME}, it throws a
-     * {@link BadRequestException}. It calculates the total spend for each category and computes the
-     * percentage share of each category relative to the total spend.
+     * {@link BadRequestException}. The total spend of each category and its percentage share of the
+     * total spend are read together, in a single query.
      *
      * @param startDate the start date of the range, inclusive
      * @param endDate   the end date of the range, inclusive
@@ -115,12 +129,13 @@ public class InsightsServiceImpl implements InsightsService {
      * @throws BadRequestException          if the request is invalid
      */
     @Override
+    @ReadOnlyTransactional
     public List<InsightsSpendByCategoryDTO> getSpendByCategory(
             LocalDate startDate, LocalDate endDate, ExpenseType type)
             throws InternalServerErrorException, BadRequestException {
         log.info("Received request to get spend by category");
         try {
-            Long userId = Objects.requireNonNull(GetLoggedInUserUtil.getUser()).getId();
+            Long userId = currentUserContext.getUserId();
 
             if (startDate == null || endDate == null) {
                 throw new BadRequestException("Start date and end date cannot be null");
@@ -130,31 +145,7 @@ public class InsightsServiceImpl implements InsightsService {
                 throw new BadRequestException("Invalid expense type. Must be EXPENSE or INCOME");
             }
 
-            // Fetch the total amount
-            BigDecimal totalAmount = expenseRepository.findTotalAmount(userId, startDate, endDate, type);
-
-            // Ensure totalAmount is not zero to prevent division by zero
-            BigDecimal total =
-                    (totalAmount != null && totalAmount.compareTo(BigDecimal.ZERO) > 0)
-                            ? totalAmount
-                            : BigDecimal.ONE;
-
-            // Fetch spend by category with placeholder percentage
-            List<InsightsSpendByCategoryDTO> spendByCategoryList =
-                    expenseRepository.findTotalAmountByCategory(userId, startDate, endDate, type);
-
-            // Calculate percentage for each category
-            for (InsightsSpendByCategoryDTO spendByCategory : spendByCategoryList) {
-                BigDecimal percentage =
-                        spendByCategory
-                                .getTotalSpend()
-                                .multiply(BigDecimal.valueOf(100))
-                                .divide(total, 0, RoundingMode.HALF_UP);
-
-                spendByCategory.setPercentage(percentage.intValue());
-            }
-
-            return spendByCategoryList;
+            return spendSummary(userId, type, startDate, endDate).byCategory();
 
         } catch (BadRequestException e) {
             log.error(e.getMessage());
@@ -166,10 +157,33 @@ public class InsightsServiceImpl implements InsightsService {
         }
     }
 
+    /**
+     * Returns the summary of the spend of a user in a date range, which the total spend, the spend by
+     * category, the daily trend and the monthly comparison are all read from. A dashboard asking for
+     * all four over the same range therefore reads the range once.
+     *
+     * @param userId    the id of the logged in user
+     * @param type      the type of expense
+     * @param startDate the start date of the range, inclusive
+     * @param endDate   the end date of the range, inclusive
+     * @return the summary of the range
+     */
+    private ExpenseSpendSummary spendSummary(
+            Long userId, ExpenseType type, LocalDate startDate, LocalDate endDate) {
+        return insightsResultCache.get(
+                userId,
+                "spend-summary",
+                () -> expenseDailyRollupRepository.summarize(userId, type, startDate, endDate),
+                type,
+                startDate,
+                endDate);
+    }
+
     /**
      * Retrieves the user's spend by day within the specified date range and for a specific expense
      * type. If the start date or end date is null, it defaults to today. If the type is not {@link
      * ExpenseType#EXPENSE} or {@link ExpenseType#INCOME}, it throws a {@link BadRequestException}.
+     * Each day carries the running total of the range up to it.
      *
      * @param startDate the start date of the range, inclusive
      * @param endDate   the end date of the range, inclusive
@@ -179,28 +193,24 @@ public class InsightsServiceImpl implements InsightsService {
      * @throws BadRequestException          if the request is invalid
      */
     @Override
+    @ReadOnlyTransactional
     public List<InsightsSpendTrendsDTO> getDailyTrend(
             LocalDate startDate, LocalDate endDate, ExpenseType type)
             throws InternalServerErrorException, BadRequestException {
         log.info("Received request to get daily trend");
 
         try {
-            Long userId = Objects.requireNonNull(GetLoggedInUserUtil.getUser()).getId();
+            Long userId = currentUserContext.getUserId();
 
             // Set default dates to today if not provided
-            if (startDate == null) {
-                startDate = LocalDate.now();
-            }
-            if (endDate == null) {
-                endDate = LocalDate.now();
-            }
+            LocalDate from = startDate != null ? startDate : LocalDate.now();
+            LocalDate to = endDate != null ? endDate : LocalDate.now();
 
             if (!EnumSet.of(ExpenseType.EXPENSE, ExpenseType.INCOME).contains(type)) {
                 throw new BadRequestException("Invalid expense type. Must be EXPENSE or INCOME");
             }
 
-            // Fetch the data from the repository
-            return expenseRepository.findSpendTrends(userId, startDate, endDate, type);
+            return spendSummary(userId, type, from, to).byDay();
 
         } catch (BadRequestException e) {
             log.error(e.getMessage());
@@ -216,9 +226,8 @@ public class InsightsServiceImpl implements InsightsService {
      * Retrieves the user's spend by month for the given date range and for a specific expense type.
      * If the start date or end date is null, it defaults to the first day and last day of the current
      * year, respectively. If the type is not {@link ExpenseType#EXPENSE} or {@link
-     * ExpenseType#INCOME}, it throws a {@link BadRequestException}. It calculates the total spend for
-     * each month and computes the percentage share of each month relative to the total spend for the
-     * given date range.
+     * ExpenseType#INCOME}, it throws a {@link BadRequestException}. Each month carries the total spend
+     * for the month and the running total of the range up to its end.
      *
      * @param startDate the start date of the range, inclusive
      * @param endDate   the end date of the range, inclusive
@@ -228,27 +237,93 @@ public class InsightsServiceImpl implements InsightsService {
      * @throws BadRequestException          if the request is invalid
      */
     @Override
+    @ReadOnlyTransactional
     public List<InsightsMonthlyComparisonDTO> getMonthlyComparison(
             LocalDate startDate, LocalDate endDate, ExpenseType type)
             throws InternalServerErrorException, BadRequestException {
         log.info("Received request to get monthly comparison");
         try {
-            Long userId = Objects.requireNonNull(GetLoggedInUserUtil.getUser()).getId();
+            Long userId = currentUserContext.getUserId();
             // Set default dates to the beginning and end of the current year if not provided
             LocalDate now = LocalDate.now();
-            if (startDate == null) {
-                startDate = now.with(TemporalAdjusters.firstDayOfYear()); // January 1st
+            LocalDate from =
+                    startDate != null
+                            ? startDate
+                            : now.with(TemporalAdjusters.firstDayOfYear()); // January 1st
+            LocalDate to =
+                    endDate != null
+                            ? endDate
+                            : now.with(TemporalAdjusters.lastDayOfYear()); // December 31st
+
+            if (!EnumSet.of(ExpenseType.EXPENSE, ExpenseType.INCOME).contains(type)) {
+                throw new BadRequestException("Invalid expense type. Must be EXPENSE or INCOME");
             }
-            if (endDate == null) {
-                endDate = now.with(TemporalAdjusters.lastDayOfYear()); // December 31st
+
+            return spendSummary(userId, type, from, to).byMonth();
+
+        } catch (BadRequestException e) {
+            log.error(e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Unexpected error: {}", e.getMessage(), e);
+            throw new InternalServerErrorException(
+                    "An unexpected error occurred while fetching monthly comparison.");
+        }
+    }
+
+    /**
+     * Retrieves the user's spend per bucket of the given granularity within the specified date range
+     * and for a specific expense type. Every bucket the range touches is listed, with a total of zero
+     * if it has no expenses, so the series needs no filling or re-bucketing by the client. If the
+     * start date is after the end date, the type is not {@link ExpenseType#EXPENSE} or {@link
+     * ExpenseType#INCOME}, or the range spans more than {@value #MAX_TIME_SERIES_BUCKETS} buckets,
+     * it throws a {@link BadRequestException}.
+     *
+     * @param startDate   the start date of the range, inclusive
+     * @param endDate     the end date of the range, inclusive
+     * @param type        the type of expense
+     * @param granularity the width of the buckets
+     * @return a {@link InsightsTimeSeriesDTO} holding the bucket starts and their totals
+     * @throws InternalServerErrorException if an unexpected error occurs
+     * @throws BadRequestException          if the request is invalid
+     */
+    @Override
+    @ReadOnlyTransactional
+    public InsightsTimeSeriesDTO getTimeSeries(
+            LocalDate startDate, LocalDate endDate, ExpenseType type, InsightsTimeSeriesGranularity granularity)
+            throws InternalServerErrorException, BadRequestException {
+        log.info(
+                "Received request to get the {} time series of {} between {} and {}",
+                granularity,
+                type,
+                startDate,
+                endDate);
+        try {
+            Long userId = currentUserContext.getUserId();
+
+            if (startDate.isAfter(endDate)) {
+                throw new BadRequestException("Start date cannot be after end date");
             }
 
             if (!EnumSet.of(ExpenseType.EXPENSE, ExpenseType.INCOME).contains(type)) {
                 throw new BadRequestException("Invalid expense type. Must be EXPENSE or INCOME");
             }
 
-            // Fetch the data from the repository
-            return expenseRepository.findMonthlyExpenseComparison(userId, startDate, endDate, type);
+            if (granularity.maxBucketsBetween(startDate, endDate) > MAX_TIME_SERIES_BUCKETS) {
+                throw new BadRequestException(
+                        "The range spans more than " + MAX_TIME_SERIES_BUCKETS + " buckets. "
+                                + "Use a shorter range or a wider granularity");
+            }
+
+            return insightsResultCache.get(
+                    userId,
+                    "time-series",
+                    () -> expenseDailyRollupRepository.sumTotalByBucket(
+                            userId, type, granularity, startDate, endDate),
+                    type,
+                    granularity,
+                    startDate,
+                    endDate);
 
         } catch (BadRequestException e) {
             log.error(e.getMessage());
@@ -256,12 +331,13 @@ public class InsightsServiceImpl implements InsightsService {
         } catch (Exception e) {
             log.error("Unexpected error: {}", e.getMessage(), e);
             throw new InternalServerErrorException(
-                    "An unexpected error occurred while fetching monthly comparison.");
+                    "An unexpected error occurred while fetching the time series.");
         }
     }
 
     /**
-     * Retrieves the top expenses for the given date range and expense type.
+     * Retrieves the top expenses for the given date range and expense type, as a slice that tells
+     * whether more expenses follow without counting them.
      * If the start date or end date is null, it defaults to the first day and last day of the current
      * month, respectively. If the type is not {@link ExpenseType#EXPENSE} or {@link
      * ExpenseType#INCOME}, it throws a {@link BadRequestException}.
@@ -271,34 +347,112 @@ public class InsightsServiceImpl implements InsightsService {
      * @param type      the type of expense
      * @param page      the page number to be returned
      * @param pageSize  the number of items to be returned in each page
-     * @return a page of {@link InsightsTopExpensesDTO} containing top expense details
+     * @return a slice of {@link InsightsTopExpensesDTO} containing top expense details
      * @throws InternalServerErrorException if an unexpected error occurs
      * @throws BadRequestException          if the request is invalid
      */
     @Override
-    public Page<InsightsTopExpensesDTO> getTopExpenses(
+    @ReadOnlyTransactional
+    public Slice<InsightsTopExpensesDTO> getTopExpenses(
             LocalDate startDate, LocalDate endDate, ExpenseType type, int page, int pageSize)
             throws InternalServerErrorException, BadRequestException {
         log.info("Received request to get top expenses");
         Pageable pageable = PageRequest.of(page, pageSize);
         try {
-            Long userId = Objects.requireNonNull(GetLoggedInUserUtil.getUser()).getId();
+            Long userId = currentUserContext.getUserId();
 
             // Default to the first day of the current month if startDate is null
-            if (startDate == null) {
-                startDate = LocalDate.now().withDayOfMonth(1);
-            }
+            LocalDate from = startDate != null ? startDate : LocalDate.now().withDayOfMonth(1);
 
             // Default to today if endDate is null
-            if (endDate == null) {
-                endDate = LocalDate.now();
+            LocalDate to = endDate != null ? endDate : LocalDate.now();
+
+            if (!EnumSet.of(ExpenseType.EXPENSE, ExpenseType.INCOME).contains(type)) {
+                throw new BadRequestException("Invalid expense type. Must be EXPENSE or INCOME");
+            }
+
+            return insightsResultCache.get(
+                    userId,
+                    "top-expenses",
+                    () -> expenseRepository.findTopExpenses(expenseFilter(userId, from, to, type), pageable),
+                    type,
+                    from,
+                    to,
+                    page,
+                    pageSize);
+
+        } catch (BadRequestException e) {
+            log.error(e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Unexpected error: {}", e.getMessage(), e);
+            throw new InternalServerErrorException(
+                    "An unexpected error occurred while fetching top expenses.");
+        }
+    }
+
+    /**
+     * Pages through the top expenses for the given date range and expense type using a cursor
+     * instead of a page number. Each page continues right after the last expense of the previous
+     * page, so the expenses already shown are not read again, and no count query is run. The
+     * response carries the cursor of the next page, if there is one. If the dates, the type, the page
+     * size or the cursor are invalid, it throws a {@link BadRequestException}.
+     *
+     * @param startDate the start date of the range, inclusive
+     * @param endDate   the end date of the range, inclusive
+     * @param type      the type of expense
+     * @param cursor    the cursor returned with the previous page, or null for the first page
+     * @param pageSize  the number of items to be returned in the page
+     * @return a page of top expenses with the cursor of the next page
+     * @throws InternalServerErrorException if an unexpected error occurs
+     * @throws BadRequestException          if the request is invalid
+     */
+    @Override
+    @ReadOnlyTransactional
+    public InsightsTopExpensesCursorPageDTO getTopExpensesByCursor(
+            LocalDate startDate, LocalDate endDate, ExpenseType type, String cursor, int pageSize)
+            throws InternalServerErrorException, BadRequestException {
+        log.info("Received request to get top expenses after cursor {}", cursor);
+        try {
+            Long userId = currentUserContext.getUserId();
+
+            if (startDate.isAfter(endDate)) {
+                throw new BadRequestException("Start date cannot be after end date");
             }
 
             if (!EnumSet.of(ExpenseType.EXPENSE, ExpenseType.INCOME).contains(type)) {
                 throw new BadRequestException("Invalid expense type. Must be EXPENSE or INCOME");
             }
 
-            return expenseRepository.findTopExpenses(userId, startDate, endDate, type, pageable);
+            if (pageSize < 1 || pageSize > maxPageSize) {
+                throw new BadRequestException("Page size must be between 1 and " + maxPageSize);
+            }
+
+            ExpenseFilter filter = expenseFilter(userId, startDate, endDate, type);
+            List<InsightsTopExpensesDTO> content;
+            boolean hasNext;
+            if (cursor == null || cursor.isBlank()) {
+                Slice<InsightsTopExpensesDTO> first =
+                        expenseRepository.findTopExpenses(filter, PageRequest.of(0, pageSize));
+                content = first.getContent();
+                hasNext = first.hasNext();
+            } else {
+                TopExpenseCursor position = TopExpenseCursor.decode(cursor);
+                // Fetch one extra row to learn whether another page follows
+                List<InsightsTopExpensesDTO> expenses =
+                        expenseRepository.findTopExpensesAfter(
+                                filter, position.amount(), position.id(), pageSize + 1);
+                hasNext = expenses.size() > pageSize;
+                content = hasNext ? expenses.subList(0, pageSize) : expenses;
+            }
+
+            InsightsTopExpensesDTO last = content.isEmpty() ? null : content.get(content.size() - 1);
+            return InsightsTopExpensesCursorPageDTO.builder()
+                    .content(content)
+                    .nextCursor(
+                            hasNext ? new TopExpenseCursor(last.getAmount(), last.getId()).encode() : null)
+                    .hasNext(hasNext)
+                    .build();
 
         } catch (BadRequestException e) {
             log.error(e.getMessage());
@@ -321,20 +475,23 @@ public class InsightsServiceImpl implements InsightsService {
      * @throws InternalServerErrorException if an unexpected error occurs
      */
     @Override
+    @ReadOnlyTransactional
     public InsightsTotalSavingsAndBudgetAmountDTO getTotalSavingsAndBudgetAmount(
             LocalDate startDate, LocalDate endDate) throws InternalServerErrorException {
         log.info("Received request to get total savings and budget amount");
         try {
-            Long userId = Objects.requireNonNull(GetLoggedInUserUtil.getUser()).getId();
-
-            BigDecimal totalSavings = savingsRepository.getTotalTargetAmount(startDate, endDate, userId);
-            BigDecimal totalBudget = budgetRepository.getTotalBudget(startDate, endDate, userId);
+            Long userId = currentUserContext.getUserId();
 
-            return InsightsTotalSavingsAndBudgetAmountDTO
-                    .builder()
-                    .totalSavings(totalSavings)
-                    .totalBudget(totalBudget)
-                    .build();
+            return insightsResultCache.get(
+                    userId,
+                    "total-savings-and-budget-amount",
+                    () -> InsightsTotalSavingsAndBudgetAmountDTO
+                            .builder()
+                            .totalSavings(savingsRepository.getTotalTargetAmount(startDate, endDate, userId))
+                            .totalBudget(budgetRepository.getTotalBudget(startDate, endDate, userId))
+                            .build(),
+                    startDate,
+                    endDate);
         } catch (Exception e) {
             log.error("Unexpected error: {}", e.getMessage(), e);
             throw new InternalServerErrorException(
@@ -353,19 +510,24 @@ public class InsightsServiceImpl implements InsightsService {
      * @throws InternalServerErrorException if an unexpected error occurs
      */
     @Override
+    @ReadOnlyTransactional
     public List<InsightsTotalBudgetByStatusSummaryDTO> getTotalBudgetByStatusSummary(
             LocalDate startDate, LocalDate endDate) throws InternalServerErrorException {
         log.info("Received request to get total budget by status summary");
         try {
-            Long userId = Objects.requireNonNull(GetLoggedInUserUtil.getUser()).getId();
-            List<Object[]> summary = budgetRepository.getBudgetSummaryByStatus(startDate, endDate, userId);
-            return summary.stream()
-                    .map(result -> InsightsTotalBudgetByStatusSummaryDTO
-                            .builder()
-                            .status((BudgetStatus) result[0])
-                            .count((Long) result[1])
-                            .build())
-                    .collect(Collectors.toList());
+            Long userId = currentUserContext.getUserId();
+            return insightsResultCache.get(
+                    userId,
+                    "budget-by-status-summary",
+                    () -> budgetRepository.getBudgetSummaryByStatus(startDate, endDate, userId).stream()
+                            .map(result -> InsightsTotalBudgetByStatusSummaryDTO
+                                    .builder()
+                                    .status((BudgetStatus) result[0])
+                                    .count((Long) result[1])
+                                    .build())
+                            .collect(Collectors.toList()),
+                    startDate,
+                    endDate);
 
         } catch (Exception e) {
             log.error("Unexpected error: {}", e.getMessage(), e);
@@ -385,19 +547,24 @@ public class InsightsServiceImpl implements InsightsService {
      * @throws InternalServerErrorException if an unexpected error occurs
      */
     @Override
+    @ReadOnlyTransactional
     public List<InsightsTotalSavingsByStatusSummaryDTO> getTotalSavingsByStatusSummary(
             LocalDate startDate, LocalDate endDate) throws InternalServerErrorException {
         log.info("Received request to get total savings by status summary");
         try {
-            Long userId = Objects.requireNonNull(GetLoggedInUserUtil.getUser()).getId();
-            List<Object[]> summary = savingsRepository.getSavingsCountByStatus(startDate, endDate, userId);
-            return summary.stream()
-                    .map(result -> InsightsTotalSavingsByStatusSummaryDTO
-                            .builder()
-                            .status((SavingsStatus) result[0])
-                            .count((Long) result[1])
-                            .build())
-                    .collect(Collectors.toList());
+            Long userId = currentUserContext.getUserId();
+            return insightsResultCache.get(
+                    userId,
+                    "savings-by-status-summary",
+                    () -> savingsRepository.getSavingsCountByStatus(startDate, endDate, userId).stream()
+                            .map(result -> InsightsTotalSavingsByStatusSummaryDTO
+                                    .builder()
+                                    .status((SavingsStatus) result[0])
+                                    .count((Long) result[1])
+                                    .build())
+                            .collect(Collectors.toList()),
+                    startDate,
+                    endDate);
 
         } catch (Exception e) {
             log.error("Unexpected error: {}", e.getMessage(), e);
@@ -419,21 +586,30 @@ public class InsightsServiceImpl implements InsightsService {
      * @throws InternalServerErrorException if an unexpected error occurs during the process
      */
     @Override
+    @ReadOnlyTransactional
     public List<InsightsBudgetOrSavingsMonthlyTrendDTO> getBudgetOrSavingsMonthlyTrend(
             LocalDate startDate, LocalDate endDate, InsightMonthlyTrendType type) throws InternalServerErrorException {
         log.info("Received request to get budget or savings monthly trend");
         try {
-            Long userId = Objects.requireNonNull(GetLoggedInUserUtil.getUser()).getId();
-            List<Object[]> trend = type.equals(InsightMonthlyTrendType.BUDGET)
-                    ? budgetRepository.getMonthlyExpenseTrends(startDate, endDate, userId)
-                    : savingsRepository.getSavedAmountPerMonth(startDate, endDate, userId);
-            return trend.stream()
-                    .map(result -> InsightsBudgetOrSavingsMonthlyTrendDTO
-                            .builder()
-                            .month(((String) result[0]).trim())
-                            .amount((BigDecimal) result[1])
-                            .build())
-                    .collect(Collectors.toList());
+            Long userId = currentUserContext.getUserId();
+            return insightsResultCache.get(
+                    userId,
+                    "budget-or-savings-monthly-trend",
+                    () -> {
+                        List<Object[]> trend = type.equals(InsightMonthlyTrendType.BUDGET)
+                                ? budgetRepository.getMonthlyExpenseTrends(startDate, endDate, userId)
+                                : savingsRepository.getSavedAmountPerMonth(startDate, endDate, userId);
+                        return trend.stream()
+                                .map(result -> InsightsBudgetOrSavingsMonthlyTrendDTO
+                                        .builder()
+                                        .month((LocalDate) result[0])
+                                        .amount((BigDecimal) result[1])
+                                        .build())
+                                .collect(Collectors.toList());
+                    },
+                    type,
+                    startDate,
+                    endDate);
 
         } catch (Exception e) {
             log.error("Unexpected error: {}", e.getMessage(), e);
@@ -441,4 +617,25 @@ public class InsightsServiceImpl implements InsightsService {
                     "An unexpected error occurred while fetching budget or savings monthly trend.");
         }
     }
+
+    /**
+     * Builds the filter of the insights read from the expenses themselves rather than from their
+     * daily totals. The insights always validate the type, so the filter is on the user, the date
+     * range and the type, and nothing else.
+     *
+     * @param userId    the id of the logged in user
+     * @param startDate the start date of the range, inclusive
+     * @param endDate   the end date of the range, inclusive
+     * @param type      the type of expense
+     * @return the filter for the expense queries
+     */
+    private ExpenseFilter expenseFilter(
+            Long userId, LocalDate startDate, LocalDate endDate, ExpenseType type) {
+        return ExpenseFilter.builder()
+                .userId(userId)
+                .startDate(startDate)
+                .endDate(endDate)
+                .type(type)
+                .build();
+    }
 }
@@ -1,27 +1,30 @@
 package com.derrick.finlypal.serviceImp;
 
+import com.derrick.finlypal.config.ReadOnlyTransactional;
 import com.derrick.finlypal.dto.ExpenseResponseDTO;
 import com.derrick.finlypal.dto.GeneralResponseDTO;
 import com.derrick.finlypal.dto.SavingsRequestDTO;
 import com.derrick.finlypal.dto.SavingsResponseDTO;
-import com.derrick.finlypal.entity.Expense;
 import com.derrick.finlypal.entity.Savings;
 import com.derrick.finlypal.enums.SavingsStatus;
 import com.derrick.finlypal.exception.BadRequestException;
 import com.derrick.finlypal.exception.InternalServerErrorException;
 import com.derrick.finlypal.exception.NotAuthorizedException;
 import com.derrick.finlypal.exception.NotFoundException;
+import com.derrick.finlypal.repository.ExpenseDailyRollupRepository;
+import com.derrick.finlypal.repository.ExpenseFilter;
 import com.derrick.finlypal.repository.ExpenseRepository;
 import com.derrick.finlypal.repository.SavingsRepository;
 import com.derrick.finlypal.service.SavingsService;
-import com.derrick.finlypal.util.GetLoggedInUserUtil;
+import com.derrick.finlypal.util.CurrentUserContext;
+import com.derrick.finlypal.util.InsightsResultCache;
+import com.derrick.finlypal.util.StatusRules;
+import jakarta.transaction.Transactional;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.sql.Timestamp;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.Objects;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -35,6 +38,9 @@ import org.springframework.stereotype.Service;
 public class SavingsServiceImpl implements SavingsService {
   private final SavingsRepository savingsRepository;
   private final ExpenseRepository expenseRepository;
+  private final ExpenseDailyRollupRepository expenseDailyRollupRepository;
+  private final CurrentUserContext currentUserContext;
+  private final InsightsResultCache insightsResultCache;
 
   /**
    * Creates a new savings goal for the logged-in user. It validates the provided savings details,
@@ -52,7 +58,7 @@ public class SavingsServiceImpl implements SavingsService {
       throws BadRequestException, InternalServerErrorException {
     log.info("Received request to create savings: {}", savingsRequestDTO);
     try {
-      Long userId = GetLoggedInUserUtil.getUser().getId();
+      Long userId = currentUserContext.getUserId();
 
       if (savingsRequestDTO.startDate().isAfter(savingsRequestDTO.endDate())) {
         throw new BadRequestException("Start date must be before end date");
@@ -73,13 +79,13 @@ public class SavingsServiceImpl implements SavingsService {
               .savedAmount(BigDecimal.ZERO)
               .startDate(savingsRequestDTO.startDate())
               .endDate(savingsRequestDTO.endDate())
-              .user(GetLoggedInUserUtil.getUser())
+              .user(currentUserContext.getUser())
               .createdAt(
                   new Timestamp(
                       System.currentTimeMillis())) // ToDO: fix the bug of createdAt not set when
               // saving
               .status(
-                  getSavingsStatus(
+                  StatusRules.savingsStatus(
                       savingsRequestDTO.startDate(),
                       savingsRequestDTO.endDate(),
                       savingsRequestDTO.targetAmount(),
@@ -88,6 +94,7 @@ public class SavingsServiceImpl implements SavingsService {
 
       // save the savings
       savingsRepository.save(savings);
+      insightsResultCache.invalidate(userId);
 
       return SavingsResponseDTO.builder()
           .id(savings.getId())
@@ -138,17 +145,9 @@ public class SavingsServiceImpl implements SavingsService {
           InternalServerErrorException {
     log.info("Received request to update savings: {}", savingsRequestDTO);
     try {
-      Long userId = Objects.requireNonNull(GetLoggedInUserUtil.getUser()).getId();
+      Long userId = currentUserContext.getUserId();
 
-      Savings savings =
-          savingsRepository
-              .findById(savingsId)
-              .orElseThrow(
-                  () -> new NotFoundException("Savings goal not found with id: " + savingsId));
-
-      if (!Objects.equals(savings.getUser().getId(), userId)) {
-        throw new NotAuthorizedException("You are not authorized to update this savings goal");
-      }
+      Savings savings = findOwnedSavings(savingsId, userId, "update");
 
       if (savingsRequestDTO.startDate().isAfter(savingsRequestDTO.endDate())) {
         throw new BadRequestException("Start date must be before end date");
@@ -164,16 +163,15 @@ public class SavingsServiceImpl implements SavingsService {
       }
 
       log.info("Updating savings for user with id: {}", userId);
-      BigDecimal savedAmount = calculateSavedAmount(savingsId);
+      BigDecimal savedAmount = savings.getSavedAmount();
 
       savings.setGoalName(savingsRequestDTO.goalName());
       savings.setIcon(savingsRequestDTO.icon());
       savings.setTargetAmount(savingsRequestDTO.targetAmount());
       savings.setStartDate(savingsRequestDTO.startDate());
       savings.setEndDate(savingsRequestDTO.endDate());
-      savings.setSavedAmount(savedAmount);
       savings.setStatus(
-          getSavingsStatus(
+          StatusRules.savingsStatus(
               savingsRequestDTO.startDate(),
               savingsRequestDTO.endDate(),
               savingsRequestDTO.targetAmount(),
@@ -182,6 +180,7 @@ public class SavingsServiceImpl implements SavingsService {
       // save the savings
       log.info("Saving savings for user with id: {}", userId);
       savingsRepository.save(savings);
+      insightsResultCache.invalidate(userId);
 
       return SavingsResponseDTO.builder()
           .id(savings.getId())
@@ -220,48 +219,24 @@ public class SavingsServiceImpl implements SavingsService {
    *     the savings goal
    */
   @Override
+  @ReadOnlyTransactional
   public SavingsResponseDTO getSavingsById(Long savingsId)
       throws NotFoundException, NotAuthorizedException, InternalServerErrorException {
     log.info("Received request to get savings by id: {}", savingsId);
     try {
-      Long userId = Objects.requireNonNull(GetLoggedInUserUtil.getUser()).getId();
-
-      Savings savings =
-          savingsRepository
-              .findById(savingsId)
-              .orElseThrow(
-                  () -> new NotFoundException("Savings goal not found with id: " + savingsId));
+      Long userId = currentUserContext.getUserId();
 
-      if (!Objects.equals(savings.getUser().getId(), userId)) {
-        throw new NotAuthorizedException("You are not authorized to read this savings goal");
-      }
+      Savings savings = findOwnedSavings(savingsId, userId, "read");
 
-      BigDecimal savedAmount = calculateSavedAmount(savingsId);
+      // Derive the status from the saved amount, without persisting it
+      BigDecimal savedAmount = savings.getSavedAmount();
       SavingsStatus status =
-          getSavingsStatus(
+          StatusRules.savingsStatus(
               savings.getStartDate(), savings.getEndDate(), savings.getTargetAmount(), savedAmount);
 
-      // Update savings status, saved amount
-      savings.setStatus(status);
-      savings.setSavedAmount(savedAmount);
-      savingsRepository.save(savings);
-
-      List<Expense> expenses = expenseRepository.findAllByUserIdAndSavingsId(userId, savingsId);
-
       List<ExpenseResponseDTO> expenseResponseDTOs =
-          expenses.stream()
-              .map(
-                  expense ->
-                      ExpenseResponseDTO.builder()
-                          .id(expense.getId())
-                          .amount(expense.getAmount())
-                          .description(expense.getDescription())
-                          .date(expense.getDate())
-                          .type(expense.getType())
-                          .categoryName(expense.getCategory().getDisplayName())
-                          .categoryId(expense.getCategory().getId())
-                          .build())
-              .toList();
+          expenseRepository.findAllByFilter(
+              ExpenseFilter.builder().userId(userId).savingsId(savingsId).build());
 
       return SavingsResponseDTO.builder()
           .id(savings.getId())
@@ -271,8 +246,8 @@ public class SavingsServiceImpl implements SavingsService {
           .savedAmount(savedAmount)
           .startDate(savings.getStartDate().toString())
           .endDate(savings.getEndDate().toString())
-          .status(savings.getStatus())
-          .statusTooltip(getSavingsStatusTooltip(savings.getStatus()))
+          .status(status)
+          .statusTooltip(getSavingsStatusTooltip(status))
           .expenses(expenseResponseDTOs)
           .createdAt(savings.getCreatedAt().toLocalDateTime().toLocalDate())
           .build();
@@ -289,10 +264,10 @@ public class SavingsServiceImpl implements SavingsService {
   /**
    * Retrieves a paginated list of savings goals for the currently logged-in user.
    *
-   * <p>This method fetches all savings goals associated with the logged-in user, updates the status
-   * and saved amount for each savings goal, and returns them as a page of {@link
-   * SavingsResponseDTO}. It ensures that the user is authenticated and handles any unexpected
-   * errors during the process.
+   * <p>This method fetches all savings goals associated with the logged-in user, derives the status
+   * and saved amount of each savings goal without persisting them, and returns them as a page of
+   * {@link SavingsResponseDTO}. It ensures that the user is authenticated and handles any
+   * unexpected errors during the process.
    *
    * @param page the page number to be retrieved
    * @param pageSize the number of items to be included in each page
@@ -301,47 +276,40 @@ public class SavingsServiceImpl implements SavingsService {
    *     savings goals
    */
   @Override
+  @ReadOnlyTransactional
   public Page<SavingsResponseDTO> getAllSavings(int page, int pageSize)
       throws InternalServerErrorException {
     log.info("Received request to get all savings");
     try {
-      Long userId = Objects.requireNonNull(GetLoggedInUserUtil.getUser()).getId();
+      Long userId = currentUserContext.getUserId();
 
       Pageable pageable = PageRequest.of(page, pageSize);
 
       Page<Savings> savingsPage = savingsRepository.findAllByUserId(userId, pageable);
 
-      // Update status and saved amount, then save
-      savingsPage
-          .getContent()
-          .forEach(
-              savings -> {
-                BigDecimal savedAmount = calculateSavedAmount(savings.getId());
-                SavingsStatus status =
-                    getSavingsStatus(
-                        savings.getStartDate(),
-                        savings.getEndDate(),
-                        savings.getTargetAmount(),
-                        savedAmount);
-                savings.setStatus(status);
-                savings.setSavedAmount(savedAmount);
-                savingsRepository.save(savings);
-              });
-
+      // Derive the status of each goal from its saved amount, without persisting it
       return savingsPage.map(
-          savings ->
-              SavingsResponseDTO.builder()
-                  .id(savings.getId())
-                  .goalName(savings.getGoalName())
-                  .icon(savings.getIcon())
-                  .targetAmount(savings.getTargetAmount())
-                  .savedAmount(savings.getSavedAmount())
-                  .startDate(savings.getStartDate().toString())
-                  .endDate(savings.getEndDate().toString())
-                  .status(savings.getStatus())
-                  .statusTooltip(getSavingsStatusTooltip(savings.getStatus()))
-                  .createdAt(savings.getCreatedAt().toLocalDateTime().toLocalDate())
-                  .build());
+          savings -> {
+            BigDecimal savedAmount = savings.getSavedAmount();
+            SavingsStatus status =
+                StatusRules.savingsStatus(
+                    savings.getStartDate(),
+                    savings.getEndDate(),
+                    savings.getTargetAmount(),
+                    savedAmount);
+            return SavingsResponseDTO.builder()
+                .id(savings.getId())
+                .goalName(savings.getGoalName())
+                .icon(savings.getIcon())
+                .targetAmount(savings.getTargetAmount())
+                .savedAmount(savedAmount)
+                .startDate(savings.getStartDate().toString())
+                .endDate(savings.getEndDate().toString())
+                .status(status)
+                .statusTooltip(getSavingsStatusTooltip(status))
+                .createdAt(savings.getCreatedAt().toLocalDateTime().toLocalDate())
+                .build();
+          });
 
     } catch (Exception e) {
       log.error("Error getting savings goals: {}", e.getMessage());
@@ -367,23 +335,20 @@ public class SavingsServiceImpl implements SavingsService {
    *     goal
    */
   @Override
+  @Transactional(rollbackOn = Exception.class)
   public GeneralResponseDTO deleteSavings(Long savingsId)
       throws NotFoundException, NotAuthorizedException, InternalServerErrorException {
     log.info("Received request to delete savings goal: {}", savingsId);
     try {
-      Long userId = Objects.requireNonNull(GetLoggedInUserUtil.getUser()).getId();
+      Long userId = currentUserContext.getUserId();
 
-      Savings savings =
-          savingsRepository
-              .findById(savingsId)
-              .orElseThrow(
-                  () -> new NotFoundException("Savings goal not found with id: " + savingsId));
-
-      if (!Objects.equals(savings.getUser().getId(), userId)) {
-        throw new NotAuthorizedException("You are not authorized to delete this savings goal");
+      // The expenses of the savings goal are deleted along with it
+      expenseDailyRollupRepository.removeExpensesOfSavings(userId, savingsId);
+      expenseRepository.removeExpensesOfSavings(userId, savingsId);
+      if (savingsRepository.deleteByIdAndUserId(savingsId, userId) == 0) {
+        throwMissingOrForbidden(savingsId, "delete");
       }
-
-      savingsRepository.delete(savings);
+      insightsResultCache.invalidate(userId);
 
       return GeneralResponseDTO.builder().message("Savings goal deleted successfully").build();
 
@@ -396,41 +361,6 @@ public class SavingsServiceImpl implements SavingsService {
     }
   }
 
-  /**
-   * Determines the status of a savings goal based on its end date, target amount, and saved amount.
-   *
-   * @param endDate the end date of the savings goal
-   * @param targetAmount the target amount of the savings goal
-   * @param savedAmount the saved amount of the savings goal
-   * @return the status of the savings goal
-   */
-  private SavingsStatus getSavingsStatus(
-      LocalDate startDate, LocalDate endDate, BigDecimal targetAmount, BigDecimal savedAmount) {
-    LocalDate today = LocalDate.now();
-
-    if (today.isBefore(startDate)) {
-      return SavingsStatus.NOT_STARTED; // Before savings start
-    }
-
-    if (savedAmount.compareTo(targetAmount) >= 0) {
-      return SavingsStatus.ACHIEVED; // Goal reached
-    }
-
-    if (endDate.isBefore(today)) {
-      return SavingsStatus.FAILED; // Deadline passed
-    }
-
-    long daysRemaining = ChronoUnit.DAYS.between(today, endDate);
-    BigDecimal progress =
-        savedAmount.divide(targetAmount, 2, RoundingMode.HALF_UP); // Normalized progress
-
-    if (daysRemaining < 7 && progress.compareTo(new BigDecimal("0.75")) < 0) {
-      return SavingsStatus.AT_RISK; // Less than a week left & less than 75% saved
-    }
-
-    return SavingsStatus.ON_TRACK; // Default case
-  }
-
   /**
    * Returns a tooltip string describing the given savings status.
    *
@@ -448,13 +378,41 @@ public class SavingsServiceImpl implements SavingsService {
   }
 
   /**
-   * Calculates the total amount saved by a savings goal by summing the amounts of all expenses
-   * associated with the savings goal.
+   * Loads a savings goal of the given user. The lookup is a single query scoped to the user; only
+   * when it finds nothing is the goal looked up by id alone, to tell a foreign goal from a missing
+   * one.
    *
    * @param savingsId the ID of the savings goal
-   * @return the total amount saved
+   * @param userId the ID of the logged-in user
+   * @param action the attempted action, used in the error message
+   * @return the savings goal
+   * @throws NotFoundException if the savings goal does not exist
+   * @throws NotAuthorizedException if the savings goal belongs to another user
    */
-  private BigDecimal calculateSavedAmount(Long savingsId) {
-    return expenseRepository.getTotalExpenseBySavingsId(savingsId);
+  private Savings findOwnedSavings(Long savingsId, Long userId, String action)
+      throws NotFoundException, NotAuthorizedException {
+    Optional<Savings> savings = savingsRepository.findByIdAndUserId(savingsId, userId);
+    if (savings.isEmpty()) {
+      throwMissingOrForbidden(savingsId, action);
+    }
+    return savings.get();
+  }
+
+  /**
+   * Explains why a savings goal scoped to the logged-in user was not found. Only called once the
+   * scoped query has missed, so the happy path never pays for the extra lookup.
+   *
+   * @param savingsId the ID of the savings goal
+   * @param action the attempted action, used in the error message
+   * @throws NotFoundException if the savings goal does not exist
+   * @throws NotAuthorizedException if the savings goal belongs to another user
+   */
+  private void throwMissingOrForbidden(Long savingsId, String action)
+      throws NotFoundException, NotAuthorizedException {
+    if (savingsRepository.existsById(savingsId)) {
+      throw new NotAuthorizedException(
+          "You are not authorized to " + action + " this savings goal");
+    }
+    throw new NotFoundException("Savings goal not found with id: " + savingsId);
   }
 }
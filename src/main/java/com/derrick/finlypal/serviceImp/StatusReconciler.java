@@ -0,0 +1,221 @@
+package com.derrick.finlypal.serviceImp;
+
+import com.derrick.finlypal.entity.Budget;
+import com.derrick.finlypal.entity.BudgetItem;
+import com.derrick.finlypal.entity.Savings;
+import com.derrick.finlypal.enums.BudgetItemStatus;
+import com.derrick.finlypal.enums.BudgetStatus;
+import com.derrick.finlypal.enums.SavingsStatus;
+import com.derrick.finlypal.repository.BudgetItemRepository;
+import com.derrick.finlypal.repository.BudgetRepository;
+import com.derrick.finlypal.repository.ExpenseRepository;
+import com.derrick.finlypal.repository.ReconciledCounters;
+import com.derrick.finlypal.repository.SavingsRepository;
+import com.derrick.finlypal.util.InsightsResultCache;
+import com.derrick.finlypal.util.StatusRules;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.ToIntFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Periodically brings the persisted status and spend counters of budgets, budget items and savings
+ * goals up to date. Reads derive the status on the fly and never write it back, so a status only
+ * moves in the database when its dates pass or its expenses change. The counters are maintained by
+ * every expense write, so they only drift when expenses are changed outside of the application;
+ * each run compares them with the sums of the expenses and corrects, and logs, any drift, then
+ * derives the statuses from the reconciled sums. Completed budgets keep their status, but their
+ * counters are reconciled too. Rows are walked in id order a chunk at a time, each chunk in its own
+ * short transaction, and only the rows that differ are updated.
+ */
+@Slf4j
+@Component
+public class StatusReconciler {
+
+  private final BudgetRepository budgetRepository;
+  private final BudgetItemRepository budgetItemRepository;
+  private final SavingsRepository savingsRepository;
+  private final ExpenseRepository expenseRepository;
+  private final InsightsResultCache insightsResultCache;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+
+  public StatusReconciler(
+      BudgetRepository budgetRepository,
+      BudgetItemRepository budgetItemRepository,
+      SavingsRepository savingsRepository,
+      ExpenseRepository expenseRepository,
+      InsightsResultCache insightsResultCache,
+      PlatformTransactionManager transactionManager,
+      @Value("${application.status.reconcileBatchSize:500}") int batchSize) {
+    this.budgetRepository = budgetRepository;
+    this.budgetItemRepository = budgetItemRepository;
+    this.savingsRepository = savingsRepository;
+    this.expenseRepository = expenseRepository;
+    this.insightsResultCache = insightsResultCache;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+  }
+
+  /** Reconciles every status and counter. The first run waits a full interval after startup. */
+  @Scheduled(
+      fixedDelayString = "${application.status.reconcileMillis:3600000}",
+      initialDelayString = "${application.status.reconcileMillis:3600000}")
+  public void reconcile() {
+    try {
+      reconcileAll();
+    } catch (RuntimeException e) {
+      log.error("Error while reconciling statuses", e);
+    }
+  }
+
+  /**
+   * Reconciles the budgets, budget items and savings goals.
+   *
+   * @return the number of counters and statuses corrected
+   */
+  int reconcileAll() {
+    return reconcile(
+            "budgets",
+            afterId -> budgetRepository.findAfter(afterId, Limit.of(batchSize)),
+            Budget::getId,
+            this::refreshBudgets)
+        + reconcile(
+            "budget items",
+            afterId -> budgetItemRepository.findAfter(afterId, Limit.of(batchSize)),
+            BudgetItem::getId,
+            this::refreshBudgetItems)
+        + reconcile(
+            "savings goals",
+            afterId -> savingsRepository.findAfter(afterId, Limit.of(batchSize)),
+            Savings::getId,
+            this::refreshSavings);
+  }
+
+  /**
+   * Walks the rows of one kind in chunks, refreshing each chunk in its own transaction.
+   *
+   * @param kind the kind of rows, for the log
+   * @param chunkAfter loads the chunk of rows that follows an id
+   * @param idOf returns the id of a row
+   * @param refresh updates the rows of a chunk that changed and returns how many changes it made
+   * @return the number of counters and statuses corrected
+   */
+  private <T> int reconcile(
+      String kind,
+      LongFunction<List<T>> chunkAfter,
+      Function<T, Long> idOf,
+      ToIntFunction<List<T>> refresh) {
+    long afterId = 0;
+    int rows = 0;
+    int changed = 0;
+    Chunk chunk;
+    do {
+      long after = afterId;
+      chunk =
+          transactionTemplate.execute(
+              status -> {
+                List<T> entities = chunkAfter.apply(after);
+                if (entities.isEmpty()) {
+                  return new Chunk(0, after, 0);
+                }
+                return new Chunk(
+                    entities.size(),
+                    idOf.apply(entities.get(entities.size() - 1)),
+                    refresh.applyAsInt(entities));
+              });
+      rows += chunk.size();
+      changed += chunk.changed();
+      afterId = chunk.lastId();
+    } while (chunk.size() == batchSize);
+
+    log.info("Reconciled the status of {} {}, {} changed", rows, kind, changed);
+    return changed;
+  }
+
+  private int refreshBudgets(List<Budget> budgets) {
+    ReconciledCounters spent =
+        expenseRepository.reconcileBudgetSpend(budgets.stream().map(Budget::getId).toList());
+    int changed = logDrift("budgets", spent.drifted());
+    for (Budget budget : budgets) {
+      if (budget.getStatus() == BudgetStatus.COMPLETED) {
+        continue;
+      }
+      BudgetStatus status = StatusRules.budgetStatus(budget, spent.amountOf(budget.getId()));
+      if (status != budget.getStatus()) {
+        budget.setStatus(status);
+        changed++;
+      }
+    }
+    // The insights summarize the budgets by status
+    if (changed > 0) {
+      budgets.stream()
+          .map(budget -> budget.getUser().getId())
+          .distinct()
+          .forEach(insightsResultCache::invalidate);
+    }
+    return changed;
+  }
+
+  private int refreshBudgetItems(List<BudgetItem> budgetItems) {
+    ReconciledCounters spent =
+        expenseRepository.reconcileBudgetItemSpend(
+            budgetItems.stream().map(BudgetItem::getId).toList());
+    int changed = logDrift("budget items", spent.drifted());
+    for (BudgetItem budgetItem : budgetItems) {
+      BudgetItemStatus status =
+          StatusRules.budgetItemStatus(
+              spent.amountOf(budgetItem.getId()), budgetItem.getAllocatedAmount());
+      if (status != budgetItem.getStatus()) {
+        budgetItem.setStatus(status);
+        changed++;
+      }
+    }
+    return changed;
+  }
+
+  private int refreshSavings(List<Savings> savingsGoals) {
+    ReconciledCounters saved =
+        expenseRepository.reconcileSavedAmounts(savingsGoals.stream().map(Savings::getId).toList());
+    int changed = logDrift("savings goals", saved.drifted());
+    for (Savings savings : savingsGoals) {
+      SavingsStatus status =
+          StatusRules.savingsStatus(
+              savings.getStartDate(),
+              savings.getEndDate(),
+              savings.getTargetAmount(),
+              saved.amountOf(savings.getId()));
+      if (status != savings.getStatus()) {
+        savings.setStatus(status);
+        changed++;
+      }
+    }
+    // The insights summarize the savings goals by status and by saved amount
+    if (changed > 0) {
+      savingsGoals.stream()
+          .map(savings -> savings.getUser().getId())
+          .distinct()
+          .forEach(insightsResultCache::invalidate);
+    }
+    return changed;
+  }
+
+  /**
+   * Logs the counters of a chunk that had drifted from their expenses, and returns their number.
+   */
+  private static int logDrift(String kind, int drifted) {
+    if (drifted > 0) {
+      log.warn("Corrected the drifted spend counters of {} {}", drifted, kind);
+    }
+    return drifted;
+  }
+
+  private record Chunk(int size, long lastId, int changed) {}
+}
@@ -0,0 +1,116 @@
+package com.derrick.finlypal.serviceImp;
+
+import com.derrick.finlypal.entity.TokenRevocation;
+import com.derrick.finlypal.exception.NotFoundException;
+import com.derrick.finlypal.repository.RefreshTokenRepository;
+import com.derrick.finlypal.repository.TokenRevocationRepository;
+import com.derrick.finlypal.repository.UserRepository;
+import com.derrick.finlypal.service.TokenRevocationService;
+import com.derrick.finlypal.util.TokenRevocationRegistry;
+import jakarta.transaction.Transactional;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+  // Re-read a little of the previous window, so revocations committed late are not missed
+  private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+  private final UserRepository userRepository;
+  private final TokenRevocationRepository tokenRevocationRepository;
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final TokenRevocationRegistry tokenRevocationRegistry;
+  private final Duration retention;
+  private volatile LocalDateTime lastSync;
+
+  public TokenRevocationServiceImpl(
+      UserRepository userRepository,
+      TokenRevocationRepository tokenRevocationRepository,
+      RefreshTokenRepository refreshTokenRepository,
+      TokenRevocationRegistry tokenRevocationRegistry,
+      @Value("${application.jwt.refreshTokenExpiration}") long refreshTokenExpiration) {
+    this.userRepository = userRepository;
+    this.tokenRevocationRepository = tokenRevocationRepository;
+    this.refreshTokenRepository = refreshTokenRepository;
+    this.tokenRevocationRegistry = tokenRevocationRegistry;
+    // No token outlives a refresh token, so older revocations no longer matter
+    this.retention = Duration.ofMillis(refreshTokenExpiration);
+  }
+
+  /**
+   * Revokes every access and refresh token issued to the user so far by bumping the user's token
+   * version. The revocation is applied to this node at once and recorded for the other nodes, which
+   * pick it up on their next sync. It is committed on its own, so it survives a failure of the
+   * calling transaction.
+   *
+   * @param userId the id of the user whose tokens are revoked
+   * @return the new token version of the user
+   * @throws NotFoundException if the user does not exist
+   */
+  @Override
+  @Transactional(Transactional.TxType.REQUIRES_NEW)
+  public int revokeAllTokens(Long userId) throws NotFoundException {
+    log.info("Revoking all tokens of user {}", userId);
+    if (userRepository.incrementTokenVersion(userId) == 0) {
+      throw new NotFoundException("User with id " + userId + " not found");
+    }
+    int tokenVersion =
+        userRepository
+            .findTokenVersionById(userId)
+            .orElseThrow(() -> new NotFoundException("User with id " + userId + " not found"));
+
+    TokenRevocation revocation =
+        tokenRevocationRepository.save(
+            TokenRevocation.builder().userId(userId).tokenVersion(tokenVersion).build());
+    tokenRevocationRegistry.revoke(userId, tokenVersion, toInstant(revocation.getCreatedAt()));
+
+    return tokenVersion;
+  }
+
+  /**
+   * Replays the revocations recorded by any node into the local registry. On startup the whole
+   * retention window is loaded, afterwards only what was recorded since the previous sync.
+   */
+  @Scheduled(fixedDelayString = "${application.jwt.revocationSyncMillis:5000}")
+  public void syncRevocations() {
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime since = lastSync == null ? now.minus(retention) : lastSync.minus(SYNC_OVERLAP);
+
+    List<TokenRevocation> revocations = tokenRevocationRepository.findByCreatedAtAfter(since);
+    for (TokenRevocation revocation : revocations) {
+      tokenRevocationRegistry.revoke(
+          revocation.getUserId(),
+          revocation.getTokenVersion(),
+          toInstant(revocation.getCreatedAt()));
+    }
+    lastSync = now;
+    tokenRevocationRegistry.evictOlderThan(toInstant(now.minus(retention)));
+  }
+
+  /** Deletes expired refresh tokens and revocations that no longer matter. */
+  @Scheduled(fixedDelayString = "${application.jwt.revocationPurgeMillis:3600000}")
+  public void purgeExpired() {
+    LocalDateTime now = LocalDateTime.now();
+    int refreshTokens = refreshTokenRepository.deleteExpired(now);
+    int revocations = tokenRevocationRepository.deleteOlderThan(now.minus(retention));
+    log.info(
+        "Purged {} expired refresh tokens and {} stale token revocations",
+        refreshTokens,
+        revocations);
+  }
+
+  private static Instant toInstant(LocalDateTime dateTime) {
+    return (dateTime != null ? dateTime : LocalDateTime.now())
+        .atZone(ZoneId.systemDefault())
+        .toInstant();
+  }
+}
@@ -1,6 +1,8 @@
 package com.derrick.finlypal.serviceImp;
 
+import com.derrick.finlypal.config.ReadOnlyTransactional;
 import com.derrick.finlypal.dto.CurrencyResponseDTO;
+import com.derrick.finlypal.dto.GeneralResponseDTO;
 import com.derrick.finlypal.dto.UsersResponseDTO;
 import com.derrick.finlypal.dto.UsersUpdateRequestDTO;
 import com.derrick.finlypal.entity.Currency;
@@ -11,15 +13,16 @@ import com.derrick.finlypal.exception.NotAuthorizedException;
 import com.derrick.finlypal.exception.NotFoundException;
 import com.derrick.finlypal.repository.CurrencyRepository;
 import com.derrick.finlypal.repository.UserRepository;
+import com.derrick.finlypal.service.TokenRevocationService;
 import com.derrick.finlypal.service.UsersService;
-import com.derrick.finlypal.util.GetLoggedInUserUtil;
+import com.derrick.finlypal.util.CurrentUserContext;
 import com.derrick.finlypal.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.Objects;
 
 @Service
 @Slf4j
@@ -30,6 +33,8 @@ public class UsersServiceImpl implements UsersService {
     private final JwtUtil jwtUtil;
     private final PasswordEncoder passwordEncoder;
     private final CurrencyRepository currencyRepository;
+    private final CurrentUserContext currentUserContext;
+    private final TokenRevocationService tokenRevocationService;
 
     /**
      * Retrieves the user details associated with the given {@code userId}.
@@ -51,6 +56,7 @@ public class UsersServiceImpl implements UsersService {
      * @throws NotAuthorizedException       if the user is not authorized
      */
     @Override
+    @ReadOnlyTransactional
     public UsersResponseDTO getUserDetails()
             throws NotFoundException,
             InternalServerErrorException,
@@ -58,7 +64,7 @@ public class UsersServiceImpl implements UsersService {
             BadRequestException {
 
         try {
-            Long loggedInUserId = Objects.requireNonNull(GetLoggedInUserUtil.getUser()).getId();
+            Long loggedInUserId = currentUserContext.getUserId();
 
             if (loggedInUserId == null) {
                 throw new BadRequestException("userId is null");
@@ -120,7 +126,7 @@ public class UsersServiceImpl implements UsersService {
             BadRequestException {
         try {
             log.info("Received request to update user details for {}", userId);
-            Long loggedInUserId = Objects.requireNonNull(GetLoggedInUserUtil.getUser()).getId();
+            Long loggedInUserId = currentUserContext.getUserId();
 
             if (!loggedInUserId.equals(userId)) {
                 throw new NotAuthorizedException("User is not authorized to update user details");
@@ -181,6 +187,37 @@ public class UsersServiceImpl implements UsersService {
         }
     }
 
+    /**
+     * Signs the current user out of every session by revoking all access and refresh tokens issued
+     * to them so far, including the token used for this request.
+     *
+     * @return a {@link GeneralResponseDTO} indicating the status of the request
+     * @throws NotFoundException            if the user is not found
+     * @throws InternalServerErrorException if any unexpected error occurs
+     */
+    @Override
+    public GeneralResponseDTO revokeSessions() throws NotFoundException, InternalServerErrorException {
+        Long loggedInUserId = null;
+        try {
+            loggedInUserId = currentUserContext.getUserId();
+            log.info("Received request to revoke all sessions of user {}", loggedInUserId);
+            tokenRevocationService.revokeAllTokens(loggedInUserId);
+
+            return GeneralResponseDTO.builder()
+                    .status(HttpStatus.OK)
+                    .message("All sessions revoked")
+                    .build();
+
+        } catch (NotFoundException e) {
+            log.error("User not found for user {}", loggedInUserId, e);
+            throw e;
+        } catch (Exception e) {
+            log.error("Error while revoking sessions", e);
+            throw new InternalServerErrorException(
+                    "An internal server error occurred: " + e.getMessage());
+        }
+    }
+
     private User validateUserAccess(Long userId) throws NotAuthorizedException, NotFoundException {
         log.info("Getting user details for {}", userId);
         User user =
@@ -0,0 +1,127 @@
+package com.derrick.finlypal.util;
+
+import com.derrick.finlypal.exception.TooManyRequestsException;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Throttles the unauthenticated authentication flows (login, registration and password reset) per
+ * email and per client IP with token buckets. Each request takes one token from the bucket of its
+ * email and one from the bucket of its IP, and is rejected with a {@link TooManyRequestsException}
+ * when either bucket is empty.
+ *
+ * <p>Buckets live in a fixed number of stripes selected by the hash of the key, so memory stays
+ * bounded no matter how many distinct emails or IPs are seen. Keys that share a stripe share a
+ * bucket, which can only make the throttle stricter. Every stripe is a single packed {@code long}
+ * updated with compare-and-set, so no locks are taken on the request path.
+ */
+@Slf4j
+@Component
+public class AuthRequestThrottle {
+
+  private final HttpServletRequest request;
+  private final TokenBuckets emailBuckets;
+  private final TokenBuckets ipBuckets;
+
+  public AuthRequestThrottle(
+      HttpServletRequest request,
+      @Value("${application.security.throttle.stripes:4096}") int stripes,
+      @Value("${application.security.throttle.emailCapacity:5}") int emailCapacity,
+      @Value("${application.security.throttle.emailRefillMillis:12000}") long emailRefillMillis,
+      @Value("${application.security.throttle.ipCapacity:30}") int ipCapacity,
+      @Value("${application.security.throttle.ipRefillMillis:2000}") long ipRefillMillis) {
+    this.request = request;
+    this.emailBuckets = new TokenBuckets(stripes, emailCapacity, emailRefillMillis);
+    this.ipBuckets = new TokenBuckets(stripes, ipCapacity, ipRefillMillis);
+  }
+
+  /**
+   * Takes a token for the given email and for the IP of the current request.
+   *
+   * @param email the email the request acts on, may be null
+   * @throws TooManyRequestsException if the email or the IP has exhausted its allowance
+   */
+  public void acquire(String email) throws TooManyRequestsException {
+    long now = System.currentTimeMillis();
+    String ip = request.getRemoteAddr();
+
+    if (ip != null && !ipBuckets.tryAcquire(ip, now)) {
+      log.warn("Throttling authentication requests from ip {}", ip);
+      throw new TooManyRequestsException(
+          "Too many requests, please retry later", ipBuckets.retryAfterSeconds());
+    }
+    if (email != null && !emailBuckets.tryAcquire(email.toLowerCase(Locale.ROOT), now)) {
+      log.warn("Throttling authentication requests for email {}", email);
+      throw new TooManyRequestsException(
+          "Too many requests for " + email + ", please retry later",
+          emailBuckets.retryAfterSeconds());
+    }
+  }
+
+  /**
+   * Striped token buckets. Each stripe packs the last refill time (upper 48 bits, milliseconds) and
+   * the available tokens (lower 16 bits) into one {@code long}.
+   */
+  static final class TokenBuckets {
+    private static final int TOKEN_BITS = 16;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+
+    private final AtomicLongArray stripes;
+    private final int mask;
+    private final int capacity;
+    private final long refillMillis;
+
+    TokenBuckets(int stripes, int capacity, long refillMillis) {
+      if (capacity < 1 || capacity > TOKEN_MASK) {
+        throw new IllegalArgumentException("Bucket capacity must be between 1 and " + TOKEN_MASK);
+      }
+      int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+      this.stripes = new AtomicLongArray(size);
+      this.mask = size - 1;
+      this.capacity = capacity;
+      this.refillMillis = refillMillis;
+    }
+
+    boolean tryAcquire(String key, long now) {
+      int index = spread(key.hashCode()) & mask;
+
+      while (true) {
+        long state = stripes.get(index);
+        long lastRefill = state >>> TOKEN_BITS;
+        long tokens = state & TOKEN_MASK;
+
+        if (state == 0) {
+          // Untouched stripe, starts full
+          lastRefill = now;
+          tokens = capacity;
+        } else if (now > lastRefill) {
+          long refilled = (now - lastRefill) / refillMillis;
+          if (refilled > 0) {
+            tokens = Math.min(capacity, tokens + refilled);
+            lastRefill = tokens == capacity ? now : lastRefill + refilled * refillMillis;
+          }
+        }
+
+        if (tokens == 0) {
+          return false;
+        }
+        long next = (lastRefill << TOKEN_BITS) | (tokens - 1);
+        if (stripes.compareAndSet(index, state, next)) {
+          return true;
+        }
+      }
+    }
+
+    long retryAfterSeconds() {
+      return Math.max(1, (refillMillis + 999) / 1000);
+    }
+
+    private static int spread(int hash) {
+      return hash ^ (hash >>> 16);
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package com.derrick.finlypal.util;
+
+import com.derrick.finlypal.config.AuthenticatedUser;
+import com.derrick.finlypal.entity.User;
+import com.derrick.finlypal.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Holds the authenticated user for the current request. It is populated once by the JWT filter
+ * from the token claims, so services can read the user id without querying the database. A {@link
+ * User} reference is only created when a caller actually needs one, and it is a lazy proxy that
+ * does not hit the database unless one of its non-id attributes is read.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class CurrentUserContext {
+
+  private final UserRepository userRepository;
+
+  private AuthenticatedUser principal;
+  private User user;
+
+  /**
+   * Sets the principal of the current request. Called by the JWT filter once the token has been
+   * verified.
+   *
+   * @param principal the authenticated principal
+   */
+  public void setPrincipal(AuthenticatedUser principal) {
+    this.principal = principal;
+    this.user = null;
+  }
+
+  /**
+   * Seeds the context with an already loaded user, so a later {@link #getUser()} reuses it.
+   *
+   * @param user the loaded user of the current request
+   */
+  public void setUser(User user) {
+    this.user = user;
+  }
+
+  /**
+   * Returns the principal of the current request.
+   *
+   * @return the authenticated principal
+   * @throws IllegalStateException if the request is not authenticated
+   */
+  public AuthenticatedUser getPrincipal() {
+    if (principal == null) {
+      throw new IllegalStateException("No authenticated user bound to the current request");
+    }
+    return principal;
+  }
+
+  /**
+   * Returns the id of the authenticated user.
+   *
+   * @return the user id
+   * @throws IllegalStateException if the request is not authenticated
+   */
+  public Long getUserId() {
+    return getPrincipal().id();
+  }
+
+  /**
+   * Returns a reference to the authenticated user, suitable for associating new entities with the
+   * user. The reference is resolved lazily and cached for the rest of the request.
+   *
+   * @return a lazily loaded reference to the authenticated user
+   * @throws IllegalStateException if the request is not authenticated
+   */
+  public User getUser() {
+    if (user == null) {
+      user = userRepository.getReferenceById(getUserId());
+    }
+    return user;
+  }
+}
@@ -0,0 +1,62 @@
+package com.derrick.finlypal.util;
+
+import com.derrick.finlypal.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Position in the expense list, which is ordered by date and then id, both descending. The next
+ * page starts right after the last expense of the previous one, so it is found with an index seek
+ * instead of skipping over every earlier row. Clients only ever see the encoded form and must treat
+ * it as opaque.
+ *
+ * @param date the date of the last expense returned
+ * @param id the id of the last expense returned
+ */
+public record ExpenseCursor(LocalDate date, long id) {
+
+  private static final char SEPARATOR = '|';
+
+  /**
+   * Returns the position before the first expense of a date range, i.e. the start of the first
+   * page.
+   *
+   * @param endDate the last date of the range, inclusive
+   * @return a cursor that sorts after every expense up to the end date
+   */
+  public static ExpenseCursor first(LocalDate endDate) {
+    return new ExpenseCursor(endDate.plusDays(1), Long.MAX_VALUE);
+  }
+
+  /**
+   * Decodes a cursor handed out by {@link #encode()}.
+   *
+   * @param cursor the encoded cursor
+   * @return the decoded cursor
+   * @throws BadRequestException if the cursor is malformed
+   */
+  public static ExpenseCursor decode(String cursor) throws BadRequestException {
+    try {
+      String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+      int separator = value.indexOf(SEPARATOR);
+      return new ExpenseCursor(
+          LocalDate.parse(value.substring(0, separator)),
+          Long.parseLong(value.substring(separator + 1)));
+    } catch (RuntimeException e) {
+      throw new BadRequestException("Invalid cursor");
+    }
+  }
+
+  /**
+   * Encodes the cursor into an opaque, URL safe string.
+   *
+   * @return the encoded cursor
+   */
+  public String encode() {
+    String value = date.toString() + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+  }
+}
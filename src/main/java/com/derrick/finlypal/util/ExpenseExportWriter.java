@@ -0,0 +1,117 @@
+package com.derrick.finlypal.util;
+
+import com.derrick.finlypal.dto.ExpenseResponseDTO;
+import com.derrick.finlypal.enums.ExpenseFileFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes expenses to an export as they are read. Each row is written and dropped before the next
+ * one is pulled from the stream, so the memory used does not depend on the number of expenses
+ * exported.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExpenseExportWriter {
+
+  static final String CSV_HEADER =
+      "id,description,amount,date,type,category_id,category_name,savings_item_id,budget_item_id";
+
+  private static final int BUFFER_SIZE = 16 * 1024;
+
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Writes the expenses in the given format, one line per expense, compressing them if asked. The
+   * output stream is flushed but not closed.
+   *
+   * @param expenses the expenses to export, consumed once
+   * @param format the format of the export
+   * @param gzip whether to compress the export
+   * @param outputStream the stream the export is written to
+   * @return the number of expenses written
+   * @throws IOException if writing to the output stream fails
+   */
+  public long write(
+      Stream<ExpenseResponseDTO> expenses,
+      ExpenseFileFormat format,
+      boolean gzip,
+      OutputStream outputStream)
+      throws IOException {
+    GZIPOutputStream compressed = gzip ? new GZIPOutputStream(outputStream, BUFFER_SIZE) : null;
+    Writer writer =
+        new BufferedWriter(
+            new OutputStreamWriter(
+                compressed != null ? compressed : outputStream, StandardCharsets.UTF_8),
+            BUFFER_SIZE);
+
+    if (format == ExpenseFileFormat.CSV) {
+      writer.write(CSV_HEADER);
+      writer.write('\n');
+    }
+
+    long count = 0;
+    Iterator<ExpenseResponseDTO> iterator = expenses.iterator();
+    while (iterator.hasNext()) {
+      ExpenseResponseDTO expense = iterator.next();
+      if (format == ExpenseFileFormat.CSV) {
+        writeCsv(writer, expense);
+      } else {
+        writer.write(objectMapper.writeValueAsString(expense));
+      }
+      writer.write('\n');
+      count++;
+    }
+
+    writer.flush();
+    if (compressed != null) {
+      compressed.finish();
+    }
+    outputStream.flush();
+    return count;
+  }
+
+  private static void writeCsv(Writer writer, ExpenseResponseDTO expense) throws IOException {
+    writer.write(String.valueOf(expense.getId()));
+    writer.write(',');
+    writeCsvText(writer, expense.getDescription());
+    writer.write(',');
+    writer.write(expense.getAmount() != null ? expense.getAmount().toPlainString() : "");
+    writer.write(',');
+    writer.write(expense.getDate() != null ? expense.getDate().toString() : "");
+    writer.write(',');
+    writer.write(expense.getType() != null ? expense.getType().name() : "");
+    writer.write(',');
+    writer.write(expense.getCategoryId() != null ? expense.getCategoryId().toString() : "");
+    writer.write(',');
+    writeCsvText(writer, expense.getCategoryName());
+    writer.write(',');
+    writer.write(expense.getSavingsItemId() != null ? expense.getSavingsItemId().toString() : "");
+    writer.write(',');
+    writer.write(expense.getBudgetItemId() != null ? expense.getBudgetItemId().toString() : "");
+  }
+
+  /** Writes free text as a CSV field, quoting it if it holds a separator, quote or line break. */
+  private static void writeCsvText(Writer writer, String value) throws IOException {
+    if (value == null) {
+      return;
+    }
+    if (value.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+      writer.write(value);
+      return;
+    }
+    writer.write('"');
+    writer.write(value.replace("\"", "\"\""));
+    writer.write('"');
+  }
+}
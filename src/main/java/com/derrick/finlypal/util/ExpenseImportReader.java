@@ -0,0 +1,238 @@
+package com.derrick.finlypal.util;
+
+import com.derrick.finlypal.dto.ExpenseRequestDTO;
+import com.derrick.finlypal.enums.ExpenseFileFormat;
+import com.derrick.finlypal.enums.ExpenseType;
+import com.derrick.finlypal.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads the rows of an expense import one at a time, as CSV with a header row or as newline
+ * delimited JSON. A row that cannot be parsed is returned with the reason instead of failing the
+ * whole import. CSV columns are matched by name and unknown columns are ignored, so an export can
+ * be imported back as is.
+ */
+public final class ExpenseImportReader implements Closeable {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final BufferedReader reader;
+  private final ExpenseFileFormat format;
+  private final ObjectMapper objectMapper;
+  private final Map<String, Integer> columns = new HashMap<>();
+  private long rowNumber;
+
+  /**
+   * A row of the import, holding either the parsed expense or the reason it could not be parsed.
+   *
+   * @param number the number of the row, the first data row being 1
+   * @param expense the parsed expense, or {@code null} if the row is malformed
+   * @param error the reason the row is malformed, or {@code null}
+   */
+  public record Row(long number, ExpenseRequestDTO expense, String error) {}
+
+  private ExpenseImportReader(
+      InputStream inputStream, ExpenseFileFormat format, ObjectMapper mapper) {
+    this.reader =
+        new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    this.format = format;
+    this.objectMapper = mapper;
+  }
+
+  /**
+   * Opens a reader over an import, reading the header row of a CSV import.
+   *
+   * @param inputStream the body of the import
+   * @param format the format of the import
+   * @param objectMapper the mapper used to read JSON rows
+   * @return the reader, positioned before the first data row
+   * @throws IOException if reading the input fails
+   * @throws BadRequestException if a CSV import lacks a required column
+   */
+  public static ExpenseImportReader open(
+      InputStream inputStream, ExpenseFileFormat format, ObjectMapper objectMapper)
+      throws IOException, BadRequestException {
+    ExpenseImportReader importReader = new ExpenseImportReader(inputStream, format, objectMapper);
+    if (format == ExpenseFileFormat.CSV) {
+      importReader.readHeader();
+    }
+    return importReader;
+  }
+
+  /**
+   * Reads the next row of the import.
+   *
+   * @return the next row, or {@code null} once the import is exhausted
+   * @throws IOException if reading the input fails
+   */
+  public Row next() throws IOException {
+    return format == ExpenseFileFormat.CSV ? nextCsvRow() : nextJsonRow();
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private void readHeader() throws IOException, BadRequestException {
+    List<String> header = readRecord();
+    if (header == null) {
+      throw new BadRequestException("The import is empty");
+    }
+    for (int i = 0; i < header.size(); i++) {
+      columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+    }
+    // Exports name the savings column after the savings item
+    if (!columns.containsKey("savings_id") && columns.containsKey("savings_item_id")) {
+      columns.put("savings_id", columns.get("savings_item_id"));
+    }
+    for (String required : List.of("description", "amount", "date", "type", "category_id")) {
+      if (!columns.containsKey(required)) {
+        throw new BadRequestException("Missing column: " + required);
+      }
+    }
+  }
+
+  private Row nextCsvRow() throws IOException {
+    List<String> record = readRecord();
+    if (record == null) {
+      return null;
+    }
+    long number = ++rowNumber;
+    String column = null;
+    try {
+      column = "amount";
+      BigDecimal amount =
+          field(record, column) != null ? new BigDecimal(field(record, column)) : null;
+      column = "date";
+      LocalDate date =
+          field(record, column) != null ? LocalDate.parse(field(record, column)) : null;
+      column = "type";
+      ExpenseType type =
+          field(record, column) != null
+              ? ExpenseType.valueOf(field(record, column).toUpperCase(Locale.ROOT))
+              : null;
+      column = "category_id";
+      Long categoryId = longField(record, column);
+      column = "savings_id";
+      Long savingsId = longField(record, column);
+      column = "budget_item_id";
+      Long budgetItemId = longField(record, column);
+      return new Row(
+          number,
+          new ExpenseRequestDTO(
+              field(record, "description"),
+              amount,
+              date,
+              type,
+              categoryId,
+              savingsId,
+              budgetItemId),
+          null);
+    } catch (RuntimeException e) {
+      return new Row(number, null, "Invalid " + column + ": " + field(record, column));
+    }
+  }
+
+  private Row nextJsonRow() throws IOException {
+    String line;
+    do {
+      line = reader.readLine();
+      if (line == null) {
+        return null;
+      }
+    } while (line.isBlank());
+
+    long number = ++rowNumber;
+    try {
+      return new Row(number, objectMapper.readValue(line, ExpenseRequestDTO.class), null);
+    } catch (JsonProcessingException e) {
+      return new Row(number, null, "Malformed JSON: " + e.getOriginalMessage());
+    }
+  }
+
+  /** Returns the trimmed value of a column, or {@code null} if the column is absent or empty. */
+  private String field(List<String> record, String column) {
+    Integer index = columns.get(column);
+    if (index == null || index >= record.size()) {
+      return null;
+    }
+    String value = record.get(index).trim();
+    return value.isEmpty() ? null : value;
+  }
+
+  private Long longField(List<String> record, String column) {
+    String value = field(record, column);
+    return value != null ? Long.parseLong(value) : null;
+  }
+
+  /**
+   * Reads the fields of the next CSV record, skipping blank lines. Quoted fields may contain
+   * separators, doubled quotes and line breaks.
+   *
+   * @return the fields of the record, or {@code null} at the end of the input
+   */
+  private List<String> readRecord() throws IOException {
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    boolean empty = true;
+
+    int c;
+    while ((c = reader.read()) != -1) {
+      if (quoted) {
+        if (c != '"') {
+          field.append((char) c);
+        } else {
+          reader.mark(1);
+          if (reader.read() == '"') {
+            field.append('"');
+          } else {
+            reader.reset();
+            quoted = false;
+          }
+        }
+      } else if (c == '"') {
+        quoted = true;
+        empty = false;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+        empty = false;
+      } else if (c == '\n' || c == '\r') {
+        if (c == '\r') {
+          reader.mark(1);
+          if (reader.read() != '\n') {
+            reader.reset();
+          }
+        }
+        if (!empty || !field.isEmpty()) {
+          fields.add(field.toString());
+          return fields;
+        }
+      } else {
+        field.append((char) c);
+      }
+    }
+
+    if (empty && field.isEmpty()) {
+      return null;
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+}
@@ -0,0 +1,120 @@
+package com.derrick.finlypal.util;
+
+import com.derrick.finlypal.dto.InsightsTimeSeriesDTO;
+import com.derrick.finlypal.repository.ExpenseSpendSummary;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Caches the results of the insights queries of each user. A result is keyed by the user, the
+ * query, its normalized arguments and the data version of the user. Every write to the expenses,
+ * budgets or savings of a user moves the user to a new data version once it commits, so the results
+ * computed from the previous data are never looked up again and age out of the cache on their own,
+ * without scanning it.
+ *
+ * <p>The cache is bounded by the number of rows of the cached results and evicts by W-TinyLFU. The
+ * data versions are bounded too: a user whose version was evicted is given a fresh one from a
+ * sequence shared by all users, which is newer than any version a cached result was stored under.
+ */
+@Component
+public class InsightsResultCache {
+
+  private final AtomicLong versionSequence = new AtomicLong();
+  private final Cache<Long, Long> dataVersions;
+  private final Cache<Key, Object> results;
+
+  public InsightsResultCache(
+      @Value("${application.insights.cache.maxWeight:100000}") long maxWeight,
+      @Value("${application.insights.cache.ttlMillis:600000}") long ttlMillis,
+      @Value("${application.insights.cache.maxUsers:100000}") long maxUsers,
+      MeterRegistry meterRegistry) {
+    this.dataVersions = Caffeine.newBuilder().maximumSize(maxUsers).build();
+    this.results =
+        Caffeine.newBuilder()
+            .maximumWeight(maxWeight)
+            .weigher((Key key, Object result) -> weigh(result))
+            // Bounds how long a result that depends on the current date can be served
+            .expireAfterWrite(Duration.ofMillis(ttlMillis))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, results, "insights.results");
+    Gauge.builder("cache.hit.ratio", results, cache -> cache.stats().hitRate())
+        .tag("cache", "insights.results")
+        .description("The ratio of the lookups of the cache that were hits")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Returns the cached result of a query of a user, computing and caching it first if it is
+   * missing. Concurrent lookups of the same missing result wait for a single computation.
+   *
+   * @param userId the id of the user the result belongs to
+   * @param query the name of the query
+   * @param loader computes the result
+   * @param arguments the arguments of the query, with their defaults already applied
+   * @return the result of the query
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(Long userId, String query, Supplier<T> loader, Object... arguments) {
+    Key key = new Key(userId, dataVersion(userId), query, Arrays.asList(arguments));
+    return (T) results.get(key, missing -> loader.get());
+  }
+
+  /**
+   * Moves a user to a new data version, so none of the cached results of the user is served again.
+   * Inside a transaction the version only moves once it commits, so a result computed concurrently
+   * from the data before the write is never stored under the new version.
+   *
+   * @param userId the id of the user whose data changed
+   */
+  public void invalidate(Long userId) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              dataVersions.put(userId, versionSequence.incrementAndGet());
+            }
+          });
+    } else {
+      dataVersions.put(userId, versionSequence.incrementAndGet());
+    }
+  }
+
+  private long dataVersion(Long userId) {
+    return dataVersions.get(userId, missing -> versionSequence.incrementAndGet());
+  }
+
+  /** Weighs a result by its number of rows, so a long trend counts for more than a total. */
+  private static int weigh(Object result) {
+    if (result instanceof Collection<?> rows) {
+      return rows.size() + 1;
+    }
+    if (result instanceof Slice<?> rows) {
+      return rows.getNumberOfElements() + 1;
+    }
+    if (result instanceof ExpenseSpendSummary summary) {
+      return summary.size();
+    }
+    if (result instanceof InsightsTimeSeriesDTO series) {
+      return series.getTotals().size() + 1;
+    }
+    return 1;
+  }
+
+  private record Key(Long userId, long dataVersion, String query, List<Object> arguments) {}
+}
@@ -1,14 +1,27 @@
 package com.derrick.finlypal.util;
 
+import com.derrick.finlypal.config.AuthenticatedUser;
+import com.derrick.finlypal.entity.User;
 import com.derrick.finlypal.exception.NotAuthorizedException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 import javax.crypto.SecretKey;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,47 +30,137 @@ import org.springframework.stereotype.Component;
 
 @Component
 public class JwtUtil {
-  @Value("${application.jwt.secret}")
-  private String secret;
+  public static final String CLAIM_USER_ID = "uid";
+  public static final String CLAIM_TOKEN_VERSION = "ver";
+  public static final String CLAIM_TOKEN_TYPE = "typ";
+  public static final String CLAIM_FAMILY_ID = "fam";
+  public static final String TOKEN_TYPE_ACCESS = "access";
+  public static final String TOKEN_TYPE_REFRESH = "refresh";
+
+  private final Long accessTokenExpiration;
+  private final Long refreshTokenExpiration;
+  private final SecretKey secretKey;
+  private final JwtParser jwtParser;
+  private final Cache<String, VerifiedToken> verifiedTokens;
+
+  public JwtUtil(
+      @Value("${application.jwt.secret}") String secret,
+      @Value("${application.jwt.accessTokenExpiration}") Long accessTokenExpiration,
+      @Value("${application.jwt.refreshTokenExpiration}") Long refreshTokenExpiration,
+      @Value("${application.jwt.verifiedTokenCacheSize:10000}") long verifiedTokenCacheSize,
+      MeterRegistry meterRegistry) {
+    this.accessTokenExpiration = accessTokenExpiration;
+    this.refreshTokenExpiration = refreshTokenExpiration;
+    this.secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+    this.jwtParser = Jwts.parser().verifyWith(secretKey).build();
+    this.verifiedTokens =
+        Caffeine.newBuilder()
+            .maximumSize(verifiedTokenCacheSize)
+            .expireAfter(new UntilTokenExpiry())
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified-tokens");
+  }
 
-  @Value("${application.jwt.accessTokenExpiration}")
-  private Long accessTokenExpiration;
+  /**
+   * Verifies the given token, reusing the result of an earlier verification of the same token when
+   * it is still cached. Entries are keyed by the SHA-256 digest of the token, so raw tokens are
+   * never retained, and they are evicted no later than the expiry of the token itself.
+   *
+   * @param token the signed token
+   * @return the verified claims of the token
+   * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+   */
+  public VerifiedToken verifyToken(String token) {
+    return verifiedTokens.get(digest(token), key -> parseToken(token));
+  }
 
-  @Value("${application.jwt.refreshTokenExpiration}")
-  private Long refreshTokenExpiration;
+  /**
+   * Parses and verifies the signature and expiry of the given token once, bypassing the cache.
+   *
+   * @param token the signed token
+   * @return the verified claims of the token
+   * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+   */
+  public VerifiedToken parseToken(String token) {
+    Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+    Integer tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Integer.class);
+
+    return new VerifiedToken(
+        claims.getSubject(),
+        toLong(claims.get(CLAIM_USER_ID)),
+        tokenVersion != null ? tokenVersion : 0,
+        claims.get(CLAIM_TOKEN_TYPE, String.class),
+        claims.getId(),
+        claims.get(CLAIM_FAMILY_ID, String.class),
+        claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+        claims.getExpiration().toInstant());
+  }
 
   public String extractUsername(String token) {
-    return extractClaim(token, Claims::getSubject);
+    return verifyToken(token).subject();
   }
 
   public Date extractExpiration(String token) {
-    return extractClaim(token, Claims::getExpiration);
+    return Date.from(verifyToken(token).expiresAt());
+  }
+
+  /**
+   * Verifies the given token and builds the authenticated principal from its claims. Tokens issued
+   * before the identity claims were added yield a principal without an id, which the caller has to
+   * resolve against the database.
+   *
+   * @param token the signed access token
+   * @return the principal described by the token claims
+   */
+  public AuthenticatedUser extractAuthenticatedUser(String token) {
+    return verifyToken(token).toPrincipal();
+  }
+
+  private static Long toLong(Object claim) {
+    return claim instanceof Number number ? number.longValue() : null;
   }
 
-  private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-    Claims claims = extractAllClaims(token);
-    return claimsResolver.apply(claims);
+  private static String digest(String token) {
+    try {
+      byte[] hash =
+          MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+      return Base64.getEncoder().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
   }
 
-  private Claims extractAllClaims(String token) {
-    return Jwts.parser()
-        .verifyWith(generateSecretKey())
-        .build()
-        .parseSignedClaims(token)
-        .getPayload();
+  public String generateAccessToken(User user) {
+    return buildToken(user, identityClaims(user, TOKEN_TYPE_ACCESS), accessTokenExpiration);
   }
 
-  private SecretKey generateSecretKey() {
-    byte[] keyBytes = Decoders.BASE64.decode(secret);
-    return Keys.hmacShaKeyFor(keyBytes);
+  /**
+   * Generates a refresh token. The token id and the family id are embedded in the token, so that
+   * the token can be rotated and its reuse detected.
+   *
+   * @param user the user the token is issued to
+   * @param tokenId the unique id of the token
+   * @param familyId the id of the rotation family the token belongs to
+   * @return the signed refresh token
+   */
+  public String generateRefreshToken(User user, String tokenId, String familyId) {
+    Map<String, Object> claims = identityClaims(user, TOKEN_TYPE_REFRESH);
+    claims.put(Claims.ID, tokenId);
+    claims.put(CLAIM_FAMILY_ID, familyId);
+    return buildToken(user, claims, refreshTokenExpiration);
   }
 
-  public String generateAccessToken(UserDetails userDetails) {
-    return buildToken(userDetails, accessTokenExpiration);
+  public Duration getRefreshTokenTtl() {
+    return Duration.ofMillis(refreshTokenExpiration);
   }
 
-  public String generateRefreshToken(UserDetails userDetails) {
-    return buildToken(userDetails, refreshTokenExpiration);
+  private Map<String, Object> identityClaims(User user, String tokenType) {
+    Map<String, Object> claims = new HashMap<>();
+    claims.put(CLAIM_TOKEN_TYPE, tokenType);
+    claims.put(CLAIM_USER_ID, user.getId());
+    claims.put(CLAIM_TOKEN_VERSION, user.getTokenVersion());
+    return claims;
   }
 
   public String buildToken(UserDetails userDetails, Long expiration) {
@@ -74,17 +177,17 @@ public class JwtUtil {
         .issuedAt(new Date(System.currentTimeMillis()))
         .expiration(new Date(System.currentTimeMillis() + expiration))
         .and()
-        .signWith(generateSecretKey())
+        .signWith(secretKey)
         .compact();
   }
 
   public boolean isTokenValid(String token, UserDetails userDetails) {
-    String username = extractUsername(token);
-    return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+    VerifiedToken verifiedToken = verifyToken(token);
+    return verifiedToken.subject().equals(userDetails.getUsername()) && !verifiedToken.isExpired();
   }
 
   public boolean isTokenExpired(String token) {
-    return extractExpiration(token).before(new Date());
+    return verifyToken(token).isExpired();
   }
 
   public void validateUserAccess(String user) throws NotAuthorizedException {
@@ -109,4 +212,25 @@ public class JwtUtil {
 
     throw new NotAuthorizedException("User authentication details are missing");
   }
+
+  /** Keeps a verified token cached only for as long as the token itself is valid. */
+  private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+    @Override
+    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+      return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String key, VerifiedToken value, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        String key, VerifiedToken value, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
 }
@@ -0,0 +1,126 @@
+package com.derrick.finlypal.util;
+
+import com.derrick.finlypal.exception.InternalServerErrorException;
+import com.derrick.finlypal.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the CPU-bound password hashing of the authentication flows on a dedicated, bounded pool
+ * instead of the request threads. When every hashing thread is busy and the queue is full, new work
+ * is rejected immediately with a {@link TooManyRequestsException}, so a burst of logins can no
+ * longer pin every CPU and starve the other endpoints.
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+  private static final long RETRY_AFTER_SECONDS = 1;
+
+  private final PasswordEncoder passwordEncoder;
+  private final ThreadPoolExecutor executor;
+
+  public PasswordHasher(
+      PasswordEncoder passwordEncoder,
+      MeterRegistry meterRegistry,
+      @Value("${application.security.hashing.threads:0}") int threads,
+      @Value("${application.security.hashing.queueCapacity:64}") int queueCapacity) {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    AtomicInteger threadCount = new AtomicInteger();
+
+    this.passwordEncoder = passwordEncoder;
+    this.executor =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    ExecutorServiceMetrics.monitor(meterRegistry, executor, "password.hashing");
+  }
+
+  /**
+   * Hashes the given raw password.
+   *
+   * @param rawPassword the password to hash
+   * @return the encoded password
+   * @throws TooManyRequestsException if the hashing pool is saturated
+   * @throws InternalServerErrorException if the hashing fails or the caller is interrupted
+   */
+  public String encode(String rawPassword)
+      throws TooManyRequestsException, InternalServerErrorException {
+    return submit(() -> passwordEncoder.encode(rawPassword));
+  }
+
+  /**
+   * Checks the given raw password against its encoded form.
+   *
+   * @param rawPassword the password supplied by the user
+   * @param encodedPassword the stored password hash
+   * @return true if the password matches
+   * @throws TooManyRequestsException if the hashing pool is saturated
+   * @throws InternalServerErrorException if the check fails or the caller is interrupted
+   */
+  public boolean matches(String rawPassword, String encodedPassword)
+      throws TooManyRequestsException, InternalServerErrorException {
+    return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+  }
+
+  /**
+   * Tells whether the given hash was produced with weaker settings than the configured ones, e.g. a
+   * lower BCrypt cost, and should be replaced after the next successful login.
+   *
+   * @param encodedPassword the stored password hash
+   * @return true if the password should be hashed again
+   */
+  public boolean needsRehash(String encodedPassword) {
+    return passwordEncoder.upgradeEncoding(encodedPassword);
+  }
+
+  private <T> T submit(Callable<T> task)
+      throws TooManyRequestsException, InternalServerErrorException {
+    Future<T> future;
+    try {
+      future = executor.submit(task);
+    } catch (RejectedExecutionException e) {
+      log.warn("Password hashing pool is saturated, rejecting request");
+      throw new TooManyRequestsException(
+          "Too many authentication requests, please retry shortly", RETRY_AFTER_SECONDS);
+    }
+
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new InternalServerErrorException("Password hashing was interrupted");
+    } catch (ExecutionException e) {
+      throw new InternalServerErrorException("Password hashing failed: " + e.getCause());
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdown();
+  }
+}
@@ -0,0 +1,173 @@
+package com.derrick.finlypal.util;
+
+import com.derrick.finlypal.entity.Budget;
+import com.derrick.finlypal.enums.BudgetItemStatus;
+import com.derrick.finlypal.enums.BudgetStatus;
+import com.derrick.finlypal.enums.SavingsStatus;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+/**
+ * Derives the status of budgets, budget items and savings goals from their dates and amounts. A
+ * status depends on the current date and on the expenses recorded so far, so reads derive it
+ * instead of trusting the persisted value; the persisted value is kept up to date by the writes and
+ * by {@link com.derrick.finlypal.serviceImp.StatusReconciler}.
+ */
+public final class StatusRules {
+
+  private StatusRules() {}
+
+  /**
+   * Returns the current status of a budget. A budget marked as completed stays completed.
+   *
+   * @param budget the budget
+   * @param totalSpent the total amount spent in the budget
+   * @return the current status of the budget
+   */
+  public static BudgetStatus budgetStatus(Budget budget, BigDecimal totalSpent) {
+    if (budget.getStatus() == BudgetStatus.COMPLETED) {
+      return BudgetStatus.COMPLETED;
+    }
+    return budgetStatus(
+        budget.getStartDate(),
+        budget.getEndDate(),
+        Optional.of(budget.getTotalBudget()),
+        Optional.of(totalSpent));
+  }
+
+  /**
+   * Determines the status of a budget based on its start and end dates, as well as the total
+   * budgeted amount and the amount spent so far. The budget can be in one of the following states:
+   * PLANNED, EXCEEDED, EXPIRED, or IN_PROGRESS.
+   *
+   * <ul>
+   *   <li>PLANNED: The budget is scheduled to start in the future.
+   *   <li>EXCEEDED: The budget period has ended, and the total spent exceeds the allocated budget.
+   *   <li>EXPIRED: The budget period has ended, but the total spent is within the allocated budget.
+   *   <li>IN_PROGRESS: The budget is currently active.
+   * </ul>
+   *
+   * @param startDate the start date of the budget
+   * @param endDate the end date of the budget
+   * @param totalBudget the total budgeted amount (optional)
+   * @param totalSpent the total amount spent so far (optional)
+   * @return the current status of the budget
+   */
+  public static BudgetStatus budgetStatus(
+      LocalDate startDate,
+      LocalDate endDate,
+      Optional<BigDecimal> totalBudget,
+      Optional<BigDecimal> totalSpent) {
+
+    LocalDate today = LocalDate.now();
+
+    // If the budget starts in the future → PLANNED
+    if (startDate.isAfter(today)) {
+      return BudgetStatus.PLANNED;
+    }
+
+    // If the budget is still active (today is before or equal to endDate)
+    if (!endDate.isBefore(today) && totalSpent.isPresent() && totalBudget.isPresent()) {
+      BigDecimal spent = totalSpent.get();
+      BigDecimal budget = totalBudget.get();
+      BigDecimal threshold = budget.multiply(BigDecimal.valueOf(0.9)); // 90% of budget
+
+      if (spent.compareTo(budget) >= 0) {
+        return BudgetStatus.EXCEEDED; // Budget is still active but fully used up
+      }
+      if (spent.compareTo(threshold) >= 0) {
+        return BudgetStatus.AT_RISK; // Budget is close to being exceeded
+      }
+    }
+
+    // If the budget period has ended
+    if (endDate.isBefore(today) && totalSpent.isPresent() && totalBudget.isPresent()) {
+      BigDecimal spent = totalSpent.get();
+      BigDecimal budget = totalBudget.get();
+
+      if (spent.compareTo(budget) > 0) {
+        return BudgetStatus.EXCEEDED; // Budget was exceeded before it ended
+      }
+      if (spent.compareTo(budget.multiply(BigDecimal.valueOf(0.5))) < 0) {
+        return BudgetStatus.UNDERUTILIZED; // Less than 50% of budget used
+      }
+      return BudgetStatus.EXPIRED; // Budget ended but within limits
+    }
+
+    return BudgetStatus.IN_PROGRESS; // Budget is ongoing and within limits
+  }
+
+  /**
+   * Determines the status of a budget item based on the actual spend and allocated amount.
+   *
+   * <p>The status is determined as follows:
+   *
+   * <ul>
+   *   <li>If the actual spend is greater than the allocated amount, the status is {@link
+   *       BudgetItemStatus#OVERSPENT}.
+   *   <li>If the actual spend is at least 90% of the allocated amount, the status is {@link
+   *       BudgetItemStatus#AT_RISK}.
+   *   <li>If the actual spend is less than half the allocated amount, the status is {@link
+   *       BudgetItemStatus#UNDERSPENT}.
+   *   <li>Otherwise the status is {@link BudgetItemStatus#ON_TRACK}.
+   * </ul>
+   *
+   * @param actualSpend the actual spend of the budget item
+   * @param allocatedAmount the allocated amount of the budget item
+   * @return the status of the budget item
+   */
+  public static BudgetItemStatus budgetItemStatus(
+      BigDecimal actualSpend, BigDecimal allocatedAmount) {
+    BigDecimal threshold = allocatedAmount.multiply(BigDecimal.valueOf(0.9)); // 90% of allocation
+
+    if (actualSpend.compareTo(allocatedAmount) > 0) {
+      return BudgetItemStatus.OVERSPENT; // Spending exceeded allocation
+    }
+    if (actualSpend.compareTo(threshold) >= 0) {
+      return BudgetItemStatus.AT_RISK; // Close to exceeding allocation
+    }
+    if (actualSpend.compareTo(allocatedAmount.multiply(BigDecimal.valueOf(0.5))) < 0) {
+      return BudgetItemStatus.UNDERSPENT; // Less than 50% of allocation used
+    }
+    return BudgetItemStatus.ON_TRACK; // Spending is under control
+  }
+
+  /**
+   * Determines the status of a savings goal based on its end date, target amount, and saved amount.
+   *
+   * @param startDate the start date of the savings goal
+   * @param endDate the end date of the savings goal
+   * @param targetAmount the target amount of the savings goal
+   * @param savedAmount the saved amount of the savings goal
+   * @return the status of the savings goal
+   */
+  public static SavingsStatus savingsStatus(
+      LocalDate startDate, LocalDate endDate, BigDecimal targetAmount, BigDecimal savedAmount) {
+    LocalDate today = LocalDate.now();
+
+    if (today.isBefore(startDate)) {
+      return SavingsStatus.NOT_STARTED; // Before savings start
+    }
+
+    if (savedAmount.compareTo(targetAmount) >= 0) {
+      return SavingsStatus.ACHIEVED; // Goal reached
+    }
+
+    if (endDate.isBefore(today)) {
+      return SavingsStatus.FAILED; // Deadline passed
+    }
+
+    long daysRemaining = ChronoUnit.DAYS.between(today, endDate);
+    BigDecimal progress =
+        savedAmount.divide(targetAmount, 2, RoundingMode.HALF_UP); // Normalized progress
+
+    if (daysRemaining < 7 && progress.compareTo(new BigDecimal("0.75")) < 0) {
+      return SavingsStatus.AT_RISK; // Less than a week left & less than 75% saved
+    }
+
+    return SavingsStatus.ON_TRACK; // Default case
+  }
+}
@@ -0,0 +1,124 @@
+package com.derrick.finlypal.util;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory view of the token revocations, consulted for every authenticated request. A user whose
+ * tokens were revoked has a minimum token version, and any token carrying a lower version is
+ * rejected.
+ *
+ * <p>The lookup is fronted by a bloom filter of the revoked user ids, so for the vast majority of
+ * users, who never had anything revoked, the check is a few bit tests without touching the map. A
+ * false positive merely costs a map lookup. Revocations only need to be remembered for as long as
+ * the tokens they target can still be valid, so {@link #evictOlderThan} drops older ones and
+ * rebuilds the filter.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+  private final int filterBits;
+  private final Map<Long, Revocation> revocations = new ConcurrentHashMap<>();
+  private volatile BloomFilter filter;
+
+  public TokenRevocationRegistry(
+      @Value("${application.jwt.revocationFilterBits:1048576}") int filterBits) {
+    this.filterBits = filterBits;
+    this.filter = new BloomFilter(filterBits);
+  }
+
+  /**
+   * Tells whether a token has been revoked.
+   *
+   * @param userId the id of the user the token was issued to
+   * @param tokenVersion the token version embedded in the token
+   * @return true if the token must be rejected
+   */
+  public boolean isRevoked(Long userId, int tokenVersion) {
+    if (userId == null || !filter.mightContain(userId)) {
+      return false;
+    }
+    Revocation revocation = revocations.get(userId);
+    return revocation != null && tokenVersion < revocation.minimumVersion();
+  }
+
+  /**
+   * Revokes every token of the user with a version below the given one.
+   *
+   * @param userId the id of the user
+   * @param minimumVersion the lowest token version that is still accepted
+   * @param revokedAt when the revocation happened
+   */
+  public void revoke(Long userId, int minimumVersion, Instant revokedAt) {
+    // Set the filter bits first so that a reader never misses a recorded revocation
+    filter.add(userId);
+    revocations.merge(
+        userId,
+        new Revocation(minimumVersion, revokedAt),
+        (current, next) -> next.minimumVersion() > current.minimumVersion() ? next : current);
+  }
+
+  /**
+   * Forgets the revocations made before the given time and rebuilds the bloom filter from the
+   * remaining ones.
+   *
+   * @param cutoff revocations older than this are dropped
+   */
+  public synchronized void evictOlderThan(Instant cutoff) {
+    if (!revocations.values().removeIf(revocation -> revocation.revokedAt().isBefore(cutoff))) {
+      return;
+    }
+    BloomFilter rebuilt = new BloomFilter(filterBits);
+    revocations.keySet().forEach(rebuilt::add);
+    filter = rebuilt;
+    // Revocations recorded while rebuilding may have gone to the old filter only
+    revocations.keySet().forEach(rebuilt::add);
+  }
+
+  private record Revocation(int minimumVersion, Instant revokedAt) {}
+
+  /** Lock-free bloom filter over {@code long} keys using three probes. */
+  private static final class BloomFilter {
+    private static final int PROBES = 3;
+
+    private final AtomicLongArray words;
+    private final int mask;
+
+    BloomFilter(int bits) {
+      int size = Integer.highestOneBit(Math.max(64, bits - 1)) << 1;
+      this.words = new AtomicLongArray(size >>> 6);
+      this.mask = size - 1;
+    }
+
+    void add(long key) {
+      long hash = mix(key);
+      for (int i = 0; i < PROBES; i++) {
+        int bit = (int) (hash >>> (i * 21)) & mask;
+        long word = 1L << bit;
+        words.getAndAccumulate(bit >>> 6, word, (current, update) -> current | update);
+      }
+    }
+
+    boolean mightContain(long key) {
+      long hash = mix(key);
+      for (int i = 0; i < PROBES; i++) {
+        int bit = (int) (hash >>> (i * 21)) & mask;
+        if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static long mix(long key) {
+      long hash = key * 0x9E3779B97F4A7C15L;
+      hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+      hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+      return hash ^ (hash >>> 31);
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package com.derrick.finlypal.util;
+
+import com.derrick.finlypal.exception.BadRequestException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the top expenses, which are ordered by amount and then id, both descending. The next
+ * page starts right after the last expense of the previous one, so the expenses already shown are
+ * never read again. Clients only ever see the encoded form and must treat it as opaque.
+ *
+ * @param amount the amount of the last expense returned
+ * @param id the id of the last expense returned
+ */
+public record TopExpenseCursor(BigDecimal amount, long id) {
+
+  private static final char SEPARATOR = '|';
+
+  /**
+   * Decodes a cursor handed out by {@link #encode()}.
+   *
+   * @param cursor the encoded cursor
+   * @return the decoded cursor
+   * @throws BadRequestException if the cursor is malformed
+   */
+  public static TopExpenseCursor decode(String cursor) throws BadRequestException {
+    try {
+      String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+      int separator = value.indexOf(SEPARATOR);
+      return new TopExpenseCursor(
+          new BigDecimal(value.substring(0, separator)),
+          Long.parseLong(value.substring(separator + 1)));
+    } catch (RuntimeException e) {
+      throw new BadRequestException("Invalid cursor");
+    }
+  }
+
+  /**
+   * Encodes the cursor into an opaque, URL safe string.
+   *
+   * @return the encoded cursor
+   */
+  public String encode() {
+    String value = amount.toPlainString() + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+  }
+}
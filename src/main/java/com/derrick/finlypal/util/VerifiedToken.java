@@ -0,0 +1,39 @@
+package com.derrick.finlypal.util;
+
+import com.derrick.finlypal.config.AuthenticatedUser;
+import java.time.Instant;
+
+/**
+ * Immutable view of the claims of a token whose signature and expiry have been verified.
+ *
+ * @param subject the subject of the token, i.e. the user's email
+ * @param userId the id of the user, or {@code null} for tokens issued without identity claims
+ * @param tokenVersion the token version of the user at the time the token was issued
+ * @param tokenType the type of the token, {@code null} for tokens issued before types were added
+ * @param tokenId the unique id of the token, only set on refresh tokens
+ * @param familyId the id shared by all refresh tokens rotated from the same login
+ * @param issuedAt the time the token was issued
+ * @param expiresAt the time the token expires
+ */
+public record VerifiedToken(
+    String subject,
+    Long userId,
+    int tokenVersion,
+    String tokenType,
+    String tokenId,
+    String familyId,
+    Instant issuedAt,
+    Instant expiresAt) {
+
+  public boolean isExpired() {
+    return expiresAt.isBefore(Instant.now());
+  }
+
+  public boolean isRefreshToken() {
+    return JwtUtil.TOKEN_TYPE_REFRESH.equals(tokenType);
+  }
+
+  public AuthenticatedUser toPrincipal() {
+    return new AuthenticatedUser(userId, subject, tokenVersion);
+  }
+}
@@ -0,0 +1,3 @@
+-- Track the version of the tokens issued to a user so access can be revoked without a lookup
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS token_version INTEGER NOT NULL DEFAULT 0;
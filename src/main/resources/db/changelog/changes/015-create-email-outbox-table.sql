@@ -0,0 +1,17 @@
+-- Emails are written here in the same transaction as the data they belong to and delivered by a background dispatcher
+CREATE TABLE IF NOT EXISTS email_outbox (
+                              id BIGSERIAL PRIMARY KEY,
+                              recipient VARCHAR(255) NOT NULL,
+                              subject VARCHAR(255) NOT NULL,
+                              body TEXT NOT NULL,
+                              status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+                              attempts INTEGER NOT NULL DEFAULT 0,
+                              next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                              last_error VARCHAR(255),
+                              created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                              sent_at TIMESTAMP
+);
+
+-- The dispatcher only ever looks for pending messages that are due
+CREATE INDEX IF NOT EXISTS idx_email_outbox_due
+    ON email_outbox (status, next_attempt_at);
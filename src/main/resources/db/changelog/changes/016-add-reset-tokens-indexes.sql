@@ -0,0 +1,6 @@
+-- Reset credentials are always looked up and deleted by email, and purged by expiry date
+CREATE INDEX IF NOT EXISTS idx_reset_tokens_email
+    ON reset_tokens (email);
+
+CREATE INDEX IF NOT EXISTS idx_reset_tokens_expiry_date
+    ON reset_tokens (expiry_date);
@@ -0,0 +1,24 @@
+-- Issued refresh tokens, used to rotate them and to detect the reuse of a rotated token
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+                                id VARCHAR(36) PRIMARY KEY,
+                                user_id BIGINT NOT NULL,
+                                family_id VARCHAR(36) NOT NULL,
+                                expires_at TIMESTAMP NOT NULL,
+                                used_at TIMESTAMP,
+                                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                                CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at
+    ON refresh_tokens (expires_at);
+
+-- Revocations, replayed by every node into its in-memory revocation registry
+CREATE TABLE IF NOT EXISTS token_revocations (
+                                   id BIGSERIAL PRIMARY KEY,
+                                   user_id BIGINT NOT NULL,
+                                   token_version INTEGER NOT NULL,
+                                   created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_token_revocations_created_at
+    ON token_revocations (created_at);
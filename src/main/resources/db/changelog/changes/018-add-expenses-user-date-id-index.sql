@@ -0,0 +1,3 @@
+-- Expense lists are ordered newest first and paged by seeking on (date, id)
+CREATE INDEX IF NOT EXISTS idx_expenses_user_date_id
+    ON expenses (user_id, date DESC, id DESC);
@@ -0,0 +1,16 @@
+-- Expense queries only carry the predicates of the filters supplied, so each combination is planned
+-- against the index matching it. Queries without a type or category use idx_expenses_user_date_id.
+-- Amount ranges are applied to the rows of the user's date range and need no index of their own.
+
+-- Insights always filter on type; the included columns let their sums be read from the index alone
+CREATE INDEX IF NOT EXISTS idx_expenses_user_type_date_id
+    ON expenses (user_id, type, date DESC, id DESC) INCLUDE (amount, category_id);
+
+CREATE INDEX IF NOT EXISTS idx_expenses_user_category_date_id
+    ON expenses (user_id, category_id, date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_expenses_budget_items_id
+    ON expenses (budget_items_id);
+
+CREATE INDEX IF NOT EXISTS idx_expenses_savings_id
+    ON expenses (savings_id);
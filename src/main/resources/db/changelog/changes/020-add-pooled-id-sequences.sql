@@ -0,0 +1,53 @@
+-- Entities draw their ids from these sequences in blocks of 50 (the pooled-lo optimizer): one nextval
+-- returns the first id of a block and the next 49 are handed out in memory, so inserts can be batched.
+-- The increment must stay equal to the allocationSize of the entity mappings.
+-- Each sequence restarts above the highest id already used and becomes the column default, so rows
+-- inserted outside Hibernate cannot collide with a block. The BIGSERIAL sequences are no longer used.
+
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+ALTER SEQUENCE users_seq INCREMENT BY 50 OWNED BY users.id;
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 1, false);
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+DROP SEQUENCE IF EXISTS users_id_seq;
+
+CREATE SEQUENCE IF NOT EXISTS expenses_seq INCREMENT BY 50;
+ALTER SEQUENCE expenses_seq INCREMENT BY 50 OWNED BY expenses.id;
+SELECT setval('expenses_seq', COALESCE((SELECT MAX(id) FROM expenses), 0) + 1, false);
+ALTER TABLE expenses ALTER COLUMN id SET DEFAULT nextval('expenses_seq');
+DROP SEQUENCE IF EXISTS expenses_id_seq;
+
+CREATE SEQUENCE IF NOT EXISTS reset_tokens_seq INCREMENT BY 50;
+ALTER SEQUENCE reset_tokens_seq INCREMENT BY 50 OWNED BY reset_tokens.id;
+SELECT setval('reset_tokens_seq', COALESCE((SELECT MAX(id) FROM reset_tokens), 0) + 1, false);
+ALTER TABLE reset_tokens ALTER COLUMN id SET DEFAULT nextval('reset_tokens_seq');
+DROP SEQUENCE IF EXISTS reset_tokens_id_seq;
+
+CREATE SEQUENCE IF NOT EXISTS budgets_seq INCREMENT BY 50;
+ALTER SEQUENCE budgets_seq INCREMENT BY 50 OWNED BY budgets.id;
+SELECT setval('budgets_seq', COALESCE((SELECT MAX(id) FROM budgets), 0) + 1, false);
+ALTER TABLE budgets ALTER COLUMN id SET DEFAULT nextval('budgets_seq');
+DROP SEQUENCE IF EXISTS budgets_id_seq;
+
+CREATE SEQUENCE IF NOT EXISTS budget_items_seq INCREMENT BY 50;
+ALTER SEQUENCE budget_items_seq INCREMENT BY 50 OWNED BY budget_items.id;
+SELECT setval('budget_items_seq', COALESCE((SELECT MAX(id) FROM budget_items), 0) + 1, false);
+ALTER TABLE budget_items ALTER COLUMN id SET DEFAULT nextval('budget_items_seq');
+DROP SEQUENCE IF EXISTS budget_items_id_seq;
+
+CREATE SEQUENCE IF NOT EXISTS savings_seq INCREMENT BY 50;
+ALTER SEQUENCE savings_seq INCREMENT BY 50 OWNED BY savings.id;
+SELECT setval('savings_seq', COALESCE((SELECT MAX(id) FROM savings), 0) + 1, false);
+ALTER TABLE savings ALTER COLUMN id SET DEFAULT nextval('savings_seq');
+DROP SEQUENCE IF EXISTS savings_id_seq;
+
+CREATE SEQUENCE IF NOT EXISTS email_outbox_seq INCREMENT BY 50;
+ALTER SEQUENCE email_outbox_seq INCREMENT BY 50 OWNED BY email_outbox.id;
+SELECT setval('email_outbox_seq', COALESCE((SELECT MAX(id) FROM email_outbox), 0) + 1, false);
+ALTER TABLE email_outbox ALTER COLUMN id SET DEFAULT nextval('email_outbox_seq');
+DROP SEQUENCE IF EXISTS email_outbox_id_seq;
+
+CREATE SEQUENCE IF NOT EXISTS token_revocations_seq INCREMENT BY 50;
+ALTER SEQUENCE token_revocations_seq INCREMENT BY 50 OWNED BY token_revocations.id;
+SELECT setval('token_revocations_seq', COALESCE((SELECT MAX(id) FROM token_revocations), 0) + 1, false);
+ALTER TABLE token_revocations ALTER COLUMN id SET DEFAULT nextval('token_revocations_seq');
+DROP SEQUENCE IF EXISTS token_revocations_id_seq;
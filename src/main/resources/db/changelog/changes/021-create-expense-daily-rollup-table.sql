@@ -0,0 +1,21 @@
+-- Per user, day, type and category totals of the expenses, maintained by the expense writes and
+-- rebuilt periodically. The key leads with the user and type, so an insight reads its date range
+-- straight off the primary key. Expenses without a category are summed under category id 0, so
+-- the column carries no foreign key.
+CREATE TABLE IF NOT EXISTS expense_daily_rollup (
+                              user_id BIGINT NOT NULL,
+                              day DATE NOT NULL,
+                              type VARCHAR(255) NOT NULL,
+                              category_id BIGINT NOT NULL,
+                              total NUMERIC(19,2) NOT NULL,
+                              count BIGINT NOT NULL,
+                              PRIMARY KEY (user_id, type, day, category_id)
+);
+
+-- Backfill from the existing expenses
+INSERT INTO expense_daily_rollup (user_id, day, type, category_id, total, count)
+SELECT user_id, date, type, COALESCE(category_id, 0), SUM(amount), COUNT(*)
+FROM expenses
+WHERE user_id IS NOT NULL
+GROUP BY user_id, date, type, COALESCE(category_id, 0)
+ON CONFLICT DO NOTHING;
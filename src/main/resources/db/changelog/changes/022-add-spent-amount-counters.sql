@@ -0,0 +1,26 @@
+-- Running totals of the expenses of each budget item, budget and savings goal. The expense writes
+-- maintain them with relative updates and a periodic job repairs any drift. A budget item counts
+-- all of its expenses, a budget only the EXPENSE entries of its items.
+ALTER TABLE budget_items ADD COLUMN IF NOT EXISTS spent_amount DECIMAL(19,2) NOT NULL DEFAULT 0.00;
+ALTER TABLE budgets ADD COLUMN IF NOT EXISTS spent_amount DECIMAL(19,2) NOT NULL DEFAULT 0.00;
+
+-- Backfill from the existing expenses
+UPDATE budget_items bi
+SET spent_amount = s.total
+FROM (SELECT budget_items_id, SUM(amount) AS total
+      FROM expenses
+      WHERE budget_items_id IS NOT NULL
+      GROUP BY budget_items_id) s
+WHERE s.budget_items_id = bi.id;
+
+UPDATE budgets b
+SET spent_amount = s.total
+FROM (SELECT bi.budget_id, SUM(e.amount) AS total
+      FROM expenses e
+      JOIN budget_items bi ON bi.id = e.budget_items_id
+      WHERE e.type = 'EXPENSE'
+      GROUP BY bi.budget_id) s
+WHERE s.budget_id = b.id;
+
+UPDATE savings sv
+SET saved_amount = COALESCE((SELECT SUM(e.amount) FROM expenses e WHERE e.savings_id = sv.id), 0);
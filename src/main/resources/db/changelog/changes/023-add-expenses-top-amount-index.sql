@@ -0,0 +1,5 @@
+-- Top expenses read the user's expenses of one type in a date range, largest amount first. Every
+-- column they select is in the index, so they are an index-only scan whose bounded top-N sort never
+-- visits the table. The id breaks ties between equal amounts and positions the "load more" cursor.
+CREATE INDEX IF NOT EXISTS idx_expenses_user_type_date_amount
+    ON expenses (user_id, type, date, amount DESC) INCLUDE (id, description);
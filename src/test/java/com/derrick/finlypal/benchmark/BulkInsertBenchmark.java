@@ -0,0 +1,198 @@
+package com.derrick.finlypal.benchmark;
+
+import com.derrick.finlypal.config.AuthenticatedUser;
+import com.derrick.finlypal.dto.BudgetItemCreateRequestDTO;
+import com.derrick.finlypal.dto.GeneralResponseDTO;
+import com.derrick.finlypal.entity.Budget;
+import com.derrick.finlypal.entity.Category;
+import com.derrick.finlypal.entity.Currency;
+import com.derrick.finlypal.entity.Expense;
+import com.derrick.finlypal.entity.User;
+import com.derrick.finlypal.enums.BudgetStatus;
+import com.derrick.finlypal.enums.ExpenseType;
+import com.derrick.finlypal.repository.BudgetRepository;
+import com.derrick.finlypal.repository.CategoryRepository;
+import com.derrick.finlypal.repository.CurrencyRepository;
+import com.derrick.finlypal.repository.ExpenseRepository;
+import com.derrick.finlypal.repository.UserRepository;
+import com.derrick.finlypal.serviceImp.BudgetItemServiceImpl;
+import com.derrick.finlypal.util.CurrentUserContext;
+import com.derrick.finlypal.util.InsightsResultCache;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.RequestScope;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Measures creating budget items through {@link BudgetItemServiceImpl#createBudgetItems} and
+ * inserting expenses in bulk, with inserts sent one at a time ({@code batchSize=1}) and in JDBC
+ * batches. Ids come from the pooled-lo sequences in both cases, so the difference is the cost of a
+ * round trip per row. It runs on the in-memory database of the test profile, where a round trip is
+ * cheap; pass {@code -Dspring.datasource.url=...} with a PostgreSQL database to see the full gain.
+ * Run it with {@code mvn test-compile exec:java
+ * -Dexec.mainClass=com.derrick.finlypal.benchmark.BulkInsertBenchmark -Dexec.classpathScope=test}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+  @Param({"1", "50"})
+  public int batchSize;
+
+  @Param({"200"})
+  public int rows;
+
+  private ConfigurableApplicationContext context;
+  private BudgetItemServiceImpl budgetItemService;
+  private BudgetRepository budgetRepository;
+  private ExpenseRepository expenseRepository;
+  private User user;
+  private Category category;
+  private Long budgetId;
+  private List<BudgetItemCreateRequestDTO> budgetItems;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context =
+        new SpringApplicationBuilder(BenchmarkApplication.class)
+            .web(WebApplicationType.NONE)
+            .profiles("test")
+            .properties(
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "spring.jpa.properties.hibernate.generate_statistics=false",
+                "logging.level.root=WARN")
+            .initializers(
+                applicationContext ->
+                    applicationContext
+                        .getBeanFactory()
+                        .registerScope(WebApplicationContext.SCOPE_REQUEST, new RequestScope()))
+            .run();
+    budgetItemService = context.getBean(BudgetItemServiceImpl.class);
+    budgetRepository = context.getBean(BudgetRepository.class);
+    expenseRepository = context.getBean(ExpenseRepository.class);
+
+    Currency currency =
+        context
+            .getBean(CurrencyRepository.class)
+            .save(Currency.builder().code("USD").name("US Dollar").symbol("$").build());
+    user =
+        context
+            .getBean(UserRepository.class)
+            .save(
+                User.builder()
+                    .name("Jane")
+                    .email("jane@finlypal.com")
+                    .password("secret")
+                    .currency(currency)
+                    .build());
+    category =
+        context
+            .getBean(CategoryRepository.class)
+            .save(Category.builder().name("FOOD").displayName("Food").build());
+    budgetItems =
+        IntStream.range(0, rows)
+            .mapToObj(
+                i -> new BudgetItemCreateRequestDTO("Item " + i, "cart", BigDecimal.valueOf(10)))
+            .toList();
+
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest()));
+    context
+        .getBean(CurrentUserContext.class)
+        .setPrincipal(new AuthenticatedUser(user.getId(), user.getEmail(), 0));
+  }
+
+  /** Starts every call with an empty budget, so summing its existing items costs the same. */
+  @Setup(Level.Invocation)
+  public void createBudget() {
+    budgetId =
+        budgetRepository
+            .save(
+                Budget.builder()
+                    .name("Monthly")
+                    .icon("calendar")
+                    .startDate(LocalDate.now())
+                    .endDate(LocalDate.now().plusMonths(1))
+                    .totalBudget(BigDecimal.ZERO)
+                    .status(BudgetStatus.PLANNED)
+                    .user(user)
+                    .build())
+            .getId();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+    context.close();
+  }
+
+  @Benchmark
+  public GeneralResponseDTO createBudgetItems() throws Exception {
+    return budgetItemService.createBudgetItems(budgetItems, budgetId);
+  }
+
+  @Benchmark
+  public void insertExpenses() {
+    expenseRepository.insertAll(
+        IntStream.range(0, rows)
+            .mapToObj(
+                i ->
+                    Expense.builder()
+                        .description("Expense " + i)
+                        .amount(BigDecimal.TEN)
+                        .date(LocalDate.now())
+                        .type(ExpenseType.EXPENSE)
+                        .category(category)
+                        .user(user)
+                        .build())
+            .toList(),
+        batchSize);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(BulkInsertBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+
+  /** Just the persistence layer and the service under test, without the web and security setup. */
+  @SpringBootConfiguration
+  @EnableAutoConfiguration
+  @EntityScan("com.derrick.finlypal.entity")
+  @EnableJpaRepositories("com.derrick.finlypal.repository")
+  @Import({BudgetItemServiceImpl.class, CurrentUserContext.class, InsightsResultCache.class})
+  static class BenchmarkApplication {}
+}
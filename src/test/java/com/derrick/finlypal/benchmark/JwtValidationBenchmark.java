@@ -0,0 +1,70 @@
+package com.derrick.finlypal.benchmark;
+
+import com.derrick.finlypal.entity.User;
+import com.derrick.finlypal.util.JwtUtil;
+import com.derrick.finlypal.util.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares verifying an access token from scratch with serving it from the verified-token cache.
+ * Run it with {@code mvn test-compile exec:java
+ * -Dexec.mainClass=com.derrick.finlypal.benchmark.JwtValidationBenchmark
+ * -Dexec.classpathScope=test}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+  private JwtUtil jwtUtil;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    jwtUtil =
+        new JwtUtil(
+            Base64.getEncoder().encodeToString(new byte[32]),
+            3_600_000L,
+            7_200_000L,
+            10_000,
+            new SimpleMeterRegistry());
+    token =
+        jwtUtil.generateAccessToken(
+            User.builder().id(42L).email("jane@finlypal.com").tokenVersion(1).build());
+    jwtUtil.verifyToken(token);
+  }
+
+  @Benchmark
+  public VerifiedToken cold() {
+    return jwtUtil.parseToken(token);
+  }
+
+  @Benchmark
+  public VerifiedToken cached() {
+    return jwtUtil.verifyToken(token);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(JwtValidationBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,125 @@
+package com.derrick.finlypal.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.derrick.finlypal.entity.Currency;
+import com.derrick.finlypal.entity.User;
+import com.derrick.finlypal.repository.UserRepository;
+import com.derrick.finlypal.util.CurrentUserContext;
+import com.derrick.finlypal.util.JwtUtil;
+import com.derrick.finlypal.util.TokenRevocationRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class JwtAuthenticationFilterTest {
+
+  private final User user =
+      User.builder()
+          .id(42L)
+          .email("jane@finlypal.com")
+          .name("Jane")
+          .currency(new Currency(2L, "EUR", "Euro", "€"))
+          .tokenVersion(3)
+          .build();
+
+  private JwtUtil jwtUtil;
+  private UserRepository userRepository;
+  private CurrentUserContext currentUserContext;
+  private TokenRevocationRegistry tokenRevocationRegistry;
+  private JwtAuthenticationFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    jwtUtil =
+        new JwtUtil(
+            Base64.getEncoder().encodeToString(new byte[32]),
+            60_000L,
+            120_000L,
+            100,
+            new SimpleMeterRegistry());
+
+    userRepository = mock(UserRepository.class);
+    currentUserContext = new CurrentUserContext(userRepository);
+    tokenRevocationRegistry = new TokenRevocationRegistry(1024);
+    filter =
+        new JwtAuthenticationFilter(
+            jwtUtil, userRepository, currentUserContext, tokenRevocationRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void authenticatesFromClaimsWithoutLoadingTheUser() throws Exception {
+    doFilter(jwtUtil.generateAccessToken(user));
+
+    AuthenticatedUser principal =
+        assertInstanceOf(
+            AuthenticatedUser.class,
+            SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+    assertEquals(new AuthenticatedUser(42L, "jane@finlypal.com", 3), principal);
+    assertEquals(42L, currentUserContext.getUserId());
+    verifyNoInteractions(userRepository);
+  }
+
+  @Test
+  void resolvesLegacyTokensWithASingleLookup() throws Exception {
+    // Legacy tokens carry no version, they were issued while every user was at version 0
+    user.setTokenVersion(0);
+    String legacyToken = jwtUtil.buildToken(user, 60_000L);
+    when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+
+    doFilter(legacyToken);
+
+    assertEquals(42L, currentUserContext.getUserId());
+    assertEquals(user, currentUserContext.getUser());
+    verify(userRepository, times(1)).findByEmail(user.getEmail());
+
+    // Revoking the user's tokens bumps the version past the one of the legacy token
+    SecurityContextHolder.clearContext();
+    user.setTokenVersion(1);
+    tokenRevocationRegistry.revoke(42L, 1, Instant.now());
+    doFilter(legacyToken);
+    assertNull(SecurityContextHolder.getContext().getAuthentication());
+  }
+
+  @Test
+  void rejectsRevokedAndRefreshTokens() throws Exception {
+    String accessToken = jwtUtil.generateAccessToken(user);
+    tokenRevocationRegistry.revoke(42L, 4, Instant.now());
+
+    doFilter(accessToken);
+    assertNull(SecurityContextHolder.getContext().getAuthentication());
+
+    user.setTokenVersion(4);
+    doFilter(jwtUtil.generateRefreshToken(user, "token-id", "family-id"));
+    assertNull(SecurityContextHolder.getContext().getAuthentication());
+
+    doFilter(jwtUtil.generateAccessToken(user));
+    assertEquals(42L, currentUserContext.getUserId());
+  }
+
+  private void doFilter(String token) throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader("Authorization", "Bearer " + token);
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+  }
+}
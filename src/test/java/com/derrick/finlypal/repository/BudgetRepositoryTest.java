@@ -0,0 +1,95 @@
+package com.derrick.finlypal.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.derrick.finlypal.entity.Budget;
+import com.derrick.finlypal.entity.BudgetItem;
+import com.derrick.finlypal.entity.Category;
+import com.derrick.finlypal.entity.Currency;
+import com.derrick.finlypal.entity.Expense;
+import com.derrick.finlypal.entity.User;
+import com.derrick.finlypal.enums.BudgetItemStatus;
+import com.derrick.finlypal.enums.BudgetStatus;
+import com.derrick.finlypal.enums.ExpenseType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BudgetRepositoryTest {
+
+  @Autowired private TestEntityManager entityManager;
+  @Autowired private BudgetRepository budgetRepository;
+
+  @Test
+  void getMonthlyExpenseTrends_keepsTheSameMonthOfTwoYearsApart() {
+    Currency currency =
+        entityManager.persist(Currency.builder().code("USD").name("US Dollar").symbol("$").build());
+    Category category =
+        entityManager.persist(Category.builder().name("FOOD").displayName("Food").build());
+    User user =
+        entityManager.persist(
+            User.builder()
+                .name("User")
+                .email("jane@finlypal.com")
+                .password("secret")
+                .currency(currency)
+                .build());
+    Budget budget =
+        entityManager.persist(
+            Budget.builder()
+                .name("Two years")
+                .icon("calendar")
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2025, 12, 31))
+                .totalBudget(BigDecimal.valueOf(1000))
+                .status(BudgetStatus.IN_PROGRESS)
+                .user(user)
+                .build());
+    BudgetItem budgetItem =
+        entityManager.persist(
+            BudgetItem.builder()
+                .name("Food")
+                .icon("food")
+                .allocatedAmount(BigDecimal.valueOf(1000))
+                .status(BudgetItemStatus.ON_TRACK)
+                .budget(budget)
+                .build());
+    for (LocalDate date :
+        List.of(
+            LocalDate.of(2024, 3, 5),
+            LocalDate.of(2024, 3, 20),
+            LocalDate.of(2024, 11, 2),
+            LocalDate.of(2025, 3, 9))) {
+      entityManager.persist(
+          Expense.builder()
+              .description("Groceries")
+              .amount(BigDecimal.TEN)
+              .date(date)
+              .type(ExpenseType.EXPENSE)
+              .category(category)
+              .budgetItem(budgetItem)
+              .user(user)
+              .build());
+    }
+    entityManager.flush();
+
+    List<String> trend =
+        budgetRepository
+            .getMonthlyExpenseTrends(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2025, 12, 31), user.getId())
+            .stream()
+            .map(r -> r[0] + " " + ((BigDecimal) r[1]).stripTrailingZeros().toPlainString())
+            .toList();
+
+    assertEquals(List.of("2024-03-01 20", "2024-11-01 10", "2025-03-01 10"), trend);
+  }
+}
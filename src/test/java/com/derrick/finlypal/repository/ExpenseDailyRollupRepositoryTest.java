@@ -0,0 +1,314 @@
+package com.derrick.finlypal.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.derrick.finlypal.dto.InsightsSpendByCategoryDTO;
+import com.derrick.finlypal.dto.InsightsSpendTrendsDTO;
+import com.derrick.finlypal.dto.InsightsTimeSeriesDTO;
+import com.derrick.finlypal.entity.Budget;
+import com.derrick.finlypal.entity.BudgetItem;
+import com.derrick.finlypal.entity.Category;
+import com.derrick.finlypal.entity.Currency;
+import com.derrick.finlypal.entity.Expense;
+import com.derrick.finlypal.entity.Savings;
+import com.derrick.finlypal.entity.User;
+import com.derrick.finlypal.enums.BudgetItemStatus;
+import com.derrick.finlypal.enums.BudgetStatus;
+import com.derrick.finlypal.enums.ExpenseType;
+import com.derrick.finlypal.enums.InsightsTimeSeriesGranularity;
+import com.derrick.finlypal.enums.SavingsStatus;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ExpenseDailyRollupRepositoryTest {
+
+  private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+  @Autowired private TestEntityManager entityManager;
+  @Autowired private ExpenseDailyRollupRepository expenseDailyRollupRepository;
+
+  private User user;
+  private Category food;
+  private Category rent;
+
+  @BeforeEach
+  void setUp() {
+    Currency currency =
+        entityManager.persist(Currency.builder().code("USD").name("US Dollar").symbol("$").build());
+    food = entityManager.persist(Category.builder().name("FOOD").displayName("Food").build());
+    rent = entityManager.persist(Category.builder().name("RENT").displayName("Rent").build());
+    user =
+        entityManager.persist(
+            User.builder()
+                .name("User")
+                .email("jane@finlypal.com")
+                .password("secret")
+                .currency(currency)
+                .build());
+  }
+
+  @Test
+  void deltasMoveExpensesBetweenDaysAndCategories() {
+    Long userId = user.getId();
+    expenseDailyRollupRepository.addToDay(
+        userId, DAY, ExpenseType.EXPENSE, food.getId(), new BigDecimal("12.50"), 1);
+    expenseDailyRollupRepository.addToDay(
+        userId, DAY, ExpenseType.EXPENSE, food.getId(), new BigDecimal("7.50"), 1);
+    // The second expense moves to the next day and to another category
+    expenseDailyRollupRepository.addToDay(
+        userId, DAY, ExpenseType.EXPENSE, food.getId(), new BigDecimal("-7.50"), -1);
+    expenseDailyRollupRepository.addToDay(
+        userId, DAY.plusDays(1), ExpenseType.EXPENSE, rent.getId(), new BigDecimal("7.50"), 1);
+    // The first is removed, leaving an empty row behind
+    expenseDailyRollupRepository.addToDay(
+        userId, DAY, ExpenseType.EXPENSE, food.getId(), new BigDecimal("-12.50"), -1);
+
+    ExpenseSpendSummary summary =
+        expenseDailyRollupRepository.summarize(userId, ExpenseType.EXPENSE, DAY, DAY.plusDays(1));
+    assertEquals(0, new BigDecimal("7.50").compareTo(summary.total()));
+    assertEquals(
+        0,
+        BigDecimal.ZERO.compareTo(
+            expenseDailyRollupRepository.summarize(userId, ExpenseType.INCOME, DAY, DAY).total()));
+
+    List<InsightsSpendByCategoryDTO> byCategory = summary.byCategory();
+    assertEquals(1, byCategory.size());
+    assertEquals("Rent", byCategory.get(0).getCategory());
+
+    List<InsightsSpendTrendsDTO> byDay = summary.byDay();
+    assertEquals(1, byDay.size());
+    assertEquals(DAY.plusDays(1), byDay.get(0).getDate());
+  }
+
+  @Test
+  void summarizeGroupsTheRangeEveryWayInOneStatement() {
+    Long userId = user.getId();
+    LocalDate nextMonth = DAY.plusMonths(1);
+    expenseDailyRollupRepository.addToDay(
+        userId, DAY, ExpenseType.EXPENSE, food.getId(), new BigDecimal("10.00"), 1);
+    expenseDailyRollupRepository.addToDay(
+        userId, DAY.plusDays(1), ExpenseType.EXPENSE, rent.getId(), new BigDecimal("30.00"), 2);
+    expenseDailyRollupRepository.addToDay(
+        userId, nextMonth, ExpenseType.EXPENSE, null, new BigDecimal("5.00"), 1);
+    expenseDailyRollupRepository.addToDay(
+        userId, nextMonth, ExpenseType.INCOME, food.getId(), new BigDecimal("99.00"), 1);
+    Statistics statistics =
+        entityManager
+            .getEntityManager()
+            .getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+    statistics.clear();
+
+    ExpenseSpendSummary summary =
+        expenseDailyRollupRepository.summarize(userId, ExpenseType.EXPENSE, DAY, nextMonth);
+
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals(0, new BigDecimal("45").compareTo(summary.total()));
+    // The expense without a category is not listed, but counts towards the percentages
+    assertEquals(
+        List.of("Food 10 22", "Rent 30 67"),
+        summary.byCategory().stream()
+            .map(c -> c.getCategory() + " " + plain(c.getTotalSpend()) + " " + c.getPercentage())
+            .toList());
+    assertEquals(
+        List.of(DAY + " 10 10", DAY.plusDays(1) + " 30 40", nextMonth + " 5 45"),
+        summary.byDay().stream()
+            .map(d -> d.getDate() + " " + plain(d.getAmount()) + " " + plain(d.getRunningTotal()))
+            .toList());
+    assertEquals(
+        List.of("2025-03 40 40", "2025-04 5 45"),
+        summary.byMonth().stream()
+            .map(
+                m ->
+                    m.getMonth()
+                        + " "
+                        + plain(m.getTotalSpend())
+                        + " "
+                        + plain(m.getRunningTotal()))
+            .toList());
+  }
+
+  @Test
+  void sumTotalByBucketListsEveryBucketOfTheRange() {
+    Long userId = user.getId();
+    expenseDailyRollupRepository.addToDay(
+        userId, DAY, ExpenseType.EXPENSE, food.getId(), new BigDecimal("10.00"), 1);
+    expenseDailyRollupRepository.addToDay(
+        userId, LocalDate.of(2025, 5, 2), ExpenseType.EXPENSE, null, new BigDecimal("5.00"), 1);
+    expenseDailyRollupRepository.addToDay(
+        userId, LocalDate.of(2025, 4, 1), ExpenseType.INCOME, food.getId(), BigDecimal.TEN, 1);
+    // Before the range, in the bucket the range starts in
+    expenseDailyRollupRepository.addToDay(
+        userId, LocalDate.of(2025, 2, 1), ExpenseType.EXPENSE, rent.getId(), BigDecimal.ONE, 1);
+    LocalDate startDate = LocalDate.of(2025, 2, 20);
+    LocalDate endDate = LocalDate.of(2025, 5, 31);
+
+    InsightsTimeSeriesDTO months =
+        expenseDailyRollupRepository.sumTotalByBucket(
+            userId, ExpenseType.EXPENSE, InsightsTimeSeriesGranularity.MONTH, startDate, endDate);
+    assertEquals(
+        List.of(
+            LocalDate.of(2025, 2, 1),
+            LocalDate.of(2025, 3, 1),
+            LocalDate.of(2025, 4, 1),
+            LocalDate.of(2025, 5, 1)),
+        months.getBucketStarts());
+    assertEquals(
+        List.of("0", "10", "0", "5"),
+        months.getTotals().stream().map(ExpenseDailyRollupRepositoryTest::plain).toList());
+
+    InsightsTimeSeriesDTO quarters =
+        expenseDailyRollupRepository.sumTotalByBucket(
+            userId, ExpenseType.EXPENSE, InsightsTimeSeriesGranularity.QUARTER, startDate, endDate);
+    assertEquals(
+        List.of(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 4, 1)), quarters.getBucketStarts());
+    assertEquals(
+        List.of("10", "5"),
+        quarters.getTotals().stream().map(ExpenseDailyRollupRepositoryTest::plain).toList());
+  }
+
+  @Test
+  void setBasedWritesMatchARebuild() {
+    Budget budget =
+        entityManager.persist(
+            Budget.builder()
+                .name("Monthly")
+                .icon("calendar")
+                .startDate(DAY.withDayOfMonth(1))
+                .endDate(DAY.withDayOfMonth(31))
+                .totalBudget(BigDecimal.valueOf(1000))
+                .status(BudgetStatus.IN_PROGRESS)
+                .user(user)
+                .build());
+    BudgetItem budgetItem =
+        entityManager.persist(
+            BudgetItem.builder()
+                .name("Food")
+                .icon("food")
+                .allocatedAmount(BigDecimal.valueOf(500))
+                .status(BudgetItemStatus.ON_TRACK)
+                .budget(budget)
+                .build());
+    List<Long> expenseIds = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      expenseIds.add(
+          entityManager
+              .persist(
+                  Expense.builder()
+                      .description("Expense " + i)
+                      .amount(BigDecimal.valueOf(i + 1))
+                      .date(DAY.plusDays(i % 3))
+                      .type(i % 4 == 0 ? ExpenseType.INCOME : ExpenseType.EXPENSE)
+                      .category(i % 2 == 0 ? food : rent)
+                      .budgetItem(i < 4 ? budgetItem : null)
+                      .user(user)
+                      .build())
+              .getId());
+    }
+    entityManager.flush();
+
+    expenseDailyRollupRepository.addExpenses(expenseIds);
+    expenseDailyRollupRepository.removeExpensesOfBudget(user.getId(), budget.getId());
+    List<String> maintained = rows();
+
+    expenseDailyRollupRepository.rebuild(List.of(user.getId()));
+    List<String> rebuilt = rows();
+
+    // Removing the budget's expenses leaves empty rows behind. The expenses themselves are only
+    // deleted by the database along with the budget, so the rebuild still counts them.
+    assertEquals(8, maintained.size());
+    assertEquals(expected(expenseIds.subList(4, 10)), nonEmpty(maintained));
+    assertEquals(expected(expenseIds), rebuilt);
+  }
+
+  @Test
+  void removeExpensesOfSavingsLeavesOnlyTheOtherExpenses() {
+    Savings savings =
+        entityManager.persist(
+            Savings.builder()
+                .goalName("Holiday")
+                .icon("plane")
+                .targetAmount(BigDecimal.valueOf(1000))
+                .startDate(DAY.withDayOfMonth(1))
+                .endDate(DAY.plusMonths(6))
+                .status(SavingsStatus.ON_TRACK)
+                .user(user)
+                .build());
+    List<Long> expenseIds = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      expenseIds.add(
+          entityManager
+              .persist(
+                  Expense.builder()
+                      .description("Expense " + i)
+                      .amount(BigDecimal.valueOf(i + 1))
+                      .date(DAY.plusDays(i % 2))
+                      .type(ExpenseType.EXPENSE)
+                      .category(i % 3 == 0 ? food : rent)
+                      .savings(i < 3 ? savings : null)
+                      .user(user)
+                      .build())
+              .getId());
+    }
+    entityManager.flush();
+
+    expenseDailyRollupRepository.addExpenses(expenseIds);
+    expenseDailyRollupRepository.removeExpensesOfSavings(user.getId() + 1, savings.getId());
+    assertEquals(expected(expenseIds), rows());
+
+    expenseDailyRollupRepository.removeExpensesOfSavings(user.getId(), savings.getId());
+    assertEquals(expected(expenseIds.subList(3, 6)), nonEmpty(rows()));
+  }
+
+  private List<String> rows() {
+    entityManager.clear();
+    return expenseDailyRollupRepository.findAll().stream()
+        .map(r -> row(r.getType(), r.getDay(), r.getCategoryId(), r.getCount(), r.getTotal()))
+        .sorted()
+        .toList();
+  }
+
+  private List<String> nonEmpty(List<String> rows) {
+    return rows.stream().filter(row -> !row.endsWith(" 0 0")).toList();
+  }
+
+  /** The rows of the given expenses, summed the way the rollup sums them. */
+  private List<String> expected(List<Long> expenseIds) {
+    return entityManager
+        .getEntityManager()
+        .createQuery(
+            "SELECT e.type, e.date, e.category.id, COUNT(e), SUM(e.amount) FROM Expense e "
+                + "WHERE e.id IN :ids GROUP BY e.type, e.date, e.category.id",
+            Object[].class)
+        .setParameter("ids", expenseIds)
+        .getResultStream()
+        .map(r -> row(r[0], r[1], r[2], r[3], (BigDecimal) r[4]))
+        .sorted()
+        .toList();
+  }
+
+  private static String plain(BigDecimal amount) {
+    return amount.stripTrailingZeros().toPlainString();
+  }
+
+  private static String row(
+      Object type, Object day, Object categoryId, Object count, BigDecimal total) {
+    return String.format(
+        "%s %s %s %s %s", type, day, categoryId, count, total.stripTrailingZeros().toPlainString());
+  }
+}
@@ -0,0 +1,467 @@
+package com.derrick.finlypal.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.derrick.finlypal.dto.ExpenseResponseDTO;
+import com.derrick.finlypal.dto.InsightsTopExpensesDTO;
+import com.derrick.finlypal.entity.Budget;
+import com.derrick.finlypal.entity.BudgetItem;
+import com.derrick.finlypal.entity.Category;
+import com.derrick.finlypal.entity.Currency;
+import com.derrick.finlypal.entity.Expense;
+import com.derrick.finlypal.entity.Savings;
+import com.derrick.finlypal.entity.User;
+import com.derrick.finlypal.enums.BudgetItemStatus;
+import com.derrick.finlypal.enums.BudgetStatus;
+import com.derrick.finlypal.enums.ExpenseType;
+import com.derrick.finlypal.util.ExpenseCursor;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ExpenseRepositoryTest {
+
+  @Autowired private TestEntityManager entityManager;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private ExpenseRepository expenseRepository;
+
+  private Statistics statistics;
+  private Long ownerId;
+  private Long otherUserId;
+  private Long expenseId;
+  private Long categoryId;
+
+  @BeforeEach
+  void setUp() {
+    Currency currency =
+        entityManager.persist(Currency.builder().code("USD").name("US Dollar").symbol("$").build());
+    Category category =
+        entityManager.persist(Category.builder().name("FOOD").displayName("Food").build());
+    User owner = entityManager.persist(user("jane@finlypal.com", currency));
+    User otherUser = entityManager.persist(user("john@finlypal.com", currency));
+    Expense expense =
+        entityManager.persist(
+            Expense.builder()
+                .description("Groceries")
+                .amount(BigDecimal.TEN)
+                .date(LocalDate.now())
+                .type(ExpenseType.EXPENSE)
+                .category(category)
+                .user(owner)
+                .build());
+    entityManager.flush();
+    entityManager.clear();
+
+    ownerId = owner.getId();
+    otherUserId = otherUser.getId();
+    expenseId = expense.getId();
+    categoryId = category.getId();
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void findByIdAndUserId_authorizesAndFetchesInOneStatement() {
+    assertTrue(expenseRepository.findByIdAndUserId(expenseId, ownerId).isPresent());
+    assertEquals(1, statistics.getPrepareStatementCount());
+
+    assertTrue(expenseRepository.findByIdAndUserId(expenseId, otherUserId).isEmpty());
+    assertTrue(expenseRepository.existsByIdAndUserId(expenseId, ownerId));
+    assertFalse(expenseRepository.existsByIdAndUserId(expenseId, otherUserId));
+  }
+
+  @Test
+  void deleteByIdAndUserId_onlyDeletesOwnExpenses() {
+    assertEquals(0, expenseRepository.deleteByIdAndUserId(expenseId, otherUserId));
+    assertEquals(1, expenseRepository.deleteByIdAndUserId(expenseId, ownerId));
+    assertFalse(expenseRepository.existsById(expenseId));
+  }
+
+  @Test
+  void findAllByFiltersAfter_seeksPastTheCursorWithoutCounting() {
+    User owner = entityManager.find(User.class, ownerId);
+    for (int i = 1; i <= 4; i++) {
+      entityManager.persist(
+          Expense.builder()
+              .description("Expense " + i)
+              .amount(BigDecimal.ONE)
+              .date(LocalDate.now().minusDays(i % 2))
+              .type(ExpenseType.EXPENSE)
+              .user(owner)
+              .build());
+    }
+    entityManager.flush();
+    entityManager.clear();
+    statistics.clear();
+
+    LocalDate today = LocalDate.now();
+    ExpenseFilter filter =
+        ExpenseFilter.builder()
+            .userId(ownerId)
+            .startDate(today.minusDays(7))
+            .endDate(today)
+            .build();
+    ExpenseCursor cursor = ExpenseCursor.first(today);
+    List<Long> seen = new ArrayList<>();
+    List<ExpenseResponseDTO> page;
+    do {
+      page = expenseRepository.findAllByFilterAfter(filter, cursor.date(), cursor.id(), 2);
+      page.forEach(expense -> seen.add(expense.getId()));
+      if (!page.isEmpty()) {
+        ExpenseResponseDTO last = page.get(page.size() - 1);
+        cursor = new ExpenseCursor(last.getDate(), last.getId());
+      }
+    } while (page.size() == 2);
+
+    assertEquals(5, seen.size());
+    assertEquals(5, new HashSet<>(seen).size());
+    // One statement per page, and no count query
+    assertEquals(3, statistics.getPrepareStatementCount());
+    assertEquals(3, expenseRepository.countByFilterUpTo(filter, 3));
+  }
+
+  @Test
+  void findTopExpenses_slicesWithoutCountingAndSeeksPastTheCursor() {
+    User owner = entityManager.find(User.class, ownerId);
+    for (int i = 1; i <= 4; i++) {
+      entityManager.persist(
+          Expense.builder()
+              .description("Expense " + i)
+              // The second and third expenses have the same amount, so the id breaks the tie
+              .amount(BigDecimal.valueOf(i / 2 + 20))
+              .date(LocalDate.now())
+              .type(ExpenseType.EXPENSE)
+              .user(owner)
+              .build());
+    }
+    entityManager.flush();
+    entityManager.clear();
+    statistics.clear();
+
+    ExpenseFilter filter =
+        ExpenseFilter.builder()
+            .userId(ownerId)
+            .startDate(LocalDate.now().minusDays(7))
+            .endDate(LocalDate.now())
+            .type(ExpenseType.EXPENSE)
+            .build();
+    Slice<InsightsTopExpensesDTO> first =
+        expenseRepository.findTopExpenses(filter, PageRequest.of(0, 2));
+
+    // The slice alone, no count query
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertTrue(first.hasNext());
+    assertEquals(
+        List.of("Expense 4", "Expense 3"),
+        first.getContent().stream().map(InsightsTopExpensesDTO::getDescription).toList());
+
+    List<String> seen = new ArrayList<>();
+    InsightsTopExpensesDTO last = first.getContent().get(1);
+    List<InsightsTopExpensesDTO> page;
+    do {
+      page = expenseRepository.findTopExpensesAfter(filter, last.getAmount(), last.getId(), 2);
+      page.forEach(expense -> seen.add(expense.getDescription()));
+      last = page.isEmpty() ? last : page.get(page.size() - 1);
+    } while (page.size() == 2);
+
+    // The tie between the second and third expenses is split across the slice and the cursor page
+    assertEquals(List.of("Expense 2", "Expense 1", "Groceries"), seen);
+  }
+
+  @Test
+  void findAllByFilters_readsAPageInTwoStatements() {
+    User owner = entityManager.find(User.class, ownerId);
+    Category category = entityManager.find(Category.class, categoryId);
+    Savings savings =
+        entityManager.persist(
+            Savings.builder()
+                .goalName("Holiday")
+                .icon("plane")
+                .targetAmount(BigDecimal.valueOf(1000))
+                .savedAmount(BigDecimal.ZERO)
+                .startDate(LocalDate.now().minusMonths(1))
+                .endDate(LocalDate.now().plusMonths(1))
+                .user(owner)
+                .build());
+    Budget budget =
+        entityManager.persist(
+            Budget.builder()
+                .name("Monthly")
+                .icon("calendar")
+                .startDate(LocalDate.now().minusMonths(1))
+                .endDate(LocalDate.now().plusMonths(1))
+                .totalBudget(BigDecimal.valueOf(1000))
+                .status(BudgetStatus.IN_PROGRESS)
+                .user(owner)
+                .build());
+    BudgetItem budgetItem =
+        entityManager.persist(
+            BudgetItem.builder()
+                .name("Food")
+                .icon("food")
+                .allocatedAmount(BigDecimal.valueOf(500))
+                .status(BudgetItemStatus.ON_TRACK)
+                .budget(budget)
+                .build());
+    for (int i = 1; i <= 20; i++) {
+      entityManager.persist(
+          Expense.builder()
+              .description("Expense " + i)
+              .amount(BigDecimal.ONE)
+              .date(LocalDate.now().minusDays(i))
+              .type(ExpenseType.EXPENSE)
+              .category(category)
+              .savings(i % 3 == 0 ? savings : null)
+              .budgetItem(i % 3 == 1 ? budgetItem : null)
+              .user(owner)
+              .build());
+    }
+    entityManager.flush();
+    entityManager.clear();
+    statistics.clear();
+
+    Page<ExpenseResponseDTO> page =
+        expenseRepository.findAllByFilter(
+            ExpenseFilter.builder()
+                .userId(ownerId)
+                .startDate(LocalDate.now().minusDays(30))
+                .endDate(LocalDate.now())
+                .build(),
+            PageRequest.of(0, 15));
+
+    assertEquals(21, page.getTotalElements());
+    assertEquals(15, page.getContent().size());
+    // The select and its count, no matter how many expenses or linked items the page holds
+    assertEquals(2, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+
+    ExpenseResponseDTO newest = page.getContent().get(0);
+    assertEquals(expenseId, newest.getId());
+    assertEquals("Food", newest.getCategoryName());
+    ExpenseResponseDTO linked = page.getContent().get(1);
+    assertEquals(budgetItem.getId(), linked.getBudgetItemId());
+    assertEquals(savings.getId(), page.getContent().get(3).getSavingsItemId());
+
+    ExpenseFilter linkedToBudgetItem =
+        ExpenseFilter.builder()
+            .userId(ownerId)
+            .budgetItemId(budgetItem.getId())
+            .minAmount(BigDecimal.ONE)
+            .maxAmount(BigDecimal.ONE)
+            .build();
+    assertEquals(
+        7,
+        expenseRepository
+            .findAllByFilter(linkedToBudgetItem, PageRequest.of(0, 10))
+            .getTotalElements());
+    assertEquals(
+        BigDecimal.valueOf(7),
+        expenseRepository.sumAmountByFilter(linkedToBudgetItem).stripTrailingZeros());
+    assertEquals(
+        6,
+        expenseRepository
+            .findAllByFilter(
+                ExpenseFilter.builder().userId(ownerId).savingsId(savings.getId()).build(),
+                PageRequest.of(0, 10))
+            .getTotalElements());
+  }
+
+  @Test
+  void streamByFilter_streamsTheMatchingExpensesNewestFirst() {
+    User owner = entityManager.find(User.class, ownerId);
+    for (int i = 1; i <= 3; i++) {
+      entityManager.persist(
+          Expense.builder()
+              .description("Income " + i)
+              .amount(BigDecimal.ONE)
+              .date(LocalDate.now().minusDays(i))
+              .type(ExpenseType.INCOME)
+              .user(owner)
+              .build());
+    }
+    entityManager.flush();
+    entityManager.clear();
+
+    ExpenseFilter filter = ExpenseFilter.builder().userId(ownerId).type(ExpenseType.INCOME).build();
+    try (Stream<ExpenseResponseDTO> expenses = expenseRepository.streamByFilter(filter, 2)) {
+      assertEquals(
+          List.of("Income 1", "Income 2", "Income 3"),
+          expenses.map(ExpenseResponseDTO::getDescription).toList());
+    }
+  }
+
+  @Test
+  // A fresh context, so the ids come from a pool of the sequence the other tests have not used up
+  @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+  void insertAll_sendsTheInsertsInBatches() {
+    User owner = entityManager.find(User.class, ownerId);
+    Category category = entityManager.find(Category.class, categoryId);
+    List<Expense> expenses = new ArrayList<>();
+    for (int i = 1; i <= 10; i++) {
+      expenses.add(
+          Expense.builder()
+              .description("Imported " + i)
+              .amount(BigDecimal.ONE)
+              .date(LocalDate.now())
+              .type(ExpenseType.EXPENSE)
+              .category(category)
+              .user(owner)
+              .build());
+    }
+    statistics.clear();
+
+    expenseRepository.insertAll(expenses, 5);
+
+    assertEquals(10, statistics.getEntityInsertCount());
+    // One insert statement, executed in batches rather than prepared once per expense
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals(11, expenseRepository.count());
+  }
+
+  @Test
+  void spendCounters_followTheExpensesAndReconcileTheirDrift() {
+    User owner = entityManager.find(User.class, ownerId);
+    Savings savings =
+        entityManager.persist(
+            Savings.builder()
+                .goalName("Holiday")
+                .icon("plane")
+                .targetAmount(BigDecimal.valueOf(1000))
+                .startDate(LocalDate.now().minusMonths(1))
+                .endDate(LocalDate.now().plusMonths(1))
+                .user(owner)
+                .build());
+    Budget budget = entityManager.persist(budget(owner));
+    Budget otherBudget = entityManager.persist(budget(owner));
+    BudgetItem budgetItem =
+        entityManager.persist(
+            BudgetItem.builder()
+                .name("Food")
+                .icon("food")
+                .allocatedAmount(BigDecimal.valueOf(500))
+                .status(BudgetItemStatus.ON_TRACK)
+                .budget(budget)
+                .build());
+    Expense expense =
+        entityManager.persist(
+            Expense.builder()
+                .description("Groceries")
+                .amount(BigDecimal.valueOf(30))
+                .date(LocalDate.now())
+                .type(ExpenseType.EXPENSE)
+                .budgetItem(budgetItem)
+                .savings(savings)
+                .user(owner)
+                .build());
+    Expense income =
+        entityManager.persist(
+            Expense.builder()
+                .description("Refund")
+                .amount(BigDecimal.valueOf(5))
+                .date(LocalDate.now())
+                .type(ExpenseType.INCOME)
+                .budgetItem(budgetItem)
+                .user(owner)
+                .build());
+    entityManager.flush();
+
+    // Only the expenses count towards the budget, the item and the goal count every type
+    expenseRepository.addExpensesToSpend(List.of(expense.getId(), income.getId()));
+    assertSpent(35, 30, 0, 30, budgetItem, budget, otherBudget, savings);
+
+    // Moving the item moves its spending to the other budget
+    expenseRepository.removeBudgetItemFromBudgetSpend(budgetItem.getId());
+    entityManager
+        .find(BudgetItem.class, budgetItem.getId())
+        .setBudget(entityManager.find(Budget.class, otherBudget.getId()));
+    entityManager.flush();
+    expenseRepository.addBudgetItemToBudgetSpend(budgetItem.getId());
+    assertSpent(35, 0, 30, 30, budgetItem, budget, otherBudget, savings);
+
+    // An amount added without its expense is a drift, corrected by the reconcile
+    expenseRepository.addToSpend(
+        budgetItem.getId(), savings.getId(), ExpenseType.EXPENSE, BigDecimal.TEN);
+    assertSpent(45, 0, 40, 40, budgetItem, budget, otherBudget, savings);
+    assertEquals(
+        1, expenseRepository.reconcileBudgetItemSpend(List.of(budgetItem.getId())).drifted());
+    ReconciledCounters budgetsSpent =
+        expenseRepository.reconcileBudgetSpend(List.of(budget.getId(), otherBudget.getId()));
+    assertEquals(1, budgetsSpent.drifted());
+    assertEquals(0, BigDecimal.valueOf(30).compareTo(budgetsSpent.amountOf(otherBudget.getId())));
+    assertEquals(0, budgetsSpent.amountOf(budget.getId()).signum());
+    assertEquals(1, expenseRepository.reconcileSavedAmounts(List.of(savings.getId())).drifted());
+    assertEquals(
+        0, expenseRepository.reconcileBudgetItemSpend(List.of(budgetItem.getId())).drifted());
+    assertSpent(35, 0, 30, 30, budgetItem, budget, otherBudget, savings);
+
+    // Deleting the item takes its expenses out of every counter
+    expenseRepository.removeExpensesOfBudgetItem(budgetItem.getId());
+    assertSpent(0, 0, 0, 0, budgetItem, budget, otherBudget, savings);
+  }
+
+  private void assertSpent(
+      long itemSpent,
+      long budgetSpent,
+      long otherBudgetSpent,
+      long saved,
+      BudgetItem budgetItem,
+      Budget budget,
+      Budget otherBudget,
+      Savings savings) {
+    entityManager.clear();
+    assertEquals(
+        0,
+        BigDecimal.valueOf(itemSpent)
+            .compareTo(entityManager.find(BudgetItem.class, budgetItem.getId()).getSpentAmount()));
+    assertEquals(
+        0,
+        BigDecimal.valueOf(budgetSpent)
+            .compareTo(entityManager.find(Budget.class, budget.getId()).getSpentAmount()));
+    assertEquals(
+        0,
+        BigDecimal.valueOf(otherBudgetSpent)
+            .compareTo(entityManager.find(Budget.class, otherBudget.getId()).getSpentAmount()));
+    assertEquals(
+        0,
+        BigDecimal.valueOf(saved)
+            .compareTo(entityManager.find(Savings.class, savings.getId()).getSavedAmount()));
+  }
+
+  private static Budget budget(User owner) {
+    return Budget.builder()
+        .name("Monthly")
+        .icon("calendar")
+        .startDate(LocalDate.now().minusMonths(1))
+        .endDate(LocalDate.now().plusMonths(1))
+        .totalBudget(BigDecimal.valueOf(1000))
+        .status(BudgetStatus.IN_PROGRESS)
+        .user(owner)
+        .build();
+  }
+
+  private static User user(String email, Currency currency) {
+    return User.builder().name("User").email(email).password("secret").currency(currency).build();
+  }
+}
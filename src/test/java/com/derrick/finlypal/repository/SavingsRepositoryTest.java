@@ -0,0 +1,65 @@
+package com.derrick.finlypal.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.derrick.finlypal.entity.Currency;
+import com.derrick.finlypal.entity.Savings;
+import com.derrick.finlypal.entity.User;
+import com.derrick.finlypal.enums.SavingsStatus;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SavingsRepositoryTest {
+
+  @Autowired private TestEntityManager entityManager;
+  @Autowired private SavingsRepository savingsRepository;
+
+  @Test
+  void getSavedAmountPerMonth_keepsTheSameMonthOfTwoYearsApart() {
+    Currency currency =
+        entityManager.persist(Currency.builder().code("USD").name("US Dollar").symbol("$").build());
+    User user =
+        entityManager.persist(
+            User.builder()
+                .name("User")
+                .email("jane@finlypal.com")
+                .password("secret")
+                .currency(currency)
+                .build());
+    for (LocalDate startDate :
+        List.of(LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 15), LocalDate.of(2025, 6, 3))) {
+      entityManager.persist(
+          Savings.builder()
+              .goalName("Goal")
+              .icon("piggy")
+              .targetAmount(BigDecimal.valueOf(100))
+              .savedAmount(BigDecimal.valueOf(25))
+              .startDate(startDate)
+              .endDate(startDate.plusMonths(3))
+              .status(SavingsStatus.ON_TRACK)
+              .user(user)
+              .build());
+    }
+    entityManager.flush();
+
+    List<String> trend =
+        savingsRepository
+            .getSavedAmountPerMonth(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2025, 12, 31), user.getId())
+            .stream()
+            .map(r -> r[0] + " " + ((BigDecimal) r[1]).stripTrailingZeros().toPlainString())
+            .toList();
+
+    assertEquals(List.of("2024-06-01 50", "2025-06-01 25"), trend);
+  }
+}
@@ -0,0 +1,100 @@
+package com.derrick.finlypal.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.derrick.finlypal.entity.Currency;
+import com.derrick.finlypal.entity.Expense;
+import com.derrick.finlypal.entity.User;
+import com.derrick.finlypal.enums.ExpenseType;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserRepositoryTest {
+
+  private static final int EXPENSE_COUNT = 50;
+
+  @Autowired private TestEntityManager entityManager;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private UserRepository userRepository;
+
+  private Statistics statistics;
+  private Long userId;
+
+  @BeforeEach
+  void setUp() {
+    Currency currency =
+        entityManager.persist(
+            Currency.builder().code("USD").name("US Dollar").symbol("$").build());
+    User user =
+        entityManager.persist(
+            User.builder()
+                .name("Jane")
+                .email("jane@finlypal.com")
+                .password("secret")
+                .currency(currency)
+                .build());
+    for (int i = 0; i < EXPENSE_COUNT; i++) {
+      entityManager.persist(
+          Expense.builder()
+              .description("Expense " + i)
+              .amount(BigDecimal.TEN)
+              .date(LocalDate.now())
+              .type(ExpenseType.EXPENSE)
+              .user(user)
+              .build());
+    }
+    entityManager.flush();
+    entityManager.clear();
+
+    userId = user.getId();
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void findByEmail_loadsUserAndCurrencyInOneStatement() {
+    User user = userRepository.findByEmail("jane@finlypal.com").orElseThrow();
+
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertTrue(Hibernate.isInitialized(user.getCurrency()));
+    assertFalse(Hibernate.isInitialized(user.getExpenses()));
+  }
+
+  @Test
+  void findById_doesNotLoadExpenses() {
+    User user = userRepository.findById(userId).orElseThrow();
+
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals(2, statistics.getEntityLoadCount());
+    assertFalse(Hibernate.isInitialized(user.getExpenses()));
+  }
+
+  @Test
+  void save_neverWritesBackAStaleTokenVersion() {
+    User user = userRepository.findById(userId).orElseThrow();
+    // A revocation commits while the loaded user is being changed
+    userRepository.incrementTokenVersion(userId);
+
+    user.setPassword("rehashed");
+    userRepository.saveAndFlush(user);
+    entityManager.clear();
+
+    assertEquals(1, userRepository.findTokenVersionById(userId).orElseThrow());
+  }
+}
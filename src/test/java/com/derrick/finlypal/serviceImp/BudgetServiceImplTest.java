@@ -0,0 +1,188 @@
+package com.derrick.finlypal.serviceImp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.derrick.finlypal.config.AuthenticatedUser;
+import com.derrick.finlypal.dto.BudgetItemResponseDTO;
+import com.derrick.finlypal.dto.BudgetResponseDTO;
+import com.derrick.finlypal.entity.Budget;
+import com.derrick.finlypal.entity.BudgetItem;
+import com.derrick.finlypal.entity.Currency;
+import com.derrick.finlypal.entity.Expense;
+import com.derrick.finlypal.entity.User;
+import com.derrick.finlypal.enums.BudgetItemStatus;
+import com.derrick.finlypal.enums.BudgetStatus;
+import com.derrick.finlypal.enums.ExpenseType;
+import com.derrick.finlypal.repository.UserRepository;
+import com.derrick.finlypal.util.CurrentUserContext;
+import com.derrick.finlypal.util.InsightsResultCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+  BudgetServiceImpl.class,
+  BudgetItemServiceImpl.class,
+  InsightsResultCache.class,
+  SimpleMeterRegistry.class,
+  BudgetServiceImplTest.Config.class
+})
+class BudgetServiceImplTest {
+
+  private static final int BUDGET_COUNT = 5;
+  private static final int ITEMS_PER_BUDGET = 3;
+
+  @Autowired private TestEntityManager entityManager;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private BudgetServiceImpl budgetService;
+  @Autowired private BudgetItemServiceImpl budgetItemService;
+  @Autowired private CurrentUserContext currentUserContext;
+
+  private Statistics statistics;
+  private Long budgetId;
+
+  @BeforeEach
+  void setUp() {
+    Currency currency =
+        entityManager.persist(Currency.builder().code("USD").name("US Dollar").symbol("$").build());
+    User user =
+        entityManager.persist(
+            User.builder()
+                .name("Jane")
+                .email("jane@finlypal.com")
+                .password("secret")
+                .currency(currency)
+                .build());
+    LocalDate start = LocalDate.now().minusDays(1);
+    for (int b = 0; b < BUDGET_COUNT; b++) {
+      BigDecimal amount = BigDecimal.valueOf(b + 1);
+      // The last budget has no items, so nothing is spent in it
+      boolean hasItems = b < BUDGET_COUNT - 1;
+      Budget budget =
+          entityManager.persist(
+              Budget.builder()
+                  .name("Budget " + b)
+                  .icon("calendar")
+                  .startDate(start)
+                  .endDate(start.plusMonths(1))
+                  .totalBudget(BigDecimal.valueOf(1000))
+                  // Only the expenses count towards the budget, not the incomes
+                  .spentAmount(
+                      hasItems
+                          ? amount.multiply(BigDecimal.valueOf(ITEMS_PER_BUDGET))
+                          : BigDecimal.ZERO)
+                  // The first budget was persisted before it started, so its status is stale
+                  .status(b == 0 ? BudgetStatus.PLANNED : BudgetStatus.IN_PROGRESS)
+                  .user(user)
+                  .build());
+      budgetId = b == BUDGET_COUNT - 2 ? budget.getId() : budgetId;
+      for (int i = 0; hasItems && i < ITEMS_PER_BUDGET; i++) {
+        BudgetItem item =
+            entityManager.persist(
+                BudgetItem.builder()
+                    .name("Item " + i)
+                    .icon("cart")
+                    .allocatedAmount(BigDecimal.valueOf(100))
+                    .spentAmount(amount.multiply(BigDecimal.valueOf(ExpenseType.values().length)))
+                    .status(BudgetItemStatus.ON_TRACK)
+                    .budget(budget)
+                    .build());
+        for (ExpenseType type : ExpenseType.values()) {
+          entityManager.persist(
+              Expense.builder()
+                  .description(type + " " + i)
+                  .amount(amount)
+                  .date(start)
+                  .type(type)
+                  .budgetItem(item)
+                  .user(user)
+                  .build());
+        }
+      }
+    }
+    entityManager.flush();
+    entityManager.clear();
+
+    currentUserContext.setPrincipal(new AuthenticatedUser(user.getId(), user.getEmail(), 0));
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void getAllBudgetsReadsTheSpentAmountsWithThePageAndWritesNothing() throws Exception {
+    List<BudgetResponseDTO> budgets = budgetService.getAllBudgets(0, 10).getContent();
+    entityManager.flush();
+
+    // The page alone, whatever the number of budgets, items and expenses. The page is not full, so
+    // no count query is needed.
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityUpdateCount());
+    assertEquals(BUDGET_COUNT, budgets.size());
+    for (BudgetResponseDTO budget : budgets) {
+      int index = Integer.parseInt(budget.getName().substring("Budget ".length()));
+      BigDecimal expected =
+          index < BUDGET_COUNT - 1
+              ? BigDecimal.valueOf((long) (index + 1) * ITEMS_PER_BUDGET)
+              : BigDecimal.ZERO;
+      assertEquals(0, expected.compareTo(budget.getActualSpend()), budget.getName());
+      assertEquals(BudgetStatus.IN_PROGRESS.name(), budget.getStatus());
+    }
+  }
+
+  @Test
+  void getBudgetItemsReadsTheSpentAmountsWithThePage() throws Exception {
+    List<BudgetItemResponseDTO> budgetItems =
+        budgetItemService.getBudgetItems(budgetId, 0, 10).getContent();
+
+    // The ownership check and the page
+    assertEquals(2, statistics.getPrepareStatementCount());
+    assertEquals(ITEMS_PER_BUDGET, budgetItems.size());
+    for (BudgetItemResponseDTO budgetItem : budgetItems) {
+      // An expense and an income of 4 each
+      assertEquals(0, BigDecimal.valueOf(8).compareTo(budgetItem.getActualSpend()));
+      assertEquals(BudgetItemStatus.UNDERSPENT, budgetItem.getStatus());
+    }
+  }
+
+  @Test
+  void getBudgetByIdReadsTheSpentAmountsWithItsItems() throws Exception {
+    BudgetResponseDTO budget = budgetService.getBudgetById(budgetId);
+
+    // The budget and its items
+    assertEquals(2, statistics.getPrepareStatementCount());
+    assertEquals(0, BigDecimal.valueOf(4L * ITEMS_PER_BUDGET).compareTo(budget.getActualSpend()));
+    assertEquals(ITEMS_PER_BUDGET, budget.getBudgetItems().size());
+    budget
+        .getBudgetItems()
+        .forEach(
+            budgetItem ->
+                assertEquals(0, BigDecimal.valueOf(8).compareTo(budgetItem.getActualSpend())));
+  }
+
+  /** A plain instance of the request scoped context, as there is no request in this test. */
+  @TestConfiguration
+  static class Config {
+
+    @Bean
+    CurrentUserContext currentUserContext(UserRepository userRepository) {
+      return new CurrentUserContext(userRepository);
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package com.derrick.finlypal.serviceImp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.derrick.finlypal.entity.EmailOutbox;
+import com.derrick.finlypal.enums.EmailOutboxStatus;
+import com.derrick.finlypal.repository.EmailOutboxRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailOutboxDispatcherTest {
+
+  @RegisterExtension
+  static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+  @Autowired private EmailOutboxRepository emailOutboxRepository;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @AfterEach
+  void tearDown() {
+    emailOutboxRepository.deleteAll();
+  }
+
+  @Test
+  void dispatch_deliversQueuedEmailsInBatchesAndMarksThemSent() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      queue("user" + i + "@finlypal.com");
+    }
+
+    dispatcher(greenMail.getSmtp().getPort(), 2).dispatch();
+
+    MimeMessage[] received = greenMail.getReceivedMessages();
+    assertEquals(5, received.length);
+    assertEquals("Password Reset", received[0].getSubject());
+
+    List<EmailOutbox> outbox = emailOutboxRepository.findAll();
+    assertTrue(outbox.stream().allMatch(m -> m.getStatus() == EmailOutboxStatus.SENT));
+    assertTrue(outbox.stream().allMatch(m -> m.getSentAt() != null));
+  }
+
+  @Test
+  void dispatch_reschedulesWithBackoffWhenTheMailServerIsUnreachable() {
+    queue("jane@finlypal.com");
+    LocalDateTime before = LocalDateTime.now();
+
+    dispatcher(greenMail.getSmtp().getPort() + 1, 10).dispatch();
+
+    EmailOutbox message = emailOutboxRepository.findAll().getFirst();
+    assertEquals(EmailOutboxStatus.PENDING, message.getStatus());
+    assertEquals(1, message.getAttempts());
+    assertNotNull(message.getLastError());
+    assertTrue(message.getNextAttemptAt().isAfter(before.plusSeconds(4)));
+    assertEquals(0, greenMail.getReceivedMessages().length);
+  }
+
+  private void queue(String recipient) {
+    emailOutboxRepository.save(
+        EmailOutbox.builder()
+            .recipient(recipient)
+            .subject("Password Reset")
+            .body("Use this otp to reset your password: 1234")
+            .nextAttemptAt(LocalDateTime.now().minusSeconds(1))
+            .build());
+  }
+
+  private EmailOutboxDispatcher dispatcher(int smtpPort, int batchSize) {
+    JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+    mailSender.setHost("localhost");
+    mailSender.setPort(smtpPort);
+    mailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+
+    return new EmailOutboxDispatcher(
+        emailOutboxRepository,
+        mailSender,
+        transactionManager,
+        new SimpleMeterRegistry(),
+        batchSize,
+        3,
+        5_000,
+        60_000,
+        120_000);
+  }
+}
@@ -0,0 +1,133 @@
+package com.derrick.finlypal.serviceImp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.derrick.finlypal.config.AuthenticatedUser;
+import com.derrick.finlypal.entity.Category;
+import com.derrick.finlypal.entity.Currency;
+import com.derrick.finlypal.entity.User;
+import com.derrick.finlypal.enums.ExpenseFileFormat;
+import com.derrick.finlypal.util.CurrentUserContext;
+import com.derrick.finlypal.util.ExpenseExportWriter;
+import com.derrick.finlypal.util.InsightsResultCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.io.OutputStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Exports a million expenses read back from the database. The test runs in its own JVM with a heap
+ * far smaller than the export, see the constant-memory execution in the pom, so it only passes if
+ * the rows are read through a cursor and released as soon as they are written. The database lives
+ * on disk for the same reason, an in-memory one would hold every row in the heap.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(
+    properties =
+        "spring.datasource.url=jdbc:h2:file:./target/h2/expense-export;CACHE_SIZE=4096;"
+            + "MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;NON_KEYWORDS=DAY")
+@Import({
+  ExpenseServiceImpl.class,
+  ExpenseExportWriter.class,
+  InsightsResultCache.class,
+  SimpleMeterRegistry.class,
+  ExpenseServiceImplTest.Config.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Tag("constant-memory")
+class ExpenseExportTest {
+
+  private static final int ROWS = 1_000_000;
+  private static final int ROWS_PER_INSERT = 100_000;
+
+  @Autowired private EntityManager entityManager;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private ExpenseServiceImpl expenseService;
+  @Autowired private CurrentUserContext currentUserContext;
+
+  @Test
+  void exportsAMillionRowsInConstantMemory() throws Exception {
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    User user =
+        transactionTemplate.execute(
+            status -> {
+              Currency currency =
+                  Currency.builder().code("USD").name("US Dollar").symbol("$").build();
+              entityManager.persist(currency);
+              Category category = Category.builder().name("FOOD").displayName("Food").build();
+              entityManager.persist(category);
+              User saved =
+                  User.builder()
+                      .name("Jane")
+                      .email("jane@finlypal.com")
+                      .password("secret")
+                      .currency(currency)
+                      .build();
+              entityManager.persist(saved);
+              return saved;
+            });
+    Long categoryId =
+        jdbcTemplate.queryForObject("SELECT id FROM categories WHERE name = 'FOOD'", Long.class);
+    // Seeded in chunks, each committed on its own, so no transaction has to keep them all
+    for (int first = 1; first <= ROWS; first += ROWS_PER_INSERT) {
+      jdbcTemplate.update(
+          "INSERT INTO expenses (id, description, amount, date, type, category_id, user_id) "
+              + "SELECT \"X\", 'Expense ' || \"X\", 12.50, DATE '2025-01-31', 'EXPENSE', ?, ? "
+              + "FROM SYSTEM_RANGE(?, ?)",
+          categoryId,
+          user.getId(),
+          first,
+          first + ROWS_PER_INSERT - 1);
+    }
+    currentUserContext.setPrincipal(new AuthenticatedUser(user.getId(), user.getEmail(), 0));
+    LineCountingOutputStream out = new LineCountingOutputStream();
+
+    expenseService
+        .exportExpenses(ExpenseFileFormat.CSV, null, null, null, null, false)
+        .writeTo(out);
+
+    // The header and one line per expense
+    assertEquals(ROWS + 1, out.lines);
+    assertTrue(out.count > 0);
+  }
+
+  /** Discards what is written, keeping only its size and number of lines. */
+  private static final class LineCountingOutputStream extends OutputStream {
+    private long count;
+    private long lines;
+
+    @Override
+    public void write(int b) {
+      count++;
+      if (b == '\n') {
+        lines++;
+      }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      count += len;
+      for (int i = off; i < off + len; i++) {
+        if (b[i] == '\n') {
+          lines++;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,137 @@
+package com.derrick.finlypal.serviceImp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.derrick.finlypal.config.JwtAuthenticationFilter;
+import com.derrick.finlypal.dto.ExpenseResponseDTO;
+import com.derrick.finlypal.entity.Category;
+import com.derrick.finlypal.entity.Currency;
+import com.derrick.finlypal.entity.Expense;
+import com.derrick.finlypal.entity.User;
+import com.derrick.finlypal.enums.ExpenseType;
+import com.derrick.finlypal.repository.UserRepository;
+import com.derrick.finlypal.util.CurrentUserContext;
+import com.derrick.finlypal.util.ExpenseExportWriter;
+import com.derrick.finlypal.util.InsightsResultCache;
+import com.derrick.finlypal.util.JwtUtil;
+import com.derrick.finlypal.util.TokenRevocationRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Base64;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+  ExpenseServiceImpl.class,
+  ExpenseExportWriter.class,
+  InsightsResultCache.class,
+  SimpleMeterRegistry.class,
+  ExpenseServiceImplTest.Config.class
+})
+class ExpenseServiceImplTest {
+
+  @Autowired private TestEntityManager entityManager;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private ExpenseServiceImpl expenseService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private CurrentUserContext currentUserContext;
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void findByIdReadsTheExpenseWithoutSelectingTheUser() throws Exception {
+    Currency currency =
+        entityManager.persist(Currency.builder().code("USD").name("US Dollar").symbol("$").build());
+    Category category =
+        entityManager.persist(Category.builder().name("FOOD").displayName("Food").build());
+    User user =
+        entityManager.persist(
+            User.builder()
+                .name("Jane")
+                .email("jane@finlypal.com")
+                .password("secret")
+                .currency(currency)
+                .build());
+    Expense expense =
+        entityManager.persist(
+            Expense.builder()
+                .description("Groceries")
+                .amount(BigDecimal.TEN)
+                .date(LocalDate.now())
+                .type(ExpenseType.EXPENSE)
+                .category(category)
+                .user(user)
+                .build());
+    entityManager.flush();
+    entityManager.clear();
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    // Authenticated the way a request is, which populates the context from the token claims
+    JwtUtil jwtUtil =
+        new JwtUtil(
+            Base64.getEncoder().encodeToString(new byte[32]),
+            60_000L,
+            120_000L,
+            100,
+            new SimpleMeterRegistry());
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader("Authorization", "Bearer " + jwtUtil.generateAccessToken(user));
+    new JwtAuthenticationFilter(
+            jwtUtil, userRepository, currentUserContext, new TokenRevocationRegistry(1024))
+        .doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    ExpenseResponseDTO response = expenseService.findById(expense.getId());
+
+    assertEquals("Groceries", response.getDescription());
+    assertEquals("Food", response.getCategoryName());
+    // The expense alone, the users table is never read
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityStatistics(User.class.getName()).getLoadCount());
+    assertEquals(0, statistics.getEntityStatistics(User.class.getName()).getFetchCount());
+  }
+
+  /** Plain instances of the beans the service needs but this test slice does not configure. */
+  @TestConfiguration
+  static class Config {
+
+    @Bean
+    CurrentUserContext currentUserContext(UserRepository userRepository) {
+      return new CurrentUserContext(userRepository);
+    }
+
+    @Bean
+    ObjectMapper objectMapper() {
+      return new ObjectMapper();
+    }
+
+    @Bean
+    Validator validator() {
+      return Validation.buildDefaultValidatorFactory().getValidator();
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package com.derrick.finlypal.serviceImp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.derrick.finlypal.entity.ResetToken;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class InMemoryResetCredentialStoreTest {
+
+  private final InMemoryResetCredentialStore store = new InMemoryResetCredentialStore();
+  private final LocalDateTime now = LocalDateTime.now();
+
+  @Test
+  void save_replacesThePreviousCredentialOfTheEmail() {
+    store.save(otp("jane@finlypal.com", 1111, now.minusMinutes(1)));
+    store.save(otp("jane@finlypal.com", 2222, now.plusMinutes(10)));
+
+    assertTrue(store.findByOtpAndEmail(1111, "jane@finlypal.com").isEmpty());
+    assertTrue(store.findByOtpAndEmail(2222, "jane@finlypal.com").isPresent());
+    assertEquals(0, store.purgeExpired(now));
+  }
+
+  @Test
+  void purgeExpired_removesOnlyExpiredCredentials() {
+    store.save(otp("jane@finlypal.com", 1111, now.minusMinutes(5)));
+    store.save(otp("john@finlypal.com", 2222, now.minusMinutes(1)));
+    store.save(otp("mary@finlypal.com", 3333, now.plusMinutes(5)));
+
+    assertEquals(2, store.purgeExpired(now));
+    assertTrue(store.findByEmail("jane@finlypal.com").isEmpty());
+    assertTrue(store.findByEmail("john@finlypal.com").isEmpty());
+    assertTrue(store.findByEmail("mary@finlypal.com").isPresent());
+    assertEquals(1, store.purgeExpired(now.plusMinutes(6)));
+  }
+
+  private static ResetToken otp(String email, int otp, LocalDateTime expiryDate) {
+    return ResetToken.builder().email(email).otp(otp).expiryDate(expiryDate).build();
+  }
+}
@@ -0,0 +1,100 @@
+package com.derrick.finlypal.serviceImp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.derrick.finlypal.dto.InsightsDashboardDTO;
+import com.derrick.finlypal.dto.InsightsTotalSpendDTO;
+import com.derrick.finlypal.enums.ExpenseType;
+import com.derrick.finlypal.enums.InsightsDashboardSection;
+import com.derrick.finlypal.enums.InsightsDashboardSectionStatus;
+import com.derrick.finlypal.exception.InternalServerErrorException;
+import com.derrick.finlypal.service.InsightsService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class InsightsDashboardServiceImplTest {
+
+  private static final LocalDate START = LocalDate.of(2025, 1, 1);
+  private static final LocalDate END = LocalDate.of(2025, 1, 31);
+
+  private final AtomicInteger running = new AtomicInteger();
+  private final AtomicInteger maxRunning = new AtomicInteger();
+
+  @Test
+  void returnsTheSectionsThatCompletedBeforeTheDeadline() throws Exception {
+    InsightsService insightsService = mock(InsightsService.class);
+    when(insightsService.getTotalSpend(any(), any(), any()))
+        .thenAnswer(invocation -> query(60_000, new InsightsTotalSpendDTO(BigDecimal.TEN)));
+    when(insightsService.getSpendByCategory(any(), any(), any()))
+        .thenThrow(new InternalServerErrorException("Database unavailable"));
+    when(insightsService.getDailyTrend(any(), any(), any()))
+        .thenAnswer(invocation -> query(50, List.of()));
+    when(insightsService.getMonthlyComparison(any(), any(), any()))
+        .thenAnswer(invocation -> query(50, List.of()));
+    when(insightsService.getTotalBudgetByStatusSummary(any(), any()))
+        .thenAnswer(invocation -> query(50, List.of()));
+    InsightsDashboardServiceImpl dashboardService =
+        new InsightsDashboardServiceImpl(
+            insightsService, mock(PlatformTransactionManager.class), 1000, 2);
+
+    long started = System.nanoTime();
+    InsightsDashboardDTO dashboard =
+        dashboardService.getDashboard(
+            START,
+            END,
+            ExpenseType.EXPENSE,
+            EnumSet.of(
+                InsightsDashboardSection.TOTAL_SPEND,
+                InsightsDashboardSection.SPEND_BY_CATEGORY,
+                InsightsDashboardSection.DAILY_SPEND,
+                InsightsDashboardSection.MONTHLY_SPEND,
+                InsightsDashboardSection.BUDGET_BY_STATUS_SUMMARY));
+    long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+    // The slow section is abandoned at the deadline instead of holding up the dashboard
+    assertTrue(elapsedMillis < 5000, "took " + elapsedMillis + " ms");
+    assertFalse(dashboard.isComplete());
+    assertEquals(5, dashboard.getSections().size());
+    assertEquals(
+        InsightsDashboardSectionStatus.TIMED_OUT,
+        dashboard.getSections().get(InsightsDashboardSection.TOTAL_SPEND).getStatus());
+    assertNull(dashboard.getSections().get(InsightsDashboardSection.TOTAL_SPEND).getData());
+    assertEquals(
+        InsightsDashboardSectionStatus.FAILED,
+        dashboard.getSections().get(InsightsDashboardSection.SPEND_BY_CATEGORY).getStatus());
+    for (InsightsDashboardSection section :
+        EnumSet.of(
+            InsightsDashboardSection.DAILY_SPEND,
+            InsightsDashboardSection.MONTHLY_SPEND,
+            InsightsDashboardSection.BUDGET_BY_STATUS_SUMMARY)) {
+      assertEquals(
+          InsightsDashboardSectionStatus.COMPLETED,
+          dashboard.getSections().get(section).getStatus(),
+          section.name());
+      assertEquals(List.of(), dashboard.getSections().get(section).getData());
+    }
+    // Never more sections at once than the connection budget
+    assertTrue(maxRunning.get() <= 2, "ran " + maxRunning.get() + " sections at once");
+  }
+
+  private Object query(long millis, Object result) throws InterruptedException {
+    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+    try {
+      Thread.sleep(millis);
+      return result;
+    } finally {
+      running.decrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,143 @@
+package com.derrick.finlypal.serviceImp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.derrick.finlypal.entity.Budget;
+import com.derrick.finlypal.entity.BudgetItem;
+import com.derrick.finlypal.entity.Currency;
+import com.derrick.finlypal.entity.Expense;
+import com.derrick.finlypal.entity.Savings;
+import com.derrick.finlypal.entity.User;
+import com.derrick.finlypal.enums.BudgetItemStatus;
+import com.derrick.finlypal.enums.BudgetStatus;
+import com.derrick.finlypal.enums.ExpenseType;
+import com.derrick.finlypal.enums.SavingsStatus;
+import com.derrick.finlypal.util.InsightsResultCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({StatusReconciler.class, InsightsResultCache.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = "application.status.reconcileBatchSize=2")
+class StatusReconcilerTest {
+
+  private static final LocalDate TODAY = LocalDate.now();
+
+  @Autowired private TestEntityManager entityManager;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private StatusReconciler statusReconciler;
+
+  @Test
+  void correctsTheDriftedCountersAndRewritesOnlyTheRowsWhoseStatusChanged() {
+    Currency currency =
+        entityManager.persist(Currency.builder().code("USD").name("US Dollar").symbol("$").build());
+    User user =
+        entityManager.persist(
+            User.builder()
+                .name("Jane")
+                .email("jane@finlypal.com")
+                .password("secret")
+                .currency(currency)
+                .build());
+    // Persisted before it started, so its status is stale
+    Budget started = entityManager.persist(budget(user, BudgetStatus.PLANNED));
+    Budget current = entityManager.persist(budget(user, BudgetStatus.IN_PROGRESS));
+    Budget completed = entityManager.persist(budget(user, BudgetStatus.COMPLETED));
+    BudgetItem item =
+        entityManager.persist(
+            BudgetItem.builder()
+                .name("Food")
+                .icon("cart")
+                .allocatedAmount(BigDecimal.valueOf(100))
+                .status(BudgetItemStatus.ON_TRACK)
+                .budget(current)
+                .build());
+    BudgetItem closedItem =
+        entityManager.persist(
+            BudgetItem.builder()
+                .name("Rent")
+                .icon("house")
+                .allocatedAmount(BigDecimal.valueOf(500))
+                .status(BudgetItemStatus.UNDERSPENT)
+                .budget(completed)
+                .build());
+    Savings savings =
+        entityManager.persist(
+            Savings.builder()
+                .goalName("Bike")
+                .icon("bike")
+                .targetAmount(BigDecimal.valueOf(50))
+                .startDate(TODAY.minusDays(1))
+                .endDate(TODAY.plusMonths(1))
+                .status(SavingsStatus.ON_TRACK)
+                .user(user)
+                .build());
+    // Recorded behind the back of the counters, which drift
+    entityManager.persist(expense(user, 95).budgetItem(item).build());
+    entityManager.persist(expense(user, 60).savings(savings).build());
+    entityManager.persist(expense(user, 20).budgetItem(closedItem).build());
+    entityManager.flush();
+    entityManager.clear();
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    // The counters of the current and the completed budget, their items and the goal, then the
+    // started budget, the item now at risk and the achieved goal. The counters are corrected by
+    // statements of their own.
+    assertEquals(8, statusReconciler.reconcileAll());
+    entityManager.flush();
+    assertEquals(3, statistics.getEntityUpdateCount());
+    assertEquals(0, statusReconciler.reconcileAll());
+
+    entityManager.clear();
+    assertEquals(
+        BudgetStatus.IN_PROGRESS, entityManager.find(Budget.class, started.getId()).getStatus());
+    Budget reconciledBudget = entityManager.find(Budget.class, current.getId());
+    assertEquals(BudgetStatus.IN_PROGRESS, reconciledBudget.getStatus());
+    assertEquals(0, BigDecimal.valueOf(95).compareTo(reconciledBudget.getSpentAmount()));
+    Budget reconciledCompleted = entityManager.find(Budget.class, completed.getId());
+    assertEquals(BudgetStatus.COMPLETED, reconciledCompleted.getStatus());
+    assertEquals(0, BigDecimal.valueOf(20).compareTo(reconciledCompleted.getSpentAmount()));
+    BudgetItem reconciledItem = entityManager.find(BudgetItem.class, item.getId());
+    assertEquals(BudgetItemStatus.AT_RISK, reconciledItem.getStatus());
+    assertEquals(0, BigDecimal.valueOf(95).compareTo(reconciledItem.getSpentAmount()));
+    Savings reconciled = entityManager.find(Savings.class, savings.getId());
+    assertEquals(SavingsStatus.ACHIEVED, reconciled.getStatus());
+    assertEquals(0, BigDecimal.valueOf(60).compareTo(reconciled.getSavedAmount()));
+  }
+
+  private static Budget budget(User user, BudgetStatus status) {
+    return Budget.builder()
+        .name("Monthly")
+        .icon("calendar")
+        .startDate(TODAY.minusDays(1))
+        .endDate(TODAY.plusMonths(1))
+        .totalBudget(BigDecimal.valueOf(1000))
+        .status(status)
+        .user(user)
+        .build();
+  }
+
+  private static Expense.ExpenseBuilder expense(User user, long amount) {
+    return Expense.builder()
+        .description("Expense")
+        .amount(BigDecimal.valueOf(amount))
+        .date(TODAY)
+        .type(ExpenseType.EXPENSE)
+        .user(user);
+  }
+}
@@ -0,0 +1,39 @@
+package com.derrick.finlypal.support;
+
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.dialect.PostgreSQLSqlAstTranslator;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.SqlAstTranslatorFactory;
+import org.hibernate.sql.ast.spi.StandardSqlAstTranslatorFactory;
+import org.hibernate.sql.ast.tree.Statement;
+import org.hibernate.sql.exec.spi.JdbcOperation;
+
+/**
+ * PostgreSQL dialect for the in-memory H2 test database. H2 understands the PostgreSQL syntax the
+ * queries are written in except for the PostgreSQL specific row lock clauses, which are rendered as
+ * a plain {@code FOR UPDATE}.
+ */
+public class H2PostgreSQLDialect extends PostgreSQLDialect {
+
+  @Override
+  public SqlAstTranslatorFactory getSqlAstTranslatorFactory() {
+    return new StandardSqlAstTranslatorFactory() {
+      @Override
+      protected <T extends JdbcOperation> SqlAstTranslator<T> buildTranslator(
+          SessionFactoryImplementor sessionFactory, Statement statement) {
+        return new PostgreSQLSqlAstTranslator<>(sessionFactory, statement) {
+          @Override
+          protected String getForUpdate() {
+            return " for update";
+          }
+
+          @Override
+          protected String getSkipLocked() {
+            return "";
+          }
+        };
+      }
+    };
+  }
+}
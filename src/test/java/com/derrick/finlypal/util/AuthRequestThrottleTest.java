@@ -0,0 +1,40 @@
+package com.derrick.finlypal.util;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.derrick.finlypal.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class AuthRequestThrottleTest {
+
+  @Test
+  void tokenBucketRefillsOneTokenPerPeriod() {
+    AuthRequestThrottle.TokenBuckets buckets = new AuthRequestThrottle.TokenBuckets(16, 2, 1_000);
+    long now = 1_700_000_000_000L;
+
+    assertTrue(buckets.tryAcquire("jane@finlypal.com", now));
+    assertTrue(buckets.tryAcquire("jane@finlypal.com", now));
+    assertFalse(buckets.tryAcquire("jane@finlypal.com", now + 999));
+    assertTrue(buckets.tryAcquire("jane@finlypal.com", now + 1_000));
+    assertFalse(buckets.tryAcquire("jane@finlypal.com", now + 1_500));
+    assertTrue(buckets.tryAcquire("jane@finlypal.com", now + 2_000));
+  }
+
+  @Test
+  void acquireRejectsOnceTheEmailAllowanceIsSpent() {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    AuthRequestThrottle throttle = new AuthRequestThrottle(request, 16, 3, 60_000, 100, 60_000);
+
+    for (int i = 0; i < 3; i++) {
+      assertDoesNotThrow(() -> throttle.acquire("Jane@FinlyPal.com"));
+    }
+    TooManyRequestsException exception =
+        assertThrows(TooManyRequestsException.class, () -> throttle.acquire("jane@finlypal.com"));
+    assertEquals(60, exception.getRetryAfterSeconds());
+  }
+}
@@ -0,0 +1,68 @@
+package com.derrick.finlypal.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.derrick.finlypal.dto.ExpenseResponseDTO;
+import com.derrick.finlypal.enums.ExpenseFileFormat;
+import com.derrick.finlypal.enums.ExpenseType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+class ExpenseExportWriterTest {
+
+  private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+  private final ExpenseExportWriter writer = new ExpenseExportWriter(objectMapper);
+
+  @Test
+  void writesCsvWithQuotedText() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    writer.write(
+        Stream.of(expense(7L, "Dinner, \"tapas\""), expense(8L, "Rent")),
+        ExpenseFileFormat.CSV,
+        false,
+        out);
+
+    assertEquals(
+        ExpenseExportWriter.CSV_HEADER
+            + "\n7,\"Dinner, \"\"tapas\"\"\",12.50,2025-01-31,EXPENSE,3,Food,,5"
+            + "\n8,Rent,12.50,2025-01-31,EXPENSE,3,Food,,5\n",
+        out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void writesGzippedNdjson() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    writer.write(Stream.of(expense(7L, "Dinner")), ExpenseFileFormat.NDJSON, true, out);
+
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+      String line = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+      ExpenseResponseDTO read = objectMapper.readValue(line, ExpenseResponseDTO.class);
+      assertEquals(expense(7L, "Dinner"), read);
+      assertEquals('\n', line.charAt(line.length() - 1));
+    }
+  }
+
+  private static ExpenseResponseDTO expense(Long id, String description) {
+    return ExpenseResponseDTO.builder()
+        .id(id)
+        .description(description)
+        .amount(new BigDecimal("12.50"))
+        .date(LocalDate.of(2025, 1, 31))
+        .type(ExpenseType.EXPENSE)
+        .categoryId(3L)
+        .categoryName("Food")
+        .budgetItemId(5L)
+        .build();
+  }
+}
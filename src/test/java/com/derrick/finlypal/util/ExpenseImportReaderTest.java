@@ -0,0 +1,97 @@
+package com.derrick.finlypal.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.derrick.finlypal.dto.ExpenseRequestDTO;
+import com.derrick.finlypal.enums.ExpenseFileFormat;
+import com.derrick.finlypal.enums.ExpenseType;
+import com.derrick.finlypal.exception.BadRequestException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+class ExpenseImportReaderTest {
+
+  private final ObjectMapper objectMapper =
+      JsonMapper.builder()
+          .findAndAddModules()
+          .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+          .build();
+
+  @Test
+  void readsAnExportBackAndReportsMalformedRows() throws Exception {
+    String csv =
+        ExpenseExportWriter.CSV_HEADER
+            + "\r\n7,\"Dinner, \"\"tapas\"\"\",12.50,2025-01-31,expense,3,Food,4,\n"
+            + "\n"
+            + "8,Rent,lots,2025-02-01,EXPENSE,3,Food,,\n"
+            + "9,\"Multi\nline\",1,2025-02-02,INCOME,3,Food,,5";
+
+    try (ExpenseImportReader reader = open(csv, ExpenseFileFormat.CSV)) {
+      ExpenseImportReader.Row first = reader.next();
+      assertEquals(1, first.number());
+      assertEquals(
+          new ExpenseRequestDTO(
+              "Dinner, \"tapas\"",
+              new BigDecimal("12.50"),
+              LocalDate.of(2025, 1, 31),
+              ExpenseType.EXPENSE,
+              3L,
+              4L,
+              null),
+          first.expense());
+
+      ExpenseImportReader.Row second = reader.next();
+      assertNull(second.expense());
+      assertEquals("Invalid amount: lots", second.error());
+
+      ExpenseImportReader.Row third = reader.next();
+      assertEquals(3, third.number());
+      assertEquals("Multi\nline", third.expense().description());
+      assertEquals(5L, third.expense().budgetItemID());
+
+      assertNull(reader.next());
+    }
+  }
+
+  @Test
+  void rejectsCsvWithoutARequiredColumn() {
+    assertThrows(
+        BadRequestException.class,
+        () ->
+            open("description,amount,date,type\nRent,1,2025-01-01,EXPENSE", ExpenseFileFormat.CSV));
+  }
+
+  @Test
+  void readsNdjsonLineByLine() throws Exception {
+    String ndjson =
+        "{\"description\":\"Rent\",\"amount\":900,\"date\":\"2025-01-01\",\"type\":\"EXPENSE\","
+            + "\"category_id\":3,\"savings_item_id\":4}\n"
+            + "\n"
+            + "{\"description\":\n";
+
+    try (ExpenseImportReader reader = open(ndjson, ExpenseFileFormat.NDJSON)) {
+      ExpenseImportReader.Row first = reader.next();
+      assertEquals("Rent", first.expense().description());
+      assertEquals(4L, first.expense().savingsID());
+
+      ExpenseImportReader.Row second = reader.next();
+      assertEquals(2, second.number());
+      assertNull(second.expense());
+
+      assertNull(reader.next());
+    }
+  }
+
+  private ExpenseImportReader open(String body, ExpenseFileFormat format) throws Exception {
+    return ExpenseImportReader.open(
+        new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format, objectMapper);
+  }
+}
@@ -0,0 +1,60 @@
+package com.derrick.finlypal.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class InsightsResultCacheTest {
+
+  private static final LocalDate START = LocalDate.of(2025, 1, 1);
+  private static final LocalDate END = LocalDate.of(2025, 1, 31);
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final InsightsResultCache cache =
+      new InsightsResultCache(1000, 60_000, 1000, meterRegistry);
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  void servesTheResultUntilTheDataOfItsUserChanges() {
+    assertEquals(1, total(1L, START));
+    assertEquals(1, total(1L, START));
+    // Another range and another user are computed on their own
+    assertEquals(2, total(1L, END));
+    assertEquals(3, total(2L, START));
+
+    cache.invalidate(1L);
+
+    assertEquals(4, total(1L, START));
+    assertEquals(3, total(2L, START));
+    // The repeated lookup and the unchanged result of the other user
+    assertEquals(
+        2.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+  }
+
+  @Test
+  void movesToTheNewVersionOnlyOnceTheWriteCommits() {
+    assertEquals(1, total(1L, START));
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      cache.invalidate(1L);
+      // Still the data before the write, until it commits
+      assertEquals(1, total(1L, START));
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertEquals(2, total(1L, START));
+  }
+
+  private int total(Long userId, LocalDate startDate) {
+    return cache.get(userId, "total", loads::incrementAndGet, startDate, END);
+  }
+}